@@ -0,0 +1,102 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Runs the asynchronous execute methods of statements.
+ *
+ * The TDS response of a command is read with blocking socket I/O, so each in-flight asynchronous execution occupies a
+ * thread until its response has been processed. When the JVM supports virtual threads each execution runs on its own
+ * virtual thread, which parks instead of holding a platform thread while it waits on the socket; this lets a handful
+ * of carrier threads drive thousands of concurrent requests. Otherwise executions run on a cached pool of daemon
+ * threads.
+ *
+ * The executor also runs the read-ahead of response packets, which likewise blocks on the socket.
+ */
+final class AsyncExecutor {
+    private static final Logger logger = Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.AsyncExecutor");
+
+    static final String THREAD_PREFIX = "mssql-jdbc-async-";
+
+    private static final AtomicLong THREAD_COUNTER = new AtomicLong();
+
+    private static final Executor executor = createExecutor();
+
+    /**
+     * A unit of work that may throw a SQLException.
+     */
+    interface SQLCallable<T> {
+        T call() throws SQLException;
+    }
+
+    private AsyncExecutor() {
+        throw new UnsupportedOperationException(SQLServerException.getErrString("R_notSupported"));
+    }
+
+    private static Executor createExecutor() {
+        try {
+            Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            Executor virtualThreadExecutor = (Executor) newVirtualThreadPerTaskExecutor.invoke(null);
+            if (logger.isLoggable(Level.FINER)) {
+                logger.finer("Asynchronous executions run on virtual threads");
+            }
+            return virtualThreadExecutor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Virtual threads are not available in this JVM
+            if (logger.isLoggable(Level.FINER)) {
+                logger.finer("Asynchronous executions run on platform threads: " + e);
+            }
+        }
+
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                task -> {
+                    Thread t = new Thread(task, THREAD_PREFIX + THREAD_COUNTER.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Runs the given task asynchronously.
+     *
+     * @param task
+     *        the task to run
+     */
+    static void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Runs the given work asynchronously.
+     *
+     * @param work
+     *        the work to run
+     * @return a future that is completed with the result of the work, or completed exceptionally with the
+     *         SQLException it threw
+     */
+    static <T> CompletableFuture<T> supplyAsync(SQLCallable<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+
+/**
+ * An UPDATE or DELETE statement that a batch can execute as a single set based statement, by bulk copying the
+ * parameters of the batch into a temporary table and joining the target table to it.
+ *
+ * Only statements of the forms
+ *
+ * <pre>
+ * UPDATE table SET column = ?, ... WHERE column = ? AND ...
+ * DELETE [FROM] table WHERE column = ? AND ...
+ * </pre>
+ *
+ * are supported, where every value is a parameter marker and the columns set are not among the columns compared. The
+ * update count of each row of the batch is the count the statement would have returned had the rows been executed one
+ * at a time: when several rows of the batch compare equal, an UPDATE applies the last of them and a DELETE attributes
+ * the deleted rows to the first.
+ */
+final class BulkBatchUpdateQuery {
+    private final boolean isDelete;
+    private final String tableName;
+
+    // The columns set and the columns compared, each in the order of their parameter markers. The parameters of the
+    // columns set come first, so the column of parameter i is staged as column p<i>.
+    private final List<String> setColumns;
+    private final List<String> keyColumns;
+
+    private BulkBatchUpdateQuery(boolean isDelete, String tableName, List<String> setColumns,
+            List<String> keyColumns) {
+        this.isDelete = isDelete;
+        this.tableName = tableName;
+        this.setColumns = setColumns;
+        this.keyColumns = keyColumns;
+    }
+
+    /**
+     * Parses the SQL text of a prepared statement.
+     *
+     * @param sql
+     *        the SQL text, with JDBC escapes already translated
+     * @return the statement, or null if it is not of a supported form
+     */
+    static BulkBatchUpdateQuery parse(String sql) {
+        List<String> tokens = tokenize(sql);
+        if (null == tokens) {
+            return null;
+        }
+
+        int[] position = {0};
+        boolean isDelete;
+        List<String> setColumns = new ArrayList<>();
+        if (isKeyword(tokens, position, "UPDATE")) {
+            isDelete = false;
+        } else if (isKeyword(tokens, position, "DELETE")) {
+            isDelete = true;
+            isKeyword(tokens, position, "FROM");
+        } else {
+            return null;
+        }
+
+        String tableName = parseName(tokens, position, 3);
+        if (null == tableName) {
+            return null;
+        }
+
+        if (!isDelete) {
+            if (!isKeyword(tokens, position, "SET") || !parseAssignments(tokens, position, ",", setColumns)) {
+                return null;
+            }
+        }
+
+        List<String> keyColumns = new ArrayList<>();
+        if (!isKeyword(tokens, position, "WHERE") || !parseAssignments(tokens, position, "AND", keyColumns)) {
+            return null;
+        }
+
+        isKeyword(tokens, position, ";");
+        if (position[0] != tokens.size()) {
+            return null;
+        }
+
+        // Setting a compared column would change which rows later rows of the batch compare equal to, and the staging
+        // table can hold only one copy of a column.
+        Set<String> columns = new HashSet<>();
+        for (String column : setColumns) {
+            if (!columns.add(normalize(column))) {
+                return null;
+            }
+        }
+        for (String column : keyColumns) {
+            if (!columns.add(normalize(column))) {
+                return null;
+            }
+        }
+
+        return new BulkBatchUpdateQuery(isDelete, tableName, setColumns, keyColumns);
+    }
+
+    /**
+     * Parses a list of column = ? separated by the given token.
+     */
+    private static boolean parseAssignments(List<String> tokens, int[] position, String separator,
+            List<String> columns) {
+        do {
+            String column = parseName(tokens, position, 1);
+            if (null == column || !isKeyword(tokens, position, "=") || !isKeyword(tokens, position, "?")) {
+                return false;
+            }
+            columns.add(column);
+        } while (isKeyword(tokens, position, separator));
+        return true;
+    }
+
+    /**
+     * Parses a name of up to the given number of dot separated parts.
+     */
+    private static String parseName(List<String> tokens, int[] position, int maxParts) {
+        StringBuilder name = new StringBuilder();
+        for (int part = 0; part < maxParts; part++) {
+            if (position[0] >= tokens.size() || !isIdentifier(tokens.get(position[0]))) {
+                return null;
+            }
+            name.append(tokens.get(position[0]++));
+            if (!isKeyword(tokens, position, ".")) {
+                return name.toString();
+            }
+            name.append('.');
+        }
+        return null;
+    }
+
+    private static boolean isKeyword(List<String> tokens, int[] position, String keyword) {
+        if (position[0] < tokens.size() && keyword.equalsIgnoreCase(tokens.get(position[0]))) {
+            position[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isIdentifier(String token) {
+        char c = token.charAt(0);
+        if ('[' == c || '"' == c) {
+            return true;
+        }
+        if (!Character.isLetter(c) && '_' != c && '#' != c) {
+            return false;
+        }
+        switch (token.toUpperCase(Locale.ENGLISH)) {
+            case "SET":
+            case "WHERE":
+            case "AND":
+            case "FROM":
+            case "OR":
+            case "NOT":
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the name of a column without delimiters, in lower case.
+     */
+    private static String normalize(String column) {
+        char c = column.charAt(0);
+        if ('[' == c) {
+            column = column.substring(1, column.length() - 1).replace("]]", "]");
+        } else if ('"' == c) {
+            column = column.substring(1, column.length() - 1).replace("\"\"", "\"");
+        }
+        return column.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Splits SQL text into words, delimited identifiers and the punctuation the supported statements use.
+     *
+     * @return the tokens, or null if the text contains anything else, such as a literal or a comment
+     */
+    private static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if ('[' == c || '"' == c) {
+                char close = ('[' == c) ? ']' : '"';
+                int end = i + 1;
+                while (true) {
+                    end = sql.indexOf(close, end);
+                    if (-1 == end) {
+                        return null;
+                    }
+                    if (end + 1 < length && close == sql.charAt(end + 1)) {
+                        end += 2;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(sql.substring(i, end + 1));
+                i = end + 1;
+            } else if (Character.isLetterOrDigit(c) || '_' == c || '#' == c || '@' == c || '$' == c) {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || '_' == sql.charAt(i)
+                        || '#' == sql.charAt(i) || '@' == sql.charAt(i) || '$' == sql.charAt(i))) {
+                    i++;
+                }
+                tokens.add(sql.substring(start, i));
+            } else if ('.' == c || ',' == c || '=' == c || '?' == c || ';' == c) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                return null;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the number of parameter markers of the statement
+     */
+    int getParameterCount() {
+        return setColumns.size() + keyColumns.size();
+    }
+
+    /**
+     * Returns the SQL that creates an empty staging table with a row_no column followed by a column p<i> for each
+     * parameter, of the type of the column the parameter is compared to or assigned to. The columns are nullable and
+     * do not inherit identity, so that any value the batch holds can be staged.
+     */
+    String getCreateStagingTableSQL(String stagingTableName) {
+        StringBuilder sql = new StringBuilder("SELECT TOP 0 CAST(0 AS int) AS row_no");
+        int parameter = 0;
+        for (String column : setColumns) {
+            sql.append(", CASE WHEN 1 = 0 THEN t.").append(column).append(" END AS p").append(parameter++);
+        }
+        for (String column : keyColumns) {
+            sql.append(", CASE WHEN 1 = 0 THEN t.").append(column).append(" END AS p").append(parameter++);
+        }
+        return sql.append(" INTO ").append(stagingTableName).append(" FROM ").append(tableName).append(" AS t")
+                .toString();
+    }
+
+    /**
+     * Returns the SQL that applies the staged rows to the target table, returns a result set of the row_no and update
+     * count of every staged row, and drops the staging table.
+     */
+    String getExecuteSQL(String stagingTableName) {
+        StringBuilder keys = new StringBuilder();
+        StringBuilder join = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            int parameter = setColumns.size() + i;
+            keys.append((0 == i) ? "" : ", ").append('p').append(parameter);
+            join.append((0 == i) ? "" : " AND ").append("t.").append(keyColumns.get(i)).append(" = s.p")
+                    .append(parameter);
+        }
+
+        StringBuilder sql = new StringBuilder("DECLARE @rows TABLE (row_no int);");
+        if (isDelete) {
+            // Executed one at a time, the first of the rows that compare equal deletes the matching rows.
+            sql.append("DELETE t OUTPUT s.row_no INTO @rows FROM ").append(tableName)
+                    .append(" AS t JOIN (SELECT *, ROW_NUMBER() OVER (PARTITION BY ").append(keys)
+                    .append(" ORDER BY row_no) AS row_rank FROM ").append(stagingTableName).append(") AS s ON ")
+                    .append(join).append(" WHERE s.row_rank = 1;");
+            sql.append("SELECT s.row_no, COUNT(r.row_no) FROM ").append(stagingTableName)
+                    .append(" AS s LEFT JOIN @rows AS r ON r.row_no = s.row_no GROUP BY s.row_no;");
+        } else {
+            // Executed one at a time, the last of the rows that compare equal determines the values, and each of
+            // them updates the same rows.
+            sql.append("UPDATE t SET ");
+            for (int i = 0; i < setColumns.size(); i++) {
+                sql.append((0 == i) ? "" : ", ").append(setColumns.get(i)).append(" = s.p").append(i);
+            }
+            sql.append(" OUTPUT s.row_no INTO @rows FROM ").append(tableName)
+                    .append(" AS t JOIN (SELECT *, ROW_NUMBER() OVER (PARTITION BY ").append(keys)
+                    .append(" ORDER BY row_no DESC) AS row_rank FROM ").append(stagingTableName)
+                    .append(") AS s ON ").append(join).append(" WHERE s.row_rank = 1;");
+            sql.append("SELECT s.row_no, COUNT(r.row_no) FROM (SELECT row_no, MAX(row_no) OVER (PARTITION BY ")
+                    .append(keys).append(") AS last_row_no FROM ").append(stagingTableName)
+                    .append(") AS s LEFT JOIN @rows AS r ON r.row_no = s.last_row_no GROUP BY s.row_no;");
+        }
+        return sql.append("DROP TABLE ").append(stagingTableName).append(';').toString();
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+
+/**
+ * Walks the rows of an ISQLServerBulkColumnarData source one at a time, so that SQLServerBulkCopy can read the
+ * metadata of a columnar source and the values of the columns it does not encode from the primitive arrays through
+ * the ISQLServerBulkData methods.
+ */
+final class BulkColumnarCursor implements ISQLServerBulkData {
+    /**
+     * Always update serialVersionUID when prompted.
+     */
+    private static final long serialVersionUID = 3581607438211624765L;
+
+    /** Kinds of column storage of a columnar source */
+    static final int INT_COLUMN = 0;
+    static final int LONG_COLUMN = 1;
+    static final int DOUBLE_COLUMN = 2;
+    static final int BYTE_COLUMN = 3;
+    static final int OBJECT_COLUMN = 4;
+
+    private final ISQLServerBulkColumnarData source;
+
+    private int batchRows;
+
+    private int row = -1;
+
+    BulkColumnarCursor(ISQLServerBulkColumnarData source) {
+        this.source = source;
+    }
+
+    ISQLServerBulkColumnarData getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the index of the current row in the current batch.
+     */
+    int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the kind of array that holds the values of a column of the given JDBC type.
+     */
+    static int getColumnKind(int jdbcType) {
+        switch (jdbcType) {
+            case java.sql.Types.INTEGER:
+            case java.sql.Types.SMALLINT:
+            case java.sql.Types.TINYINT:
+            case java.sql.Types.BIT:
+                return INT_COLUMN;
+            case java.sql.Types.BIGINT:
+                return LONG_COLUMN;
+            case java.sql.Types.DOUBLE:
+            case java.sql.Types.FLOAT:
+            case java.sql.Types.REAL:
+                return DOUBLE_COLUMN;
+            case java.sql.Types.CHAR:
+            case java.sql.Types.VARCHAR:
+            case java.sql.Types.LONGVARCHAR:
+            case java.sql.Types.NCHAR:
+            case java.sql.Types.NVARCHAR:
+            case java.sql.Types.LONGNVARCHAR:
+            case java.sql.Types.BINARY:
+            case java.sql.Types.VARBINARY:
+            case java.sql.Types.LONGVARBINARY:
+                return BYTE_COLUMN;
+            default:
+                return OBJECT_COLUMN;
+        }
+    }
+
+    boolean isNull(int column) {
+        long[] nullBitmap = source.getNullBitmap(column);
+        return null != nullBitmap && 0 != (nullBitmap[row >>> 6] & (1L << (row & 63)));
+    }
+
+    /**
+     * Returns the value of a column in the current row as the object the row oriented bulk copy path expects.
+     */
+    Object getObject(int column) {
+        if (isNull(column)) {
+            return null;
+        }
+
+        int jdbcType = source.getColumnType(column);
+        switch (getColumnKind(jdbcType)) {
+            case INT_COLUMN:
+                int intValue = source.getIntColumn(column)[row];
+                if (java.sql.Types.BIT == jdbcType) {
+                    return 0 != intValue;
+                }
+                return intValue;
+            case LONG_COLUMN:
+                return source.getLongColumn(column)[row];
+            case DOUBLE_COLUMN:
+                double doubleValue = source.getDoubleColumn(column)[row];
+                if (java.sql.Types.REAL == jdbcType) {
+                    return (float) doubleValue;
+                }
+                return doubleValue;
+            case BYTE_COLUMN:
+                int[] offsets = source.getOffsetColumn(column);
+                byte[] bytes = source.getByteColumn(column);
+                if (Util.isBinaryType(jdbcType)) {
+                    return Arrays.copyOfRange(bytes, offsets[row], offsets[row + 1]);
+                }
+                return new String(bytes, offsets[row], offsets[row + 1] - offsets[row], UTF_8);
+            default:
+                return source.getObjectColumn(column)[row];
+        }
+    }
+
+    @Override
+    public Set<Integer> getColumnOrdinals() {
+        return source.getColumnOrdinals();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return source.getColumnName(column);
+    }
+
+    @Override
+    public int getColumnType(int column) {
+        return source.getColumnType(column);
+    }
+
+    @Override
+    public int getPrecision(int column) {
+        return source.getPrecision(column);
+    }
+
+    @Override
+    public int getScale(int column) {
+        return source.getScale(column);
+    }
+
+    @Override
+    public Object[] getRowData() {
+        Set<Integer> columnOrdinals = source.getColumnOrdinals();
+        Object[] rowData = new Object[Collections.max(columnOrdinals)];
+        for (int column : columnOrdinals) {
+            rowData[column - 1] = getObject(column);
+        }
+        return rowData;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        while (row + 1 >= batchRows) {
+            row = -1;
+            batchRows = source.nextBatch();
+            if (batchRows <= 0) {
+                batchRows = 0;
+                return false;
+            }
+        }
+        row++;
+        return true;
+    }
+
+    /**
+     * Writes UTF-8 encoded characters as UTF-16LE, or only counts them when the writer is null. Malformed sequences
+     * are replaced with U+FFFD.
+     *
+     * @param bytes
+     *        the UTF-8 bytes
+     * @param start
+     *        the offset of the first byte
+     * @param end
+     *        the offset after the last byte
+     * @param tdsWriter
+     *        the writer to write the characters to, or null
+     * @return the number of UTF-16 characters
+     */
+    static int writeUTF8AsUTF16(byte[] bytes, int start, int end, TDSWriter tdsWriter) throws SQLServerException {
+        int chars = 0;
+        int i = start;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            int codePoint;
+            int length;
+            if (b < 0x80) {
+                codePoint = b;
+                length = 1;
+            } else if (b >= 0xC2 && b < 0xE0) {
+                codePoint = b & 0x1F;
+                length = 2;
+            } else if (b >= 0xE0 && b < 0xF0) {
+                codePoint = b & 0x0F;
+                length = 3;
+            } else if (b >= 0xF0 && b < 0xF5) {
+                codePoint = b & 0x07;
+                length = 4;
+            } else {
+                codePoint = 0xFFFD;
+                length = 1;
+            }
+
+            if (length > 1) {
+                if (i + length > end) {
+                    codePoint = 0xFFFD;
+                    length = 1;
+                } else {
+                    for (int j = 1; j < length; j++) {
+                        int continuation = bytes[i + j] & 0xFF;
+                        if (0x80 != (continuation & 0xC0)) {
+                            codePoint = 0xFFFD;
+                            length = j;
+                            break;
+                        }
+                        codePoint = (codePoint << 6) | (continuation & 0x3F);
+                    }
+                    // Reject overlong encodings, surrogates and values beyond U+10FFFF
+                    if ((3 == length && (codePoint < 0x800 || (codePoint >= 0xD800 && codePoint < 0xE000)))
+                            || (4 == length && (codePoint < 0x10000 || codePoint > 0x10FFFF))) {
+                        codePoint = 0xFFFD;
+                    }
+                }
+            }
+            i += length;
+
+            if (codePoint >= 0x10000) {
+                if (null != tdsWriter) {
+                    tdsWriter.writeChar(Character.highSurrogate(codePoint));
+                    tdsWriter.writeChar(Character.lowSurrogate(codePoint));
+                }
+                chars += 2;
+            } else {
+                if (null != tdsWriter) {
+                    tdsWriter.writeChar((char) codePoint);
+                }
+                chars++;
+            }
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Caches the destination table metadata of SQLServerBulkCopy, so that repeated loads into the same table skip the two
+ * metadata queries that precede each load.
+ *
+ * Entries are keyed by server, database, login, column encryption setting and table name, and are shared by all the
+ * connections of the process. A table name without a schema resolves through the default schema of the login, so its
+ * metadata is only cached for connections whose login is known, that is with SQL Server authentication. An entry is
+ * used for at most bulkCopyMetadataCacheTtl seconds after it was read from the server, and is dropped as soon as a load
+ * using it fails, since the failure may be caused by a change to the table.
+ */
+final class BulkCopyMetadataCache {
+    private static final Logger logger = Logger
+            .getLogger("com.microsoft.sqlserver.jdbc.internals.BulkCopyMetadataCache");
+
+    /**
+     * Number of entries above which expired entries are purged when a new entry is added.
+     */
+    static final int PURGE_THRESHOLD = 1000;
+
+    private static final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The metadata of the columns of a destination table.
+     */
+    static final class Entry {
+        final Map<Integer, SQLServerBulkCopy.BulkColumnMetaData> columnMetadata;
+        final int columnCount;
+        private final long expiresAtNanos;
+
+        Entry(Map<Integer, SQLServerBulkCopy.BulkColumnMetaData> columnMetadata, int columnCount, long ttlSeconds) {
+            this.columnMetadata = columnMetadata;
+            this.columnCount = columnCount;
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    private BulkCopyMetadataCache() {
+        throw new UnsupportedOperationException(SQLServerException.getErrString("R_notSupported"));
+    }
+
+    /**
+     * Returns the cache key of a destination table, or null if the metadata of the table must not be cached.
+     */
+    static String getKey(SQLServerConnection connection, String destinationTableName,
+            SQLServerStatementColumnEncryptionSetting columnEncryptionSetting) throws SQLServerException {
+        // Temporary tables are scoped to the session that created them
+        if (destinationTableName.contains("#") || destinationTableName.toLowerCase(Locale.ENGLISH).contains("tempdb")) {
+            return null;
+        }
+        String login = connection.getSqlServerLogin();
+        if (null == login && !isSchemaQualified(destinationTableName)) {
+            return null;
+        }
+        return connection.getServerName() + '|' + connection.getCatalog() + '|' + login + '|'
+                + columnEncryptionSetting + '|' + destinationTableName;
+    }
+
+    /**
+     * Returns whether a multi-part table name names the schema of the table, ignoring dots in delimited identifiers.
+     */
+    static boolean isSchemaQualified(String tableName) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        char closingDelimiter = 0;
+        for (int i = 0; i < tableName.length(); i++) {
+            char c = tableName.charAt(i);
+            if (0 != closingDelimiter) {
+                if (c == closingDelimiter) {
+                    // a doubled closing delimiter is an escaped delimiter
+                    if (i + 1 < tableName.length() && tableName.charAt(i + 1) == closingDelimiter) {
+                        i++;
+                    } else {
+                        closingDelimiter = 0;
+                    }
+                }
+                part.append(c);
+            } else if ('.' == c) {
+                parts.add(part.toString().trim());
+                part.setLength(0);
+            } else {
+                if ('[' == c) {
+                    closingDelimiter = ']';
+                } else if ('"' == c) {
+                    closingDelimiter = '"';
+                }
+                part.append(c);
+            }
+        }
+        parts.add(part.toString().trim());
+        // the schema is the part before the table name, and is left empty in db..table
+        return 1 < parts.size() && !parts.get(parts.size() - 2).isEmpty();
+    }
+
+    static Entry get(String key) {
+        Entry entry = cache.get(key);
+        if (null != entry && entry.isExpired(System.nanoTime())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    static void put(String key, Entry entry) {
+        if (cache.size() >= PURGE_THRESHOLD) {
+            long now = System.nanoTime();
+            cache.values().removeIf(e -> e.isExpired(now));
+        }
+        cache.put(key, entry);
+    }
+
+    static void invalidate(String key) {
+        if (null != cache.remove(key) && logger.isLoggable(Level.FINER)) {
+            logger.finer("Removed a destination table from the bulk copy metadata cache");
+        }
+    }
+
+    static int size() {
+        return cache.size();
+    }
+}
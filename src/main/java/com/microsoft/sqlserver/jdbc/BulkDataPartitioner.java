@@ -0,0 +1,232 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Splits the rows of a single bulk copy source between the connections of a parallel bulk copy.
+ *
+ * Each connection reads the source through its own {@link Partition}, which takes the next block of rows from the
+ * shared source whenever it has sent the previous one. Rows are therefore only read from the source as fast as the
+ * slowest consumer drains them, and at most one block per connection is held in memory at any time.
+ */
+final class BulkDataPartitioner {
+    /**
+     * Number of rows a partition takes from the source at a time.
+     */
+    static final int BLOCK_SIZE = 1000;
+
+    private final ISQLServerBulkData source;
+
+    private final Lock lock = new ReentrantLock();
+
+    private boolean exhausted;
+
+    private volatile boolean aborted;
+
+    BulkDataPartitioner(ISQLServerBulkData source) {
+        this.source = source;
+    }
+
+    ISQLServerBulkData getSource() {
+        return source;
+    }
+
+    /**
+     * Stops handing out rows, so that the partitions still copying fail instead of reading the rest of the source.
+     */
+    void abort() {
+        aborted = true;
+    }
+
+    Partition newPartition() {
+        return new Partition(this);
+    }
+
+    /**
+     * Reads the next rows of the source into the given block.
+     *
+     * @param block
+     *        the array to fill
+     * @return the number of rows read, 0 once the source is exhausted
+     */
+    private int fetch(Object[][] block) throws SQLException {
+        lock.lock();
+        try {
+            int count = 0;
+            while (!exhausted && count < block.length) {
+                if (aborted) {
+                    throw new SQLServerException(SQLServerException.getErrString("R_queryCanceled"), null);
+                }
+                if (source.next()) {
+                    // The source may reuse its row array, so keep a copy of the values
+                    block[count++] = source.getRowData().clone();
+                } else {
+                    exhausted = true;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The rows of the source copied over one connection.
+     */
+    static final class Partition implements ISQLServerBulkData {
+        /**
+         * Always update serialVersionUID when prompted.
+         */
+        private static final long serialVersionUID = -3162871720318824551L;
+
+        private final transient BulkDataPartitioner partitioner;
+
+        private final transient Object[][] block = new Object[BLOCK_SIZE][];
+
+        private int size;
+
+        private int position;
+
+        Partition(BulkDataPartitioner partitioner) {
+            this.partitioner = partitioner;
+        }
+
+        ISQLServerBulkData getSource() {
+            return partitioner.source;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return partitioner.source.getColumnOrdinals();
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return partitioner.source.getColumnName(column);
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return partitioner.source.getColumnType(column);
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return partitioner.source.getPrecision(column);
+        }
+
+        @Override
+        public int getScale(int column) {
+            return partitioner.source.getScale(column);
+        }
+
+        @Override
+        public Object[] getRowData() {
+            return block[position - 1];
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            if (position < size) {
+                position++;
+                return true;
+            }
+
+            Arrays.fill(block, 0, size, null);
+            size = partitioner.fetch(block);
+            position = (size > 0) ? 1 : 0;
+            return size > 0;
+        }
+    }
+
+    /**
+     * Exposes a ResultSet as bulk data so that its rows can be split between connections.
+     */
+    static final class ResultSetBulkData implements ISQLServerBulkData {
+        /**
+         * Always update serialVersionUID when prompted.
+         */
+        private static final long serialVersionUID = 5583216467104139542L;
+
+        private final transient ResultSet resultSet;
+
+        private final Set<Integer> columnOrdinals = new HashSet<>();
+
+        private final String[] columnNames;
+
+        private final int[] columnTypes;
+
+        private final int[] precisions;
+
+        private final int[] scales;
+
+        private final transient Object[] rowData;
+
+        ResultSetBulkData(ResultSet resultSet, ResultSetMetaData metaData) throws SQLException {
+            this.resultSet = resultSet;
+            int columnCount = metaData.getColumnCount();
+            columnNames = new String[columnCount];
+            columnTypes = new int[columnCount];
+            precisions = new int[columnCount];
+            scales = new int[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                columnOrdinals.add(i);
+                columnNames[i - 1] = metaData.getColumnName(i);
+                columnTypes[i - 1] = metaData.getColumnType(i);
+                precisions[i - 1] = metaData.getPrecision(i);
+                scales[i - 1] = metaData.getScale(i);
+            }
+            rowData = new Object[columnCount];
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return columnOrdinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return columnTypes[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return precisions[column - 1];
+        }
+
+        @Override
+        public int getScale(int column) {
+            return scales[column - 1];
+        }
+
+        @Override
+        public Object[] getRowData() throws SQLException {
+            for (int i = 0; i < rowData.length; i++) {
+                rowData[i] = resultSet.getObject(i + 1);
+            }
+            return rowData;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            return resultSet.next();
+        }
+    }
+}
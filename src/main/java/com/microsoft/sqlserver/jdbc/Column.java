@@ -197,6 +197,49 @@ final class Column {
         return (Integer) getValue(JDBCType.INTEGER, null, null, tdsReader, statement);
     }
 
+    /**
+     * Returns whether this column holds an unencrypted BIT, TINYINT, SMALLINT, INTEGER or BIGINT value that
+     * {@link #getLong(TDSReader)} can read without converting it to an object.
+     */
+    boolean isIntegral() {
+        if (null != cryptoMetadata || null != filter) {
+            return false;
+        }
+        switch (typeInfo.getSSType()) {
+            case BIT:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns whether this column holds an unencrypted FLOAT or REAL value that {@link #getDouble(TDSReader)} can read
+     * without converting it to an object.
+     */
+    boolean isFloatingPoint() {
+        return null == cryptoMetadata && null == filter
+                && (SSType.FLOAT == typeInfo.getSSType() || SSType.REAL == typeInfo.getSSType());
+    }
+
+    /**
+     * Retrieves the value of an integral column, or 0 if the value is null.
+     */
+    long getLong(TDSReader tdsReader) throws SQLServerException {
+        return getterDTV.getLong(typeInfo, tdsReader);
+    }
+
+    /**
+     * Retrieves the value of a floating point column, or 0 if the value is null.
+     */
+    double getDouble(TDSReader tdsReader) throws SQLServerException {
+        return getterDTV.getDouble(typeInfo, tdsReader);
+    }
+
     void updateValue(JDBCType jdbcType, Object value, JavaType javaType, StreamSetterArgs streamSetterArgs,
             Calendar cal, Integer scale, SQLServerConnection con,
             SQLServerStatementColumnEncryptionSetting stmtColumnEncriptionSetting, Integer precision,
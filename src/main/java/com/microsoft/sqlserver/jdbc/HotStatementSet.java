@@ -0,0 +1,198 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.microsoft.sqlserver.jdbc.SQLServerConnection.CityHash128Key;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection.PreparedStatementHandle;
+
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap.Builder;
+
+
+/**
+ * The prepared statements executed most often on the connections of a connection pool.
+ *
+ * Prepared statement handles belong to the session that prepared them, so a connection opened by the pool starts with
+ * an empty handle cache and prepares every statement again on first use. The set records the SQL text and parameter
+ * definitions of the statements executed with a server side handle, and prepares the most frequently executed ones on
+ * each new connection in a single batch, registering the handles in the connection's handle cache.
+ */
+final class HotStatementSet {
+    private static final Logger logger = Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.HotStatementSet");
+
+    // Number of statements tracked for each statement prepared on a new connection, so that a statement that becomes
+    // hot has a chance to overtake one that was hot earlier.
+    private static final int TRACKED_STATEMENTS_FACTOR = 4;
+
+    /**
+     * A statement and the number of times it was executed.
+     */
+    static final class HotStatement {
+        final String sql;
+        final String typeDefinitions;
+        final LongAdder executionCount = new LongAdder();
+
+        HotStatement(String sql, String typeDefinitions) {
+            this.sql = sql;
+            this.typeDefinitions = typeDefinitions;
+        }
+    }
+
+    private final int size;
+
+    private final LongAdder warmedUpCount = new LongAdder();
+
+    private final ConcurrentLinkedHashMap<CityHash128Key, HotStatement> statements;
+
+    /**
+     * Creates a set.
+     *
+     * @param size
+     *        the number of statements to prepare on each new connection
+     */
+    HotStatementSet(int size) {
+        this.size = size;
+        this.statements = new Builder<CityHash128Key, HotStatement>()
+                .maximumWeightedCapacity((long) size * TRACKED_STATEMENTS_FACTOR).build();
+    }
+
+    /**
+     * Records an execution of a prepared statement.
+     *
+     * @param key
+     *        the key of the statement in the handle cache, computed from its SQL text and parameter definitions
+     * @param sql
+     *        the SQL text sent to the server, with its parameters named @P0, @P1 and so on
+     * @param typeDefinitions
+     *        the parameter definitions of the statement
+     */
+    void record(CityHash128Key key, String sql, String typeDefinitions) {
+        HotStatement statement = statements.get(key);
+        if (null == statement) {
+            HotStatement newStatement = new HotStatement(sql, typeDefinitions);
+            statement = statements.putIfAbsent(key, newStatement);
+            if (null == statement) {
+                statement = newStatement;
+            }
+        }
+        statement.executionCount.increment();
+    }
+
+    /**
+     * Returns the most frequently executed statements, most frequent first.
+     */
+    List<HotStatement> getHottest() {
+        List<HotStatement> hottest = new ArrayList<>(statements.values());
+        hottest.sort(Comparator.comparingLong((HotStatement s) -> s.executionCount.sum()).reversed());
+        return (hottest.size() > size) ? new ArrayList<>(hottest.subList(0, size)) : hottest;
+    }
+
+    /**
+     * Prepares the most frequently executed statements on a connection and adds their handles to its handle cache.
+     * The statements are prepared with sp_prepare in a single batch; a statement that fails to prepare is skipped. The
+     * batch runs through sp_executesql, so that its SET NOCOUNT ON ends with it and the connection is handed out with
+     * the session settings it was opened with.
+     *
+     * @param connection
+     *        a newly opened connection
+     * @return the number of statements prepared
+     */
+    int warmUp(SQLServerConnection connection) {
+        if (!connection.isStatementPoolingEnabled() || connection.isColumnEncryptionSettingEnabled()) {
+            return 0;
+        }
+
+        List<HotStatement> hottest = getHottest();
+        if (hottest.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("SET NOCOUNT ON;DECLARE ");
+        for (int i = 0; i < hottest.size(); i++) {
+            sql.append((0 == i) ? "" : ",").append("@h").append(i).append(" int");
+        }
+        sql.append(';');
+        for (int i = 0; i < hottest.size(); i++) {
+            HotStatement statement = hottest.get(i);
+            sql.append("BEGIN TRY EXEC sp_prepare @h").append(i).append(" OUTPUT,");
+            if (statement.typeDefinitions.isEmpty()) {
+                sql.append("NULL");
+            } else {
+                sql.append("N'").append(Util.escapeSingleQuotes(statement.typeDefinitions)).append('\'');
+            }
+            sql.append(",N'").append(Util.escapeSingleQuotes(statement.sql))
+                    .append("',1 END TRY BEGIN CATCH END CATCH;");
+        }
+        sql.append("SELECT ");
+        for (int i = 0; i < hottest.size(); i++) {
+            sql.append((0 == i) ? "" : ",").append("@h").append(i);
+        }
+
+        int prepared = 0;
+        try (Statement stmt = connection.createStatement()) {
+            // sp_prepare returns the metadata of the statement it prepares as an empty result set, so the handles are
+            // in the only result set that has a row.
+            boolean isResultSet = stmt
+                    .execute("EXEC sp_executesql N'" + Util.escapeSingleQuotes(sql.toString()) + '\'');
+            while (isResultSet || -1 != stmt.getUpdateCount()) {
+                if (isResultSet) {
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        if (rs.next() && rs.getMetaData().getColumnCount() == hottest.size()) {
+                            prepared = registerHandles(connection, hottest, rs);
+                        }
+                    }
+                }
+                isResultSet = stmt.getMoreResults();
+            }
+        } catch (SQLException e) {
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(connection.toString() + " failed to prepare hot statements: " + e.getMessage());
+        }
+
+        warmedUpCount.add(prepared);
+        if (logger.isLoggable(Level.FINER))
+            logger.finer(connection.toString() + " prepared " + prepared + " of " + hottest.size()
+                    + " hot statements");
+        return prepared;
+    }
+
+    /**
+     * @return the total number of statements prepared on new connections
+     */
+    long getWarmedUpCount() {
+        return warmedUpCount.sum();
+    }
+
+    private static int registerHandles(SQLServerConnection connection, List<HotStatement> hottest,
+            ResultSet rs) throws SQLException {
+        int registered = 0;
+        for (int i = 0; i < hottest.size(); i++) {
+            int handle = rs.getInt(i + 1);
+            if (rs.wasNull()) {
+                continue;
+            }
+
+            HotStatement statement = hottest.get(i);
+            PreparedStatementHandle cachedHandle = connection.registerCachedPreparedStatementHandle(
+                    new CityHash128Key(statement.sql, statement.typeDefinitions), handle, false);
+            if (null != cachedHandle) {
+                // No statement holds the handle yet, so release the reference it was registered with.
+                connection.returnCachedPreparedStatementHandle(cachedHandle);
+                ++registered;
+            }
+        }
+        return registered;
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.microsoft.sqlserver.jdbc;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
@@ -57,7 +58,8 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -647,6 +649,14 @@ final class TDSChannel implements Serializable {
     // the TCP/IP socket.
     private transient ProxySocket proxySocket = null;
 
+    /*
+     * Size of the receive buffer in front of the raw TCP/IP input stream. Packet headers and small packets are read
+     * through the buffer so that a single socket read returns the header together with its payload (and often several
+     * whole packets), instead of one read for each header and another for each payload. Payload reads that are at
+     * least as large as the buffer bypass it and are read straight into the packet.
+     */
+    private static final int TCP_RECEIVE_BUFFER_SIZE = TDS.DEFAULT_PACKET_SIZE;
+
     // I/O streams for raw TCP/IP communications with SQL Server
     private transient ProxyInputStream tcpInputStream;
     private transient OutputStream tcpOutputStream;
@@ -735,7 +745,8 @@ final class TDSChannel implements Serializable {
 
             tcpSocket.setSoTimeout(socketTimeout);
 
-            inputStream = tcpInputStream = new ProxyInputStream(tcpSocket.getInputStream());
+            inputStream = tcpInputStream = new ProxyInputStream(
+                    new BufferedInputStream(tcpSocket.getInputStream(), TCP_RECEIVE_BUFFER_SIZE));
             outputStream = tcpOutputStream = tcpSocket.getOutputStream();
         } catch (IOException ex) {
             SQLServerException.convertConnectExceptionToSQLServerException(host, port, con, ex);
@@ -1361,6 +1372,9 @@ final class TDSChannel implements Serializable {
      *
      * Most methods other than those for getting the I/O streams are simply forwarded to the TDSChannel's underlying
      * TCP/IP socket. Methods that change the socket binding or provide direct channel access are disallowed.
+     *
+     * The overrides are deliberately not synchronized: the underlying socket does its own locking, and holding a
+     * monitor while the SSL socket closes or reconfigures the proxy would pin the carrier of a virtual thread.
      */
     private class ProxySocket extends Socket {
         private final TDSChannel tdsChannel;
@@ -1440,7 +1454,7 @@ final class TDSChannel implements Serializable {
         }
 
         @Override
-        public synchronized int getReceiveBufferSize() throws SocketException {
+        public int getReceiveBufferSize() throws SocketException {
             return tdsChannel.tcpSocket.getReceiveBufferSize();
         }
 
@@ -1455,7 +1469,7 @@ final class TDSChannel implements Serializable {
         }
 
         @Override
-        public synchronized int getSendBufferSize() throws SocketException {
+        public int getSendBufferSize() throws SocketException {
             return tdsChannel.tcpSocket.getSendBufferSize();
         }
 
@@ -1465,7 +1479,7 @@ final class TDSChannel implements Serializable {
         }
 
         @Override
-        public synchronized int getSoTimeout() throws SocketException {
+        public int getSoTimeout() throws SocketException {
             return tdsChannel.tcpSocket.getSoTimeout();
         }
 
@@ -1536,19 +1550,19 @@ final class TDSChannel implements Serializable {
         // Ignore calls to methods that would otherwise allow the SSL socket
         // to directly manipulate the underlying TCP socket
         @Override
-        public synchronized void close() throws IOException {
+        public void close() throws IOException {
             if (logger.isLoggable(Level.FINER))
                 logger.finer(logContext + " Ignoring close");
         }
 
         @Override
-        public synchronized void setReceiveBufferSize(int size) throws SocketException {
+        public void setReceiveBufferSize(int size) throws SocketException {
             if (logger.isLoggable(Level.FINER))
                 logger.finer(toString() + " Ignoring setReceiveBufferSize size:" + size);
         }
 
         @Override
-        public synchronized void setSendBufferSize(int size) throws SocketException {
+        public void setSendBufferSize(int size) throws SocketException {
             if (logger.isLoggable(Level.FINER))
                 logger.finer(toString() + " Ignoring setSendBufferSize size:" + size);
         }
@@ -1566,7 +1580,7 @@ final class TDSChannel implements Serializable {
         }
 
         @Override
-        public synchronized void setSoTimeout(int timeout) throws SocketException {
+        public void setSoTimeout(int timeout) throws SocketException {
             tdsChannel.tcpSocket.setSoTimeout(timeout);
         }
 
@@ -1682,148 +1696,183 @@ final class TDSChannel implements Serializable {
                     TDS.ENCRYPT_REQ == requestedEncryptLevel || // Full SSL
                     (isTDS8 && TDS.ENCRYPT_NOT_SUP == requestedEncryptLevel); // TDS 8
 
-            // If encryption wasn't negotiated or trust server certificate is specified,
-            // then we'll "validate" the server certificate using a naive TrustManager that trusts
-            // everything it sees.
-            TrustManager[] tm = null;
-            if (TDS.ENCRYPT_OFF == con.getNegotiatedEncryptionLevel() || con.getTrustServerCertificate()) {
-                if (logger.isLoggable(Level.FINER))
-                    logger.finer(toString() + " SSL handshake will trust any certificate");
-
-                tm = new TrustManager[] {new PermissiveX509TrustManager(this)};
-            }
-            // Otherwise, we'll check if a specific TrustManager implementation has been requested and
-            // if so instantiate it, optionally specifying a constructor argument to customize it.
-            else if (con.getTrustManagerClass() != null) {
-                Object[] msgArgs = {"trustManagerClass", "javax.net.ssl.TrustManager"};
-                tm = new TrustManager[] {Util.newInstance(TrustManager.class, con.getTrustManagerClass(),
-                        con.getTrustManagerConstructorArg(), msgArgs)};
+            // Connections whose trust and key managers are built from the same settings share an SSL context, so
+            // that a connection can resume the TLS session of an earlier one. A trust manager class of the
+            // application may keep state of its own, so its connections do not share one.
+            SSLContextCache sslContextCache = SQLServerConnection.getSSLContextCache();
+            String sslContextKey = null;
+            if (null == con.getTrustManagerClass()) {
+                char[] trustStorePassword = SecureStringUtil.getInstance()
+                        .getDecryptedChars(con.encryptedTrustStorePassword);
+                try {
+                    sslContextKey = new SSLContextCache.KeyBuilder().add(host).add(isTDS8).add(isFips)
+                            .add(sslProtocol).add(TDS.ENCRYPT_OFF == con.getNegotiatedEncryptionLevel())
+                            .add(con.getTrustServerCertificate()).add(hostNameInCertificate).addFile(serverCert)
+                            .add(trustStoreType).addFile(trustStoreFileName).add(trustStorePassword)
+                            .addFile(System.getProperty("javax.net.ssl.trustStore"))
+                            .add(System.getProperty("javax.net.ssl.trustStorePassword")).addFile(clientCertificate)
+                            .addFile(clientKey).add(clientKeyPassword).build();
+                } finally {
+                    if (null != trustStorePassword)
+                        Arrays.fill(trustStorePassword, ' ');
+                }
             }
-            // Otherwise, we'll validate the certificate using a real TrustManager obtained
-            // from the a security provider that is capable of validating X.509 certificates.
-            else {
-                if (isTDS8 && serverCert != null) {
-                    if (logger.isLoggable(Level.FINEST))
-                        logger.finest(toString() + " Verify server certificate for TDS 8");
 
-                    if (null != hostNameInCertificate) {
-                        tm = new TrustManager[] {
-                                new ServerCertificateX509TrustManager(this, serverCert, hostNameInCertificate)};
-                    } else {
-                        tm = new TrustManager[] {new ServerCertificateX509TrustManager(this, serverCert, host)};
-                    }
-                } else {
+            SSLContext sslContext = (null != sslContextKey) ? sslContextCache.get(sslContextKey) : null;
+            if (null != sslContext) {
+                if (logger.isLoggable(Level.FINER))
+                    logger.finer(toString() + " Using cached SSL context");
+            } else {
+                if (null == sslContextKey)
+                    sslContextCache.recordUncached();
+
+                // If encryption wasn't negotiated or trust server certificate is specified,
+                // then we'll "validate" the server certificate using a naive TrustManager that trusts
+                // everything it sees.
+                TrustManager[] tm = null;
+                if (TDS.ENCRYPT_OFF == con.getNegotiatedEncryptionLevel() || con.getTrustServerCertificate()) {
                     if (logger.isLoggable(Level.FINER))
-                        logger.finer(toString() + " SSL handshake will validate server certificate");
+                        logger.finer(toString() + " SSL handshake will trust any certificate");
 
-                    KeyStore ks = null;
+                    tm = new TrustManager[] {new PermissiveX509TrustManager(this)};
+                }
+                // Otherwise, we'll check if a specific TrustManager implementation has been requested and
+                // if so instantiate it, optionally specifying a constructor argument to customize it.
+                else if (con.getTrustManagerClass() != null) {
+                    Object[] msgArgs = {"trustManagerClass", "javax.net.ssl.TrustManager"};
+                    tm = new TrustManager[] {Util.newInstance(TrustManager.class, con.getTrustManagerClass(),
+                            con.getTrustManagerConstructorArg(), msgArgs)};
+                }
+                // Otherwise, we'll validate the certificate using a real TrustManager obtained
+                // from the a security provider that is capable of validating X.509 certificates.
+                else {
+                    if (isTDS8 && serverCert != null) {
+                        if (logger.isLoggable(Level.FINEST))
+                            logger.finest(toString() + " Verify server certificate for TDS 8");
 
-                    // If we are using the system default trustStore and trustStorePassword
-                    // then we can skip all of the KeyStore loading logic below.
-                    // The security provider's implementation takes care of everything for us.
-                    if (null == trustStoreFileName && null == con.encryptedTrustStorePassword && !isTDS8) {
-                        if (logger.isLoggable(Level.FINER)) {
-                            logger.finer(toString() + " Using system default trust store and password");
+                        if (null != hostNameInCertificate) {
+                            tm = new TrustManager[] {
+                                    new ServerCertificateX509TrustManager(this, serverCert, hostNameInCertificate)};
+                        } else {
+                            tm = new TrustManager[] {new ServerCertificateX509TrustManager(this, serverCert, host)};
                         }
                     } else {
-                        // Otherwise either the trustStore, trustStorePassword, or both was specified.
-                        // In that case, we need to load up a KeyStore ourselves.
-
-                        // First, obtain an interface to a KeyStore that can load trust material
-                        // stored in Java Key Store (JKS) format.
-                        if (logger.isLoggable(Level.FINEST))
-                            logger.finest(toString() + " Finding key store interface");
-
-                        ks = KeyStore.getInstance(trustStoreType);
-                        ksProvider = ks.getProvider();
-
-                        // Next, load up the trust store file from the specified location.
-                        // Note: This function returns a null InputStream if the trust store cannot
-                        // be loaded. This is by design. See the method comment and documentation
-                        // for KeyStore.load for details.
-                        InputStream is = loadTrustStore(trustStoreFileName);
+                        if (logger.isLoggable(Level.FINER))
+                            logger.finer(toString() + " SSL handshake will validate server certificate");
 
-                        // Finally, load the KeyStore with the trust material (if any) from the
-                        // InputStream and close the stream.
-                        if (logger.isLoggable(Level.FINEST))
-                            logger.finest(toString() + " Loading key store");
+                        KeyStore ks = null;
 
-                        char[] trustStorePassword = SecureStringUtil.getInstance()
-                                .getDecryptedChars(con.encryptedTrustStorePassword);
-                        try {
-                            ks.load(is, (null == trustStorePassword) ? null : trustStorePassword);
-                        } finally {
-                            if (trustStorePassword != null)
-                                Arrays.fill(trustStorePassword, ' ');
-                            // We are also done with the trust store input stream.
-                            if (null != is) {
-                                try {
-                                    is.close();
-                                } catch (IOException e) {
-                                    if (logger.isLoggable(Level.FINE))
-                                        logger.fine(
-                                                toString() + " Ignoring error closing trust material InputStream...");
+                        // If we are using the system default trustStore and trustStorePassword
+                        // then we can skip all of the KeyStore loading logic below.
+                        // The security provider's implementation takes care of everything for us.
+                        if (null == trustStoreFileName && null == con.encryptedTrustStorePassword && !isTDS8) {
+                            if (logger.isLoggable(Level.FINER)) {
+                                logger.finer(toString() + " Using system default trust store and password");
+                            }
+                        } else {
+                            // Otherwise either the trustStore, trustStorePassword, or both was specified.
+                            // In that case, we need to load up a KeyStore ourselves.
+
+                            // First, obtain an interface to a KeyStore that can load trust material
+                            // stored in Java Key Store (JKS) format.
+                            if (logger.isLoggable(Level.FINEST))
+                                logger.finest(toString() + " Finding key store interface");
+
+                            ks = KeyStore.getInstance(trustStoreType);
+                            ksProvider = ks.getProvider();
+
+                            // Next, load up the trust store file from the specified location.
+                            // Note: This function returns a null InputStream if the trust store cannot
+                            // be loaded. This is by design. See the method comment and documentation
+                            // for KeyStore.load for details.
+                            InputStream is = loadTrustStore(trustStoreFileName);
+
+                            // Finally, load the KeyStore with the trust material (if any) from the
+                            // InputStream and close the stream.
+                            if (logger.isLoggable(Level.FINEST))
+                                logger.finest(toString() + " Loading key store");
+
+                            char[] trustStorePassword = SecureStringUtil.getInstance()
+                                    .getDecryptedChars(con.encryptedTrustStorePassword);
+                            try {
+                                ks.load(is, (null == trustStorePassword) ? null : trustStorePassword);
+                            } finally {
+                                if (trustStorePassword != null)
+                                    Arrays.fill(trustStorePassword, ' ');
+                                // We are also done with the trust store input stream.
+                                if (null != is) {
+                                    try {
+                                        is.close();
+                                    } catch (IOException e) {
+                                        if (logger.isLoggable(Level.FINE))
+                                            logger.fine(toString()
+                                                    + " Ignoring error closing trust material InputStream...");
+                                    }
                                 }
                             }
                         }
-                    }
-
-                    // Either we now have a KeyStore populated with trust material or we are using the
-                    // default source of trust material (cacerts). Either way, we are now ready to
-                    // use a TrustManagerFactory to create a TrustManager that uses the trust material
-                    // to validate the server certificate.
 
-                    // Next step is to get a TrustManagerFactory that can produce TrustManagers
-                    // that understands X.509 certificates.
-                    TrustManagerFactory tmf = null;
+                        // Either we now have a KeyStore populated with trust material or we are using the
+                        // default source of trust material (cacerts). Either way, we are now ready to
+                        // use a TrustManagerFactory to create a TrustManager that uses the trust material
+                        // to validate the server certificate.
 
-                    if (logger.isLoggable(Level.FINEST))
-                        logger.finest(toString() + " Locating X.509 trust manager factory");
-
-                    tmfDefaultAlgorithm = TrustManagerFactory.getDefaultAlgorithm();
-                    tmf = TrustManagerFactory.getInstance(tmfDefaultAlgorithm);
-                    tmfProvider = tmf.getProvider();
+                        // Next step is to get a TrustManagerFactory that can produce TrustManagers
+                        // that understands X.509 certificates.
+                        TrustManagerFactory tmf = null;
 
-                    // Tell the TrustManagerFactory to give us TrustManagers that we can use to
-                    // validate the server certificate using the trust material in the KeyStore.
-                    if (logger.isLoggable(Level.FINEST))
-                        logger.finest(toString() + " Getting trust manager");
+                        if (logger.isLoggable(Level.FINEST))
+                            logger.finest(toString() + " Locating X.509 trust manager factory");
 
-                    tmf.init(ks);
-                    tm = tmf.getTrustManagers();
+                        tmfDefaultAlgorithm = TrustManagerFactory.getDefaultAlgorithm();
+                        tmf = TrustManagerFactory.getInstance(tmfDefaultAlgorithm);
+                        tmfProvider = tmf.getProvider();
 
-                    // if the host name in cert provided use it or use the host name Only if it is not FIPS
-                    if (!isFips) {
-                        if (null != hostNameInCertificate) {
-                            tm = new TrustManager[] {new HostNameOverrideX509TrustManager(this,
-                                    (X509TrustManager) tm[0], hostNameInCertificate)};
-                        } else {
-                            tm = new TrustManager[] {
-                                    new HostNameOverrideX509TrustManager(this, (X509TrustManager) tm[0], host)};
+                        // Tell the TrustManagerFactory to give us TrustManagers that we can use to
+                        // validate the server certificate using the trust material in the KeyStore.
+                        if (logger.isLoggable(Level.FINEST))
+                            logger.finest(toString() + " Getting trust manager");
+
+                        tmf.init(ks);
+                        tm = tmf.getTrustManagers();
+
+                        // if the host name in cert provided use it or use the host name Only if it is not FIPS
+                        if (!isFips) {
+                            if (null != hostNameInCertificate) {
+                                tm = new TrustManager[] {new HostNameOverrideX509TrustManager(this,
+                                        (X509TrustManager) tm[0], hostNameInCertificate)};
+                            } else {
+                                tm = new TrustManager[] {
+                                        new HostNameOverrideX509TrustManager(this, (X509TrustManager) tm[0], host)};
+                            }
                         }
                     }
-                }
-            } // end if (!con.trustServerCertificate())
+                } // end if (!con.trustServerCertificate())
 
-            // Now, with a real or fake TrustManager in hand, get a context for creating a
-            // SSL sockets through a SSL socket factory. We require at least TLS support.
-            SSLContext sslContext = null;
+                // Now, with a real or fake TrustManager in hand, get a context for creating a
+                // SSL sockets through a SSL socket factory. We require at least TLS support.
+                if (logger.isLoggable(Level.FINEST))
+                    logger.finest(toString() + " Getting TLS or better SSL context");
 
-            if (logger.isLoggable(Level.FINEST))
-                logger.finest(toString() + " Getting TLS or better SSL context");
+                KeyManager[] km = null;
+                if (null != clientCertificate && !clientCertificate.isEmpty()) {
+                    km = SQLServerCertificateUtils.getKeyManagerFromFile(clientCertificate, clientKey,
+                            clientKeyPassword);
+                }
 
-            KeyManager[] km = (null != clientCertificate && !clientCertificate.isEmpty()) ? SQLServerCertificateUtils
-                    .getKeyManagerFromFile(clientCertificate, clientKey, clientKeyPassword) : null;
+                sslContext = SSLContext.getInstance(sslProtocol);
+                sslContextProvider = sslContext.getProvider();
 
-            sslContext = SSLContext.getInstance(sslProtocol);
-            sslContextProvider = sslContext.getProvider();
+                if (logger.isLoggable(Level.FINEST))
+                    logger.finest(toString() + " Initializing SSL context");
 
-            if (logger.isLoggable(Level.FINEST))
-                logger.finest(toString() + " Initializing SSL context");
+                sslContext.init(km, tm, null); // CodeQL [SM03853] Potential all-accepting TrustManager is by design
+                // Permissive trust manager allows minimum encryption of credentials even when trusted certificates
+                // aren't provisioned on the server.
 
-            sslContext.init(km, tm, null); // CodeQL [SM03853] Potential all-accepting TrustManager is by design
-            // Permissive trust manager allows minimum encryption of credentials even when trusted certificates
-            // aren't provisioned on the server.
+                if (null != sslContextKey)
+                    sslContextCache.put(sslContextKey, sslContext);
+            }
 
             // Got the SSL context. Now create an SSL socket over our own proxy socket
             // which we can toggle between TDS-encapsulated and raw communications.
@@ -1851,7 +1900,18 @@ final class TDSChannel implements Serializable {
 
             // TLS 1.2 intermittent exception may happen here.
             handshakeState = SSLHandhsakeState.SSL_HANDHSAKE_STARTED;
+            long handshakeStartMillis = System.currentTimeMillis();
+            long handshakeStartNanos = System.nanoTime();
             sslSocket.startHandshake();
+            long handshakeNanos = System.nanoTime() - handshakeStartNanos;
+
+            // A resumed session was created by the handshake of an earlier connection. TLS 1.3 resumption creates a new
+            // session, so only TLS 1.2 and earlier resumptions are detected.
+            boolean isResumed = sslSocket.getSession().getCreationTime() < handshakeStartMillis;
+            sslContextCache.recordHandshake(handshakeNanos, isResumed);
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(toString() + " SSL handshake completed in " + handshakeNanos / 1000000 + " ms"
+                        + (isResumed ? " resuming an earlier session" : ""));
 
             if (isTDS8) {
                 String negotiatedProtocol = sslSocket.getApplicationProtocol();
@@ -2485,7 +2545,7 @@ final class SocketFinder {
             // case.
             if (useParallel || useTnir) {
                 // Ignore TNIR if host resolves to more than 64 IPs. Make sure we are using original timeout for this.
-                inetAddrs = InetAddress.getAllByName(hostName);
+                inetAddrs = conn.getAllByName(hostName);
 
                 if ((useTnir) && (inetAddrs.length > IP_ADDRESS_LIMIT)) {
                     useTnir = false;
@@ -2815,7 +2875,7 @@ final class SocketFinder {
     private Socket getSocketByIPPreference(String hostName, int portNumber, int timeoutInMilliSeconds,
             String iPAddressPreference) throws IOException, SQLServerException {
         InetSocketAddress addr = null;
-        InetAddress[] addresses = InetAddress.getAllByName(hostName);
+        InetAddress[] addresses = conn.getAllByName(hostName);
         IPAddressPreference pref = IPAddressPreference.valueOfString(iPAddressPreference);
         switch (pref) {
             case IPV6_FIRST:
@@ -3362,6 +3422,9 @@ final class TDSWriter {
     // the channel buffers.
     private byte[] valueBytes = new byte[256];
 
+    // Scratch space for the characters writeString copies into the staging buffer at a time
+    private final char[] valueChars = new char[1024];
+
     // Monotonically increasing packet number associated with the current message
     private int packetNum = 0;
 
@@ -3477,6 +3540,13 @@ final class TDSWriter {
         writePacket(TDS.STATUS_BIT_EOM);
     }
 
+    /**
+     * Returns the number of bytes of the current message written so far, including the packet headers.
+     */
+    final long getMessageLength() {
+        return (long) packetNum * currentPacketSize + ((Buffer) stagingBuffer).position();
+    }
+
     // If a complete request has not been sent to the server,
     // the client MUST send the next packet with both ignore bit (0x02) and EOM bit (0x01)
     // set in the status to cancel the request.
@@ -4169,25 +4239,25 @@ final class TDSWriter {
         int charsCopied = 0;
         int length = value.length();
         while (charsCopied < length) {
-            long bytesToCopy = 2 * ((long) length - charsCopied);
+            int remaining = stagingBuffer.remaining();
 
-            if (bytesToCopy > valueBytes.length)
-                bytesToCopy = valueBytes.length;
-
-            int bytesCopied = 0;
-            try {
-                while (bytesCopied < bytesToCopy) {
-                    char ch = value.charAt(charsCopied++);
-                    valueBytes[bytesCopied++] = (byte) ((ch >> 0) & 0xFF);
-                    valueBytes[bytesCopied++] = (byte) ((ch >> 8) & 0xFF);
-                }
+            // A character that does not fit in what remains of the packet is split across two packets
+            if (remaining < 2) {
+                writeChar(value.charAt(charsCopied++));
+                continue;
+            }
 
-                writeBytes(valueBytes, 0, bytesCopied);
-            } catch (ArrayIndexOutOfBoundsException e) {
-                MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_indexOutOfRange"));
-                Object[] msgArgs = {bytesCopied};
-                error(form.format(msgArgs), SQLState.DATA_EXCEPTION_NOT_SPECIFIC, DriverError.NOT_SET);
+            // Copy as many characters as fit in the packet at once, through a UTF-16LE view of the staging buffer
+            int charsToCopy = Math.min(Math.min(length - charsCopied, remaining / 2), valueChars.length);
+            value.getChars(charsCopied, charsCopied + charsToCopy, valueChars, 0);
+            stagingBuffer.asCharBuffer().put(valueChars, 0, charsToCopy);
+            ((Buffer) stagingBuffer).position(((Buffer) stagingBuffer).position() + 2 * charsToCopy);
+            if (tdsChannel.isLoggingPackets()) {
+                if (dataIsLoggable)
+                    logBuffer.asCharBuffer().put(valueChars, 0, charsToCopy);
+                ((Buffer) logBuffer).position(((Buffer) logBuffer).position() + 2 * charsToCopy);
             }
+            charsCopied += charsToCopy;
         }
     }
 
@@ -4995,7 +5065,8 @@ final class TDSWriter {
                     writeBytes(cachedTVPHeaders.array(), 0, ((Buffer) cachedTVPHeaders).position());
                 }
 
-                Object[] rowData = value.getRowData();
+                // the values of a columnar data table are written from its columns
+                Object[] rowData = (TVPType.SQLSERVERCOLUMNARDATATABLE == value.tvpType) ? null : value.getRowData();
 
                 // ROW
                 writeByte((byte) TDS.TVP_ROW);
@@ -5011,19 +5082,22 @@ final class TDSWriter {
                     }
 
                     JDBCType jdbcType = JDBCType.of(columnPair.getValue().javaSqlType);
-                    String currentColumnStringValue = null;
+
+                    if (TVPType.SQLSERVERCOLUMNARDATATABLE == value.tvpType) {
+                        writeColumnarTVPRowValue(jdbcType, value.sourceColumnarDataTable.getColumnValues(currentColumn),
+                                value.sourceColumnarDataTableRow, columnPair);
+                        currentColumn++;
+                        continue;
+                    }
 
                     Object currentObject = null;
                     // if rowData has value for the current column, retrieve it. If not, current column will stay
                     // null.
                     if ((null != rowData) && (rowData.length > currentColumn)) {
                         currentObject = rowData[currentColumn];
-                        if (null != currentObject) {
-                            currentColumnStringValue = String.valueOf(currentObject);
-                        }
                     }
 
-                    writeInternalTVPRowValues(jdbcType, currentColumnStringValue, currentObject, columnPair, false);
+                    writeInternalTVPRowValues(jdbcType, currentObject, columnPair, false);
                     currentColumn++;
                 }
 
@@ -5062,14 +5136,93 @@ final class TDSWriter {
         }
     }
 
-    private void writeInternalTVPRowValues(JDBCType jdbcType, String currentColumnStringValue, Object currentObject,
+    /*
+     * The values of a TVP row are encoded from the objects themselves when they already have the type of the column,
+     * and otherwise converted through their string representation.
+     */
+    private static long getTVPLongValue(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+
+    private static int getTVPIntValue(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        return Integer.parseInt(String.valueOf(value));
+    }
+
+    private static short getTVPShortValue(Object value) {
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).shortValue();
+        }
+        return Short.parseShort(String.valueOf(value));
+    }
+
+    private static BigDecimal getTVPBigDecimalValue(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        return new BigDecimal(String.valueOf(value));
+    }
+
+    private static boolean getTVPBooleanValue(Object value) {
+        return (value instanceof Boolean) ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private static double getTVPDoubleValue(Object value) {
+        return (value instanceof Double) ? (Double) value : Double.parseDouble(String.valueOf(value));
+    }
+
+    private static float getTVPFloatValue(Object value) {
+        return (value instanceof Float) ? (Float) value : Float.parseFloat(String.valueOf(value));
+    }
+
+    /**
+     * Writes the value of a row of a column of a SQLServerColumnarDataTable, without boxing the values of columns that
+     * hold primitives.
+     */
+    private void writeColumnarTVPRowValue(JDBCType jdbcType, SQLServerColumnarDataTable.ColumnValues values, int row,
+            Map.Entry<Integer, SQLServerMetaData> columnPair) throws SQLServerException {
+        if (values.isNull(row)) {
+            writeInternalTVPRowValues(jdbcType, null, columnPair, false);
+        } else if (values instanceof SQLServerColumnarDataTable.LongValues) {
+            writeByte((byte) 8);
+            writeLong(((SQLServerColumnarDataTable.LongValues) values).values[row]);
+        } else if (values instanceof SQLServerColumnarDataTable.IntValues) {
+            writeByte((byte) 4);
+            writeInt(((SQLServerColumnarDataTable.IntValues) values).values[row]);
+        } else if (values instanceof SQLServerColumnarDataTable.ShortValues) {
+            writeByte((byte) 2);
+            writeShort(((SQLServerColumnarDataTable.ShortValues) values).values[row]);
+        } else if (values instanceof SQLServerColumnarDataTable.BooleanValues) {
+            writeByte((byte) 1);
+            writeByte((byte) (((SQLServerColumnarDataTable.BooleanValues) values).values[row] ? 1 : 0));
+        } else if (values instanceof SQLServerColumnarDataTable.DoubleValues) {
+            writeByte((byte) 8);
+            writeDouble(((SQLServerColumnarDataTable.DoubleValues) values).values[row]);
+        } else if (values instanceof SQLServerColumnarDataTable.FloatValues) {
+            writeByte((byte) 4);
+            writeInt(Float.floatToRawIntBits(((SQLServerColumnarDataTable.FloatValues) values).values[row]));
+        } else {
+            writeInternalTVPRowValues(jdbcType, values.get(row), columnPair, false);
+        }
+    }
+
+    private void writeInternalTVPRowValues(JDBCType jdbcType, Object currentObject,
             Map.Entry<Integer, SQLServerMetaData> columnPair,
             boolean isSqlVariant) throws SQLServerException, IllegalArgumentException {
         boolean isShortValue, isNull;
         int dataLength;
+        String currentColumnStringValue;
         switch (jdbcType) {
             case BIGINT:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (isSqlVariant) {
@@ -5077,52 +5230,52 @@ final class TDSWriter {
                     } else {
                         writeByte((byte) 8);
                     }
-                    writeLong(Long.parseLong(currentColumnStringValue));
+                    writeLong(getTVPLongValue(currentObject));
                 }
                 break;
 
             case BIT:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (isSqlVariant)
                         writeTVPSqlVariantHeader(3, TDSType.BIT1.byteValue(), (byte) 0);
                     else
                         writeByte((byte) 1);
-                    writeByte((byte) (Boolean.parseBoolean(currentColumnStringValue) ? 1 : 0));
+                    writeByte((byte) (getTVPBooleanValue(currentObject) ? 1 : 0));
                 }
                 break;
 
             case INTEGER:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (!isSqlVariant)
                         writeByte((byte) 4);
                     else
                         writeTVPSqlVariantHeader(6, TDSType.INT4.byteValue(), (byte) 0);
-                    writeInt(Integer.parseInt(currentColumnStringValue));
+                    writeInt(getTVPIntValue(currentObject));
                 }
                 break;
 
             case SMALLINT:
             case TINYINT:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (isSqlVariant) {
                         writeTVPSqlVariantHeader(6, TDSType.INT4.byteValue(), (byte) 0);
-                        writeInt(Integer.parseInt(currentColumnStringValue));
+                        writeInt(getTVPIntValue(currentObject));
                     } else {
                         writeByte((byte) 2); // length of datatype
-                        writeShort(Short.parseShort(currentColumnStringValue));
+                        writeShort(getTVPShortValue(currentObject));
                     }
                 }
                 break;
 
             case DECIMAL:
             case NUMERIC:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (isSqlVariant) {
@@ -5132,7 +5285,7 @@ final class TDSWriter {
                     } else {
                         writeByte((byte) TDSWriter.BIGDECIMAL_MAX_LENGTH); // maximum length
                     }
-                    BigDecimal bdValue = new BigDecimal(currentColumnStringValue);
+                    BigDecimal bdValue = getTVPBigDecimalValue(currentObject);
 
                     /*
                      * setScale of all BigDecimal value based on metadata as scale is not sent separately for individual
@@ -5161,38 +5314,29 @@ final class TDSWriter {
                 break;
 
             case DOUBLE:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0); // len of data bytes
                 else {
                     if (isSqlVariant) {
                         writeTVPSqlVariantHeader(10, TDSType.FLOAT8.byteValue(), (byte) 0);
-                        writeDouble(Double.parseDouble(currentColumnStringValue));
-                        break;
-                    }
-                    writeByte((byte) 8); // len of data bytes
-                    long bits = Double.doubleToLongBits(Double.parseDouble(currentColumnStringValue));
-                    long mask = 0xFF;
-                    int nShift = 0;
-                    for (int i = 0; i < 8; i++) {
-                        writeByte((byte) ((bits & mask) >> nShift));
-                        nShift += 8;
-                        mask = mask << 8;
+                    } else {
+                        writeByte((byte) 8); // len of data bytes
                     }
+                    writeDouble(getTVPDoubleValue(currentObject));
                 }
                 break;
 
             case FLOAT:
             case REAL:
-                if (null == currentColumnStringValue)
+                if (null == currentObject)
                     writeByte((byte) 0);
                 else {
                     if (isSqlVariant) {
                         writeTVPSqlVariantHeader(6, TDSType.FLOAT4.byteValue(), (byte) 0);
-                        writeInt(Float.floatToRawIntBits(Float.parseFloat(currentColumnStringValue)));
                     } else {
                         writeByte((byte) 4);
-                        writeInt(Float.floatToRawIntBits(Float.parseFloat(currentColumnStringValue)));
                     }
+                    writeInt(Float.floatToRawIntBits(getTVPFloatValue(currentObject)));
                 }
                 break;
 
@@ -5212,6 +5356,7 @@ final class TDSWriter {
             case LONGNVARCHAR:
             case SQLXML:
                 isShortValue = (2L * columnPair.getValue().precision) <= DataTypes.SHORT_VARTYPE_MAX_BYTES;
+                currentColumnStringValue = (null == currentObject) ? null : String.valueOf(currentObject);
                 isNull = (null == currentColumnStringValue);
                 dataLength = isNull ? 0 : currentColumnStringValue.length() * 2;
                 if (!isShortValue) {
@@ -5342,7 +5487,7 @@ final class TDSWriter {
                 JDBCType internalJDBCType;
                 JavaType javaType = JavaType.of(currentObject);
                 internalJDBCType = javaType.getJDBCType(SSType.UNKNOWN, jdbcType);
-                writeInternalTVPRowValues(internalJDBCType, currentColumnStringValue, currentObject, columnPair, true);
+                writeInternalTVPRowValues(internalJDBCType, currentObject, columnPair, true);
                 break;
             default:
                 assert false : "Unexpected JDBC type " + jdbcType.toString();
@@ -6631,7 +6776,8 @@ final class TDSWriter {
  * Having both the link and the data in the same class allows TDSReader marks (see below) to automatically hold onto
  * exactly as much response data as they need, and no more. Java reference semantics ensure that a mark holds onto its
  * referenced packet and subsequent packets (through next references). When all marked references to a packet go away,
- * the packet, and any linked unmarked packets, can be reclaimed by GC.
+ * the packet, and any linked unmarked packets, can be reclaimed by GC. The payload buffers of reclaimed packets are
+ * then recycled by TDSPacketPool.
  */
 final class TDSPacket {
     final byte[] header = new byte[TDS.PACKET_HEADER_SIZE];
@@ -6645,7 +6791,11 @@ final class TDSPacket {
     }
 
     TDSPacket(int size) {
-        payload = new byte[size];
+        this(new byte[size]);
+    }
+
+    TDSPacket(byte[] payload) {
+        this.payload = payload;
         payloadLength = 0;
         next = null;
     }
@@ -6688,7 +6838,6 @@ final class TDSReader implements Serializable {
 
     private static final Logger logger = Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.TDS.Reader");
     final private String traceID;
-    private transient ScheduledFuture<?> timeout;
 
     final public String toString() {
         return traceID;
@@ -6720,6 +6869,9 @@ final class TDSReader implements Serializable {
     private byte serverSupportedDataClassificationVersion = TDS.DATA_CLASSIFICATION_NOT_ENABLED;
     private final transient Lock tdsReaderLock = new ReentrantLock();
 
+    // The read-ahead of the current response message, if active. Guarded by tdsReaderLock.
+    private transient ReadAhead readAhead;
+
     private final byte[] valueBytes = new byte[256];
 
     protected transient SensitivityClassification sensitivityClassification;
@@ -6810,6 +6962,7 @@ final class TDSReader implements Serializable {
             if (null != command && command.getTDSWriter().checkIfTdsMessageTypeIsBatchOrRPC()) {
                 command.getCounter().resetCounter();
             }
+            startReadAhead();
             readPacket();
 
             if (null == consumedPacket.next)
@@ -6834,8 +6987,11 @@ final class TDSReader implements Serializable {
     /**
      * Reads the next packet of the TDS channel.
      *
-     * This method is synchronized to guard against simultaneously reading packets from one thread that is processing
-     * the response and another thread that is trying to buffer it with TDSCommand.detach().
+     * This method is guarded by tdsReaderLock against simultaneously reading packets from one thread that is processing
+     * the response and another thread that is trying to buffer it with TDSCommand.detach(). A ReentrantLock is used
+     * rather than a monitor so that a virtual thread blocked on the socket read does not pin its carrier thread.
+     *
+     * While a read-ahead is active the packet is taken from the packets it has read instead of from the socket.
      */
     final boolean readPacket() throws SQLServerException {
         tdsReaderLock.lock();
@@ -6849,81 +7005,25 @@ final class TDSReader implements Serializable {
             assert tdsChannel.numMsgsRcvd < tdsChannel.numMsgsSent : "numMsgsRcvd:" + tdsChannel.numMsgsRcvd
                     + " should be less than numMsgsSent:" + tdsChannel.numMsgsSent;
 
-            TDSPacket newPacket = new TDSPacket(con.getTDSPacketSize());
-            if ((null != command) &&
-            // if cancelQueryTimeout is set, we should wait for the total amount of
-            // queryTimeout + cancelQueryTimeout to
-            // terminate the connection.
-                    (command.getCancelQueryTimeoutSeconds() > 0 && command.getQueryTimeoutSeconds() > 0)) {
-                // if a timeout is configured with this object, add it to the timeout poller
-                int seconds = command.getCancelQueryTimeoutSeconds() + command.getQueryTimeoutSeconds();
-                this.timeout = con.getSharedTimer().schedule(new TDSTimeoutTask(command, con), seconds);
-            }
-
-            // First, read the packet header.
-            for (int headerBytesRead = 0; headerBytesRead < TDS.PACKET_HEADER_SIZE;) {
-                int bytesRead = tdsChannel.read(newPacket.header, headerBytesRead,
-                        TDS.PACKET_HEADER_SIZE - headerBytesRead);
-                if (bytesRead < 0) {
-                    if (logger.isLoggable(Level.FINER))
-                        logger.finer(toString() + " Premature EOS in response. packetNum:" + packetNum
-                                + " headerBytesRead:" + headerBytesRead);
-
-                    con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED,
-                            ((0 == packetNum && 0 == headerBytesRead)
-                                                                      ? SQLServerException
-                                                                              .getErrString("R_noServerResponse")
-                                                                      : SQLServerException.getErrString(
-                                                                              "R_truncatedServerResponse")));
-                }
-
-                headerBytesRead += bytesRead;
-            }
-
-            // if execution was subject to timeout then stop timing
-            if (this.timeout != null) {
-                this.timeout.cancel(false);
-                this.timeout = null;
-            }
-            // Header size is a 2 byte unsigned short integer in big-endian order.
-            int packetLength = Util.readUnsignedShortBigEndian(newPacket.header, TDS.PACKET_HEADER_MESSAGE_LENGTH);
-
-            // Make header size is properly bounded and compute length of the packet payload.
-            if (packetLength < TDS.PACKET_HEADER_SIZE || packetLength > con.getTDSPacketSize()) {
-                if (logger.isLoggable(Level.WARNING)) {
-                    logger.warning(toString() + " TDS header contained invalid packet length:" + packetLength
-                            + "; packet size:" + con.getTDSPacketSize());
+            TDSPacket newPacket;
+            if (null != readAhead) {
+                // the read-ahead stops after the last packet of the message, or after an exception
+                boolean isReadAheadDone = true;
+                try {
+                    newPacket = readAhead.take();
+                    isReadAheadDone = newPacket.isEOM();
+                } finally {
+                    if (isReadAheadDone) {
+                        readAhead = null;
+                    }
                 }
-                throwInvalidTDS();
-            }
-
-            newPacket.payloadLength = packetLength - TDS.PACKET_HEADER_SIZE;
-
-            // Just grab the SPID for logging (another big-endian unsigned short).
-            tdsChannel.setSPID(Util.readUnsignedShortBigEndian(newPacket.header, TDS.PACKET_HEADER_SPID));
-
-            // Packet header looks good enough.
-            // When logging, copy the packet header to the log buffer.
-            byte[] logBuffer = null;
-            if (tdsChannel.isLoggingPackets()) {
-                logBuffer = new byte[packetLength];
-                System.arraycopy(newPacket.header, 0, logBuffer, 0, TDS.PACKET_HEADER_SIZE);
+            } else {
+                newPacket = receivePacket(packetNum);
             }
 
             // if messageType is RPC or QUERY, then increment Counter's state
             if (tdsChannel.getWriter().checkIfTdsMessageTypeIsBatchOrRPC() && null != command) {
-                command.getCounter().increaseCounter(packetLength);
-            }
-
-            // Now for the payload...
-            for (int payloadBytesRead = 0; payloadBytesRead < newPacket.payloadLength;) {
-                int bytesRead = tdsChannel.read(newPacket.payload, payloadBytesRead,
-                        newPacket.payloadLength - payloadBytesRead);
-                if (bytesRead < 0)
-                    con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED,
-                            SQLServerException.getErrString("R_truncatedServerResponse"));
-
-                payloadBytesRead += bytesRead;
+                command.getCounter().increaseCounter((long) newPacket.payloadLength + TDS.PACKET_HEADER_SIZE);
             }
 
             ++packetNum;
@@ -6931,8 +7031,11 @@ final class TDSReader implements Serializable {
             lastPacket.next = newPacket;
             lastPacket = newPacket;
 
-            // When logging, append the payload to the log buffer and write out the whole thing.
-            if (tdsChannel.isLoggingPackets() && logBuffer != null) {
+            // When logging, write out the header and payload of the packet.
+            if (tdsChannel.isLoggingPackets()) {
+                int packetLength = newPacket.payloadLength + TDS.PACKET_HEADER_SIZE;
+                byte[] logBuffer = new byte[packetLength];
+                System.arraycopy(newPacket.header, 0, logBuffer, 0, TDS.PACKET_HEADER_SIZE);
                 System.arraycopy(newPacket.payload, 0, logBuffer, TDS.PACKET_HEADER_SIZE, newPacket.payloadLength);
                 tdsChannel.logPacket(logBuffer, 0, packetLength,
                         this.toString() + " received Packet:" + packetNum + " (" + newPacket.payloadLength + " bytes)");
@@ -6955,6 +7058,199 @@ final class TDSReader implements Serializable {
         }
     }
 
+    /**
+     * Reads a packet from the socket. Called by the thread processing the response, or by the read-ahead thread while
+     * a read-ahead is active.
+     *
+     * @param packetsRead
+     *        the number of packets read so far, for error messages
+     */
+    private TDSPacket receivePacket(int packetsRead) throws SQLServerException {
+        TDSPacket newPacket = TDSPacketPool.getPool(con.getTDSPacketSize()).getPacket();
+        TimeoutWheel.Timeout timeout = null;
+        if ((null != command) &&
+        // if cancelQueryTimeout is set, we should wait for the total amount of
+        // queryTimeout + cancelQueryTimeout to
+        // terminate the connection.
+                (command.getCancelQueryTimeoutSeconds() > 0 && command.getQueryTimeoutSeconds() > 0)) {
+            // if a timeout is configured with this object, add it to the timeout poller
+            int seconds = command.getCancelQueryTimeoutSeconds() + command.getQueryTimeoutSeconds();
+            timeout = con.getSharedTimer().schedule(new TDSTimeoutTask(command, con), seconds);
+        }
+
+        // First, read the packet header.
+        for (int headerBytesRead = 0; headerBytesRead < TDS.PACKET_HEADER_SIZE;) {
+            int bytesRead = tdsChannel.read(newPacket.header, headerBytesRead,
+                    TDS.PACKET_HEADER_SIZE - headerBytesRead);
+            if (bytesRead < 0) {
+                if (logger.isLoggable(Level.FINER))
+                    logger.finer(toString() + " Premature EOS in response. packetNum:" + packetsRead
+                            + " headerBytesRead:" + headerBytesRead);
+
+                con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED,
+                        ((0 == packetsRead && 0 == headerBytesRead)
+                                                                   ? SQLServerException
+                                                                           .getErrString("R_noServerResponse")
+                                                                   : SQLServerException.getErrString(
+                                                                           "R_truncatedServerResponse")));
+            }
+
+            headerBytesRead += bytesRead;
+        }
+
+        // if execution was subject to timeout then stop timing
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        // Header size is a 2 byte unsigned short integer in big-endian order.
+        int packetLength = Util.readUnsignedShortBigEndian(newPacket.header, TDS.PACKET_HEADER_MESSAGE_LENGTH);
+
+        // Make header size is properly bounded and compute length of the packet payload.
+        if (packetLength < TDS.PACKET_HEADER_SIZE || packetLength > con.getTDSPacketSize()) {
+            if (logger.isLoggable(Level.WARNING)) {
+                logger.warning(toString() + " TDS header contained invalid packet length:" + packetLength
+                        + "; packet size:" + con.getTDSPacketSize());
+            }
+            throwInvalidTDS();
+        }
+
+        newPacket.payloadLength = packetLength - TDS.PACKET_HEADER_SIZE;
+
+        // Just grab the SPID for logging (another big-endian unsigned short).
+        tdsChannel.setSPID(Util.readUnsignedShortBigEndian(newPacket.header, TDS.PACKET_HEADER_SPID));
+
+        // Now for the payload...
+        for (int payloadBytesRead = 0; payloadBytesRead < newPacket.payloadLength;) {
+            int bytesRead = tdsChannel.read(newPacket.payload, payloadBytesRead,
+                    newPacket.payloadLength - payloadBytesRead);
+            if (bytesRead < 0)
+                con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED,
+                        SQLServerException.getErrString("R_truncatedServerResponse"));
+
+            payloadBytesRead += bytesRead;
+        }
+
+        return newPacket;
+    }
+
+    /**
+     * Starts reading the rest of the current response message ahead of the thread processing it, if the connection
+     * enables the read-ahead and the response is still being received.
+     */
+    private void startReadAhead() {
+        int readAheadPackets = con.getReadAheadPackets();
+        if (0 == readAheadPackets || null == command) {
+            return;
+        }
+
+        tdsReaderLock.lock();
+        try {
+            if (null != readAhead || !command.readingResponse()) {
+                return;
+            }
+
+            // do not buffer more than maxResultBuffer allows
+            long maxResultBuffer = Long.parseLong(con.activeConnectionProperties
+                    .getProperty(SQLServerDriverStringProperty.MAX_RESULT_BUFFER.toString()));
+            if (maxResultBuffer > 0) {
+                readAheadPackets = (int) Math.max(1,
+                        Math.min(readAheadPackets, maxResultBuffer / con.getTDSPacketSize()));
+            }
+
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(toString() + " Reading up to " + readAheadPackets + " packets ahead");
+
+            readAhead = new ReadAhead(readAheadPackets, packetNum);
+            AsyncExecutor.execute(readAhead);
+        } finally {
+            tdsReaderLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the packets of a response message from the socket on a background thread and hands them to the thread
+     * processing the response, so that receiving the rest of a large result overlaps with processing its rows. The
+     * read-ahead stops after the last packet of the message, as the server sends nothing more until the next request.
+     */
+    private final class ReadAhead implements Runnable {
+        private final BlockingQueue<Object> packets;
+        private int packetsRead;
+
+        ReadAhead(int capacity, int packetsRead) {
+            this.packets = new LinkedBlockingQueue<>(capacity);
+            this.packetsRead = packetsRead;
+        }
+
+        @Override
+        public void run() {
+            try {
+                TDSPacket packet;
+                do {
+                    packet = receivePacket(packetsRead++);
+                    if (!put(packet)) {
+                        return;
+                    }
+                } while (!packet.isEOM());
+            } catch (Throwable t) {
+                // whatever ends the read-ahead is rethrown to the thread waiting for the next packet
+                put(t);
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+            }
+        }
+
+        /**
+         * Waits for room for the next packet, giving up if the connection is closed meanwhile.
+         */
+        private boolean put(Object packetOrException) {
+            try {
+                while (!packets.offer(packetOrException, 1, TimeUnit.SECONDS)) {
+                    if (con.isSessionUnAvailable()) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Returns the next packet read, or throws the exception that ended the read-ahead. Waits for the packet until
+         * the connection is closed, as the read-ahead gives up then.
+         */
+        TDSPacket take() throws SQLServerException {
+            Object packetOrException;
+            try {
+                while (null == (packetOrException = packets.poll(1, TimeUnit.SECONDS))) {
+                    if (con.isSessionUnAvailable()) {
+                        con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED,
+                                SQLServerException.getErrString("R_connectionIsClosed"), null);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // the rest of the response is lost with the read-ahead
+                con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED, e.getMessage(), e);
+                return null; // Keep the compiler happy.
+            }
+
+            if (packetOrException instanceof SQLServerException) {
+                throw (SQLServerException) packetOrException;
+            } else if (packetOrException instanceof RuntimeException) {
+                throw (RuntimeException) packetOrException;
+            } else if (packetOrException instanceof Error) {
+                throw (Error) packetOrException;
+            } else if (packetOrException instanceof Throwable) {
+                Throwable t = (Throwable) packetOrException;
+                con.terminate(SQLServerException.DRIVER_ERROR_IO_FAILED, t.getMessage(), t);
+            }
+            return (TDSPacket) packetOrException;
+        }
+    }
+
     final TDSReaderMark mark() {
         TDSReaderMark mark = new TDSReaderMark(currentPacket, payloadOffset);
         isStreaming = false;
@@ -7082,6 +7378,14 @@ final class TDSReader implements Serializable {
 
     final String readUnicodeString(int length) throws SQLServerException {
         int byteLength = 2 * length;
+
+        // Decode the string in place when it lies entirely within the current packet
+        if (payloadOffset + byteLength <= currentPacket.payloadLength) {
+            String value = Util.readUnicodeString(currentPacket.payload, payloadOffset, byteLength, con);
+            payloadOffset += byteLength;
+            return value;
+        }
+
         byte[] bytes = new byte[byteLength];
         readBytes(bytes, 0, byteLength);
         return Util.readUnicodeString(bytes, 0, byteLength, con);
@@ -7148,6 +7452,37 @@ final class TDSReader implements Serializable {
         }
     }
 
+    /**
+     * Reads up to maxLength bytes without copying them. Returns a buffer that wraps the bytes in the current packet's
+     * payload, so the result holds at most the rest of that packet. The buffer must not be modified. Payloads are
+     * recycled once their packet has been collected (see TDSPacketPool), so a caller that keeps the buffer beyond the
+     * next read must also keep the packet returned by {@link #getCurrentPacket()} reachable.
+     *
+     * @param maxLength
+     *        the maximum number of bytes to read
+     * @return a buffer wrapping the bytes read
+     * @throws SQLServerException
+     */
+    final ByteBuffer readPayloadView(int maxLength) throws SQLServerException {
+        if (!ensurePayload())
+            throwInvalidTDS();
+
+        int length = currentPacket.payloadLength - payloadOffset;
+        if (length > maxLength)
+            length = maxLength;
+
+        if (logger.isLoggable(Level.FINEST))
+            logger.finest(toString() + " Reading view of " + length + " bytes from offset " + payloadOffset);
+
+        ByteBuffer view = ByteBuffer.wrap(currentPacket.payload, payloadOffset, length);
+        payloadOffset += length;
+        return view;
+    }
+
+    final TDSPacket getCurrentPacket() {
+        return currentPacket;
+    }
+
     /**
      * This function reads valueLength no. of bytes from input buffer without storing them in any array
      *
@@ -7666,7 +8001,7 @@ abstract class TDSCommand implements Serializable {
     private volatile boolean readingResponse;
     private int queryTimeoutSeconds;
     private int cancelQueryTimeoutSeconds;
-    private transient ScheduledFuture<?> timeout;
+    private transient TimeoutWheel.Timeout timeout;
 
     private boolean isExecuted = false;
 
@@ -8149,7 +8484,7 @@ abstract class TDSCommand implements Serializable {
             // If command execution was subject to timeout then stop timing as soon
             // as the server returns the first response packet or errors out.
             if (this.timeout != null) {
-                this.timeout.cancel(false);
+                this.timeout.cancel();
                 this.timeout = null;
             }
         }
@@ -0,0 +1,150 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+
+
+/**
+ * Provides an interface used to create classes that supply bulk copy data in batches of columns rather than in rows.
+ * Each column of a batch is held in a primitive array, which SQLServerBulkCopy encodes directly without boxing the
+ * values or allocating an array for each row.
+ *
+ * The array that holds the values of a column depends on the column type returned by {@link #getColumnType(int)}:
+ * <ul>
+ * <li>java.sql.Types.INTEGER, SMALLINT, TINYINT and BIT (0 or 1): {@link #getIntColumn(int)}</li>
+ * <li>java.sql.Types.BIGINT: {@link #getLongColumn(int)}</li>
+ * <li>java.sql.Types.DOUBLE, FLOAT and REAL: {@link #getDoubleColumn(int)}</li>
+ * <li>java.sql.Types.CHAR, VARCHAR, LONGVARCHAR, NCHAR, NVARCHAR and LONGNVARCHAR (UTF-8 encoded), BINARY, VARBINARY
+ * and LONGVARBINARY: {@link #getByteColumn(int)} and {@link #getOffsetColumn(int)}</li>
+ * <li>any other type: {@link #getObjectColumn(int)}</li>
+ * </ul>
+ * The value of row {@code r} of the current batch is at index {@code r} of the array, and is null when bit
+ * {@code r % 64} of element {@code r / 64} of {@link #getNullBitmap(int)} is set. The arrays may be longer than the
+ * batch, and may be reused by the next batch.
+ */
+public interface ISQLServerBulkColumnarData extends Serializable {
+
+    /**
+     * Returns the ordinals for each of the columns represented in this data record.
+     *
+     * @return Set of ordinals for the columns.
+     */
+    java.util.Set<Integer> getColumnOrdinals();
+
+    /**
+     * Returns the name of the given column.
+     *
+     * @param column
+     *        Column ordinal
+     * @return Name of the column
+     */
+    String getColumnName(int column);
+
+    /**
+     * Returns the JDBC data type of the given column.
+     *
+     * @param column
+     *        Column ordinal
+     * @return JDBC data type of the column
+     */
+    int getColumnType(int column);
+
+    /**
+     * Returns the precision for the given column.
+     *
+     * @param column
+     *        Column ordinal
+     * @return Precision of the column
+     */
+    int getPrecision(int column);
+
+    /**
+     * Returns the scale for the given column.
+     *
+     * @param column
+     *        Column ordinal
+     * @return Scale of the column
+     */
+    int getScale(int column);
+
+    /**
+     * Advances to the next batch of rows.
+     *
+     * @return the number of rows in the batch, or 0 if there are no more rows
+     * @throws SQLException
+     *         If there are any errors in obtaining the data.
+     */
+    int nextBatch() throws SQLException;
+
+    /**
+     * Returns the null bitmap of the given column in the current batch.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the null bitmap, or null if the column has no null values in the current batch
+     */
+    long[] getNullBitmap(int column);
+
+    /**
+     * Returns the values of an INTEGER, SMALLINT, TINYINT or BIT column in the current batch.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the values of the column
+     */
+    int[] getIntColumn(int column);
+
+    /**
+     * Returns the values of a BIGINT column in the current batch.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the values of the column
+     */
+    long[] getLongColumn(int column);
+
+    /**
+     * Returns the values of a DOUBLE, FLOAT or REAL column in the current batch.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the values of the column
+     */
+    double[] getDoubleColumn(int column);
+
+    /**
+     * Returns the bytes of a character or binary column in the current batch. The value of row {@code r} is held in
+     * the bytes from {@code getOffsetColumn(column)[r]} to {@code getOffsetColumn(column)[r + 1]}. Character values
+     * are UTF-8 encoded.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the bytes of the column
+     */
+    byte[] getByteColumn(int column);
+
+    /**
+     * Returns the offsets of the values of a character or binary column in the bytes returned by
+     * {@link #getByteColumn(int)}. The array holds one more offset than the number of rows in the batch.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the offsets of the values of the column
+     */
+    int[] getOffsetColumn(int column);
+
+    /**
+     * Returns the values of a column of any other type in the current batch, as the objects the
+     * {@link ISQLServerBulkData#getRowData()} method would return for them.
+     *
+     * @param column
+     *        Column ordinal
+     * @return the values of the column
+     */
+    Object[] getObjectColumn(int column);
+}
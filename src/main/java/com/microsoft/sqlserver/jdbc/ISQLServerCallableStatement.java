@@ -955,6 +955,21 @@ public interface ISQLServerCallableStatement extends java.sql.CallableStatement,
      */
     void setStructured(String parameterName, String tvpName, SQLServerDataTable tvpDataTable) throws SQLServerException;
 
+    /**
+     * Populates a table valued parameter passed to a stored procedure with a columnar data table.
+     * 
+     * @param parameterName
+     *        the name of the parameter
+     * @param tvpName
+     *        the name of the type TVP
+     * @param tvpDataTable
+     *        the columnar data table object
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    void setStructured(String parameterName, String tvpName,
+            SQLServerColumnarDataTable tvpDataTable) throws SQLServerException;
+
     /**
      * Populates a table valued parameter passed to a stored procedure with a ResultSet retrieved from another table
      * 
@@ -513,4 +513,22 @@ public interface ISQLServerConnection extends java.sql.Connection {
      * @return flag for using Bulk Copy API for batch insert operations.
      */
     boolean getUseBulkCopyForBatchInsert();
+
+    /**
+     * Specifies the flag for using Bulk Copy API for batch update and delete operations. A batch of a statement of the
+     * form UPDATE table SET column = ?, ... WHERE column = ? AND ... or DELETE FROM table WHERE column = ? AND ... is
+     * then bulk copied into a temporary table and applied with a single statement. Other statements are executed
+     * as usual.
+     * 
+     * @param useBulkCopyForBatchUpdate
+     *        boolean value for useBulkCopyForBatchUpdate.
+     */
+    void setUseBulkCopyForBatchUpdate(boolean useBulkCopyForBatchUpdate);
+
+    /**
+     * Returns the useBulkCopyForBatchUpdate value.
+     * 
+     * @return flag for using Bulk Copy API for batch update and delete operations.
+     */
+    boolean getUseBulkCopyForBatchUpdate();
 }
@@ -999,6 +999,21 @@ public interface ISQLServerDataSource extends javax.sql.CommonDataSource {
      */
     void setUseBulkCopyForBatchInsert(boolean useBulkCopyForBatchInsert);
 
+    /**
+     * Returns whether the use Bulk Copy API is used for Batch Update and Delete.
+     * 
+     * @return whether the driver should use Bulk Copy API for Batch Update and Delete operations.
+     */
+    boolean getUseBulkCopyForBatchUpdate();
+
+    /**
+     * Sets whether the use Bulk Copy API should be used for Batch Update and Delete.
+     * 
+     * @param useBulkCopyForBatchUpdate
+     *        indicates whether Bulk Copy API should be used for Batch Update and Delete operations.
+     */
+    void setUseBulkCopyForBatchUpdate(boolean useBulkCopyForBatchUpdate);
+
     /**
      * Sets the client id to be used to retrieve the access token for a user-assigned Managed Identity.
      * 
@@ -1266,6 +1281,73 @@ public interface ISQLServerDataSource extends javax.sql.CommonDataSource {
      */
     int getConnectRetryInterval();
 
+    /**
+     * Sets the number of seconds the destination table metadata read by SQLServerBulkCopy is cached and reused by
+     * later bulk copies into the same table. A value of 0 disables the cache.
+     *
+     * @param bulkCopyMetadataCacheTtl
+     *        time-to-live in seconds
+     */
+    void setBulkCopyMetadataCacheTtl(int bulkCopyMetadataCacheTtl);
+
+    /**
+     * Returns the number of seconds the destination table metadata read by SQLServerBulkCopy is cached.
+     *
+     * @return time-to-live in seconds
+     */
+    int getBulkCopyMetadataCacheTtl();
+
+    /**
+     * Sets the size in bytes after which the request of a prepared statement batch is sent to the server, and its
+     * results read, before the rest of the batch is written to a new request. A value of 0 sends the batch in as few
+     * requests as possible.
+     *
+     * @param batchRequestMaxSize
+     *        size in bytes
+     */
+    void setBatchRequestMaxSize(int batchRequestMaxSize);
+
+    /**
+     * Returns the size in bytes after which the request of a prepared statement batch is sent to the server.
+     *
+     * @return size in bytes
+     */
+    int getBatchRequestMaxSize();
+
+    /**
+     * Sets the number of response packets that a background thread reads from the network ahead of the application
+     * while it processes a result that spans several packets, so that receiving the result overlaps with processing
+     * its rows. The number of packets is further bounded by maxResultBuffer. A value of 0 disables the read-ahead.
+     *
+     * @param readAheadPackets
+     *        number of packets
+     */
+    void setReadAheadPackets(int readAheadPackets);
+
+    /**
+     * Returns the number of response packets that a background thread reads from the network ahead of the
+     * application.
+     *
+     * @return number of packets
+     */
+    int getReadAheadPackets();
+
+    /**
+     * Sets the number of seconds the addresses of a server and the port of a named instance returned by the SQL Server
+     * Browser are cached and reused by later connections. A value of 0 disables the cache.
+     *
+     * @param serverResolutionCacheTtl
+     *        time-to-live in seconds
+     */
+    void setServerResolutionCacheTtl(int serverResolutionCacheTtl);
+
+    /**
+     * Returns the number of seconds the addresses of a server and the port of a named instance are cached.
+     *
+     * @return time-to-live in seconds
+     */
+    int getServerResolutionCacheTtl();
+
     /**
      * Sets the behavior for the prepare method. {@link PrepareMethod}
      *
@@ -0,0 +1,42 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+
+/**
+ * Provides an interface to the streams of large values such as varbinary(max), which the server sends in chunks
+ * (partially length-prefixed bytes). The stream returned by {@link java.sql.ResultSet#getBinaryStream(int)} for an
+ * unencrypted varbinary(max) value implements this interface, which reads the value without copying it into
+ * intermediate arrays.
+ */
+public interface ISQLServerPLPInputStream {
+
+    /**
+     * Reads the next part of the value without copying it. The returned buffer is a read-only view over the driver's
+     * receive buffer and holds at most the rest of the current chunk that has been received. The buffer is only valid
+     * until the next read from this stream or until the stream is closed.
+     *
+     * @return a read-only buffer holding the next bytes of the value, or null at the end of the value
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    ByteBuffer readChunk() throws IOException;
+
+    /**
+     * Writes the rest of the value to the given channel directly from the driver's receive buffers.
+     *
+     * @param channel
+     *        the channel to write to
+     * @return the number of bytes written
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    long transferTo(WritableByteChannel channel) throws IOException;
+}
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.sql.ParameterMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLType;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -655,6 +656,21 @@ public interface ISQLServerPreparedStatement extends java.sql.PreparedStatement,
      */
     void setStructured(int parameterIndex, String tvpName, SQLServerDataTable tvpDataTable) throws SQLServerException;
 
+    /**
+     * Sets the columnar data table to populate a table valued parameter.
+     * 
+     * @param parameterIndex
+     *        the first parameter is 1, the second is 2, ...
+     * @param tvpName
+     *        the name of the table valued parameter
+     * @param tvpDataTable
+     *        the source columnar datatable object
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    void setStructured(int parameterIndex, String tvpName,
+            SQLServerColumnarDataTable tvpDataTable) throws SQLServerException;
+
     /**
      * Sets the result set to populate a table-valued parameter.
      * 
@@ -776,4 +792,27 @@ public interface ISQLServerPreparedStatement extends java.sql.PreparedStatement,
      *         when the connection is closed.
      */
     public void setUseFmtOnly(boolean useFmtOnly) throws SQLServerException;
+
+    /**
+     * Executes the SQL query in this <code>PreparedStatement</code> object asynchronously.
+     * <p>
+     * The statement is executed on a driver-managed thread, which is a virtual thread when the JVM supports them. The
+     * statement and its parameters must not be used by the caller until the returned future has completed.
+     *
+     * @return a future that is completed with the <code>ResultSet</code> produced by the query, or completed
+     *         exceptionally with the <code>SQLServerException</code> raised by the execution
+     */
+    CompletableFuture<ISQLServerResultSet> executeQueryAsync();
+
+    /**
+     * Executes the SQL statement in this <code>PreparedStatement</code> object asynchronously. The statement must be
+     * an <code>INSERT</code>, <code>UPDATE</code>, <code>DELETE</code> or a statement that returns nothing.
+     * <p>
+     * The statement is executed on a driver-managed thread, which is a virtual thread when the JVM supports them. The
+     * statement and its parameters must not be used by the caller until the returned future has completed.
+     *
+     * @return a future that is completed with the row count of the statement, or completed exceptionally with the
+     *         <code>SQLServerException</code> raised by the execution
+     */
+    CompletableFuture<Long> executeUpdateAsync();
 }
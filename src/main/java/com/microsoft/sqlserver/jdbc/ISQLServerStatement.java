@@ -6,6 +6,7 @@
 package com.microsoft.sqlserver.jdbc;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -59,4 +60,31 @@ public interface ISQLServerStatement extends java.sql.Statement, Serializable {
      *         if any error occurs
      */
     void setCancelQueryTimeout(int seconds) throws SQLServerException;
+
+    /**
+     * Executes the given SQL statement asynchronously. The statement must return a single <code>ResultSet</code>.
+     * <p>
+     * The statement is executed on a driver-managed thread, which is a virtual thread when the JVM supports them. The
+     * statement must not be used by the caller until the returned future has completed.
+     *
+     * @param sql
+     *        an SQL statement to be sent to the database, typically a static SQL <code>SELECT</code> statement
+     * @return a future that is completed with the <code>ResultSet</code> produced by the query, or completed
+     *         exceptionally with the <code>SQLServerException</code> raised by the execution
+     */
+    CompletableFuture<ISQLServerResultSet> executeQueryAsync(String sql);
+
+    /**
+     * Executes the given SQL statement asynchronously. The statement must be an <code>INSERT</code>,
+     * <code>UPDATE</code>, <code>DELETE</code> or a statement that returns nothing.
+     * <p>
+     * The statement is executed on a driver-managed thread, which is a virtual thread when the JVM supports them. The
+     * statement must not be used by the caller until the returned future has completed.
+     *
+     * @param sql
+     *        an SQL Data Manipulation Language (DML) statement or an SQL statement that returns nothing
+     * @return a future that is completed with the row count of the statement, or completed exceptionally with the
+     *         <code>SQLServerException</code> raised by the execution
+     */
+    CompletableFuture<Long> executeUpdateAsync(String sql);
 }
@@ -6,7 +6,6 @@
 package com.microsoft.sqlserver.jdbc;
 
 import java.lang.Thread.State;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
@@ -445,7 +444,7 @@ final class ReconnectThread extends Thread {
 
         // We need a reference to the SharedTimer outside of the context of the connection
         SharedTimer timer = null;
-        ScheduledFuture<?> timeout = null;
+        TimeoutWheel.Timeout timeout = null;
 
         if (command.getQueryTimeoutSeconds() > 0) {
             timer = SharedTimer.getTimer();
@@ -538,7 +537,7 @@ final class ReconnectThread extends Thread {
         }
 
         if (timeout != null) {
-            timeout.cancel(false);
+            timeout.cancel();
             timeout = null;
         }
 
@@ -7,6 +7,9 @@ package com.microsoft.sqlserver.jdbc;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 
 /**
@@ -19,7 +22,7 @@ import java.io.IOException;
  * PLP format.
  */
 
-class PLPInputStream extends BaseInputStream {
+class PLPInputStream extends BaseInputStream implements ISQLServerPLPInputStream {
     static final long PLP_NULL = 0xFFFFFFFFFFFFFFFFL;
     static final long UNKNOWN_PLP_LEN = 0xFFFFFFFFFFFFFFFEL;
 
@@ -32,6 +35,9 @@ class PLPInputStream extends BaseInputStream {
 
     private byte[] oneByteArray = new byte[1];
 
+    // Keeps the payload behind the last chunk view returned by readChunk from being recycled while it is in use.
+    private TDSPacket chunkViewPacket;
+
     /**
      * Non-destructive method for checking whether a PLP value at the current TDSReader location is null.
      */
@@ -116,13 +122,24 @@ class PLPInputStream extends BaseInputStream {
             while (PLP_EOS != currentChunkRemain) {
                 // If the current byte array isn't large enough to hold
                 // the contents of the current chunk, then make it larger.
+                // Grow geometrically so that a value of many chunks is not
+                // copied once per chunk.
                 if (value.length == bytesRead) {
-                    byte[] newValue = new byte[bytesRead + currentChunkRemain];
+                    int newLength = Math.max(bytesRead + currentChunkRemain,
+                            (int) Math.min(Integer.MAX_VALUE - 8, 2L * bytesRead));
+                    byte[] newValue = new byte[newLength];
                     System.arraycopy(value, 0, newValue, 0, bytesRead);
                     value = newValue;
                 }
 
-                bytesRead += readBytesInternal(value, bytesRead, currentChunkRemain);
+                bytesRead += readBytesInternal(value, bytesRead,
+                        Math.min(currentChunkRemain, value.length - bytesRead));
+            }
+
+            if (value.length != bytesRead) {
+                byte[] newValue = new byte[bytesRead];
+                System.arraycopy(value, 0, newValue, 0, bytesRead);
+                value = newValue;
             }
         }
 
@@ -337,11 +354,7 @@ class PLPInputStream extends BaseInputStream {
         }
 
         if (bytesRead > 0) {
-            if (isReadLimitSet && leftOverReadLimit > 0) {
-                leftOverReadLimit = leftOverReadLimit - bytesRead;
-                if (leftOverReadLimit < 0)
-                    clearCurrentMark();
-            }
+            updateReadLimit(bytesRead);
             return bytesRead;
         }
 
@@ -351,6 +364,90 @@ class PLPInputStream extends BaseInputStream {
         return 0;
     }
 
+    private void updateReadLimit(int bytesRead) {
+        if (isReadLimitSet && leftOverReadLimit > 0) {
+            leftOverReadLimit = leftOverReadLimit - bytesRead;
+            if (leftOverReadLimit < 0)
+                clearCurrentMark();
+        }
+    }
+
+    /**
+     * Reads the next bytes of the current chunk as a view over the packet payload that holds them.
+     *
+     * @return a buffer wrapping the bytes read, or null at EOS
+     */
+    ByteBuffer readChunkView() throws IOException {
+        try {
+            // The following 0-byte read just ensures that the number of bytes
+            // remaining in the current chunk is known.
+            readBytesInternal(null, 0, 0);
+            if (PLP_EOS == currentChunkRemain) {
+                chunkViewPacket = null;
+                return null;
+            }
+
+            ByteBuffer view = tdsReader.readPayloadView(currentChunkRemain);
+            chunkViewPacket = tdsReader.getCurrentPacket();
+            currentChunkRemain -= view.remaining();
+            updateReadLimit(view.remaining());
+            return view;
+        } catch (SQLServerException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    @Override
+    public ByteBuffer readChunk() throws IOException {
+        checkClosed();
+        ByteBuffer view = readChunkView();
+        return (null != view) ? view.slice().asReadOnlyBuffer() : null;
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        if (null == channel)
+            throw new NullPointerException();
+
+        checkClosed();
+
+        long bytesTransferred = 0;
+        ByteBuffer view;
+        while (null != (view = readChunk())) {
+            bytesTransferred += view.remaining();
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        }
+        return bytesTransferred;
+    }
+
+    /**
+     * Writes the rest of the stream to the given output stream directly from the packet payloads, without the
+     * intermediate buffer used by the default implementation. Overrides InputStream.transferTo on Java 9 and later.
+     *
+     * @param out
+     *        the output stream to write to
+     * @return the number of bytes written
+     * @exception IOException
+     *            if an I/O error occurs.
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        if (null == out)
+            throw new NullPointerException();
+
+        checkClosed();
+
+        long bytesTransferred = 0;
+        ByteBuffer view;
+        while (null != (view = readChunkView())) {
+            out.write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+            bytesTransferred += view.remaining();
+        }
+        chunkViewPacket = null;
+        return bytesTransferred;
+    }
+
     /**
      * Marks the current position in this input stream.
      * 
@@ -381,6 +478,7 @@ class PLPInputStream extends BaseInputStream {
             return;
 
         while (skip(tdsReader.getConnection().getTDSPacketSize()) != 0);
+        chunkViewPacket = null;
         // Release ref to tdsReader and parentRS here, shut down stream state.
         closeHelper();
     }
@@ -468,6 +566,18 @@ final class PLPXMLInputStream extends PLPInputStream {
         return -1;
     }
 
+    @Override
+    ByteBuffer readChunkView() throws IOException {
+        // Return the BOM bytes not read yet as a chunk of their own.
+        int bomBytesLeft = bomStream.available();
+        if (0 < bomBytesLeft) {
+            byte[] bom = new byte[bomBytesLeft];
+            bomStream.read(bom, 0, bomBytesLeft);
+            return ByteBuffer.wrap(bom);
+        }
+        return super.readChunkView();
+    }
+
     @Override
     public void mark(int readLimit) {
         bomStream.mark(xmlBOM.length);
@@ -371,6 +371,8 @@ final class Parameter {
                 tvpValue = new TVP(tvpName);
             } else if (value instanceof SQLServerDataTable) {
                 tvpValue = new TVP(tvpName, (SQLServerDataTable) value);
+            } else if (value instanceof SQLServerColumnarDataTable) {
+                tvpValue = new TVP(tvpName, (SQLServerColumnarDataTable) value);
             } else if (value instanceof ResultSet) {
                 tvpValue = new TVP(tvpName, (ResultSet) value);
             } else if (value instanceof ISQLServerDataRecord) {
@@ -0,0 +1,100 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap.Builder;
+
+
+/**
+ * A least recently used cache of parsed SQL text, keyed by the SQL text itself. Strings cache their hash code and
+ * compare quickly, so a lookup does not have to hash the statement again the way a CityHash128Key does.
+ */
+final class ParsedSQLCache implements SQLServerParsedSQLCacheMXBean {
+    /** Default number of statements held by the cache */
+    static final int DEFAULT_CAPACITY = 100;
+
+    /** Name under which the cache statistics are published over JMX */
+    static final String OBJECT_NAME = "com.microsoft.sqlserver.jdbc:type=ParsedSQLCache";
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private final ConcurrentLinkedHashMap<String, ParsedSQLCacheItem> cache;
+
+    ParsedSQLCache(int capacity) {
+        cache = new Builder<String, ParsedSQLCacheItem>().maximumWeightedCapacity(capacity)
+                .listener((sql, item) -> evictionCount.incrementAndGet()).build();
+    }
+
+    ParsedSQLCacheItem get(String sql) {
+        ParsedSQLCacheItem item = cache.get(sql);
+        if (null == item) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return item;
+    }
+
+    void put(String sql, ParsedSQLCacheItem item) {
+        cache.putIfAbsent(sql, item);
+    }
+
+    void setCapacity(int capacity) {
+        cache.setCapacity(capacity);
+    }
+
+    /**
+     * Publishes the statistics of the cache on the platform MBean server, unless they are already published.
+     */
+    void registerMBean() throws SQLServerException {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // registered concurrently by another thread
+        } catch (JMException e) {
+            throw new SQLServerException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return (int) cache.capacity();
+    }
+}
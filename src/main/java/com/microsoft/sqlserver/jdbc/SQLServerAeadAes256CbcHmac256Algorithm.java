@@ -35,6 +35,10 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
 
     final static String AEAD_AES_256_CBC_HMAC_SHA256 = "AEAD_AES_256_CBC_HMAC_SHA256";
     private static final String HMAC_SHA_256 = "HmacSHA256";
+    private static final String AES_CBC_PKCS5_PADDING = "AES/CBC/PKCS5Padding";
+
+    // Generates the IVs of randomized encryption; SecureRandom is safe for use by several threads
+    private static final SecureRandom random = new SecureRandom();
 
     // Stores column encryption key which includes root key and derived keys
     private SQLServerAeadAes256CbcHmac256EncryptionKey columnEncryptionkey;
@@ -61,6 +65,39 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
     private int minimumCipherTextLengthInBytesWithAuthenticationTag = minimumCipherTextLengthInBytesNoAuthenticationTag
             + SQLServerAeadAes256CbcHmac256EncryptionKey.KEYSIZE_IN_BYTES;
 
+    // The derived keys, built once rather than for every cell
+    private final SecretKeySpec encryptionKeySpec;
+    private final SecretKeySpec macKeySpec;
+    private final SecretKeySpec ivKeySpec;
+
+    /*
+     * The Cipher and Mac objects each thread uses with this algorithm. Looking them up from the providers costs far
+     * more than encrypting or decrypting a single cell, and the algorithm is shared by all the connections using the
+     * same column encryption key, so every thread creates them once and then reuses them with the keys already set.
+     */
+    private final ThreadLocal<CryptoContext> cryptoContext = new ThreadLocal<>();
+
+    private static final class CryptoContext {
+        final Cipher cipher;
+        final Mac authenticationMac;
+        final Mac ivMac;
+        final byte[] iv = new byte[16];
+        final byte[] hash = new byte[SQLServerAeadAes256CbcHmac256EncryptionKey.KEYSIZE_IN_BYTES];
+
+        CryptoContext(SQLServerAeadAes256CbcHmac256Algorithm algorithm)
+                throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException {
+            cipher = Cipher.getInstance(AES_CBC_PKCS5_PADDING);
+            authenticationMac = Mac.getInstance(HMAC_SHA_256);
+            authenticationMac.init(algorithm.macKeySpec);
+            if (algorithm.isDeterministic) {
+                ivMac = Mac.getInstance(HMAC_SHA_256);
+                ivMac.init(algorithm.ivKeySpec);
+            } else {
+                ivMac = null;
+            }
+        }
+    }
+
     /**
      * Initializes a new instance of SQLServerAeadAes256CbcHmac256Algorithm with a given key, encryption type and
      * algorithm version
@@ -81,6 +118,20 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         }
         this.algorithmVersion = algorithmVersion;
         version[0] = algorithmVersion;
+
+        encryptionKeySpec = new SecretKeySpec(columnEncryptionkey.getEncryptionKey(), "AES");
+        macKeySpec = new SecretKeySpec(columnEncryptionkey.getMacKey(), HMAC_SHA_256);
+        ivKeySpec = new SecretKeySpec(columnEncryptionkey.getIVKey(), HMAC_SHA_256);
+    }
+
+    private CryptoContext getCryptoContext()
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException {
+        CryptoContext context = cryptoContext.get();
+        if (null == context) {
+            context = new CryptoContext(this);
+            cryptoContext.set(context);
+        }
+        return context;
     }
 
     @Override
@@ -104,22 +155,28 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         // we will generate this initialization vector based whether
         // this encryption type is deterministic
         assert (plainText != null);
-        byte[] iv = new byte[blockSizeInBytes];
-        // Secret/private key to be used in AES encryption
-        SecretKeySpec skeySpec = new SecretKeySpec(columnEncryptionkey.getEncryptionKey(), "AES");
+        CryptoContext context;
+        try {
+            context = getCryptoContext();
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException e) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_EncryptionFailed"));
+            Object[] msgArgs = {e.getMessage()};
+            throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
+        }
+        byte[] iv = context.iv;
 
         if (isDeterministic) {
-            // this method makes sure this is 16 bytes key
+            // the IV is the first 16 bytes of the hash of the plain text
             try {
-                iv = SQLServerSecurityUtility.getHMACWithSHA256(plainText, columnEncryptionkey.getIVKey(),
-                        blockSizeInBytes);
-            } catch (InvalidKeyException | NoSuchAlgorithmException e) {
+                context.ivMac.update(plainText);
+                context.ivMac.doFinal(context.hash, 0);
+            } catch (ShortBufferException e) {
                 MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_EncryptionFailed"));
                 Object[] msgArgs = {e.getMessage()};
                 throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
             }
+            System.arraycopy(context.hash, 0, iv, 0, blockSizeInBytes);
         } else {
-            SecureRandom random = new SecureRandom();
             random.nextBytes(iv);
         }
 
@@ -145,8 +202,8 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         try {
             // initialization vector
             IvParameterSpec ivector = new IvParameterSpec(iv);
-            Cipher encryptCipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            encryptCipher.init(Cipher.ENCRYPT_MODE, skeySpec, ivector);
+            Cipher encryptCipher = context.cipher;
+            encryptCipher.init(Cipher.ENCRYPT_MODE, encryptionKeySpec, ivector);
 
             int count = 0;
             int cipherIndex = cipherStartIndex; // this is where cipherText starts
@@ -155,27 +212,20 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
                 count = (numBlocks - 1) * blockSizeInBytes;
                 cipherIndex += encryptCipher.update(plainText, 0, count, outBuffer, cipherIndex);
             }
-            // doFinal will complete the encryption
-            byte[] buffTmp = encryptCipher.doFinal(plainText, count, plainText.length - count);
-            // Encryption completed
-            System.arraycopy(buffTmp, 0, outBuffer, cipherIndex, buffTmp.length);
+            // doFinal will complete the encryption, directly into the output buffer
+            encryptCipher.doFinal(plainText, count, plainText.length - count, outBuffer, cipherIndex);
 
             if (hasAuthenticationTag) {
-
-                Mac hmac = Mac.getInstance(HMAC_SHA_256);
-                SecretKeySpec initkey = new SecretKeySpec(columnEncryptionkey.getMacKey(), HMAC_SHA_256);
-                hmac.init(initkey);
+                Mac hmac = context.authenticationMac;
                 hmac.update(version, 0, version.length);
                 hmac.update(iv, 0, iv.length);
                 hmac.update(outBuffer, cipherStartIndex, numBlocks * blockSizeInBytes);
                 hmac.update(versionSize, 0, version.length);
-                byte[] hash = hmac.doFinal();
-                // coping the authentication tag in the output buffer which holds cipher text
-                System.arraycopy(hash, 0, outBuffer, hmacStartIndex, authenticationTagLen);
-
+                // the authentication tag is the whole hash, written directly into the output buffer
+                hmac.doFinal(outBuffer, hmacStartIndex);
             }
-        } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException | InvalidKeyException
-                | NoSuchPaddingException | IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+        } catch (InvalidAlgorithmParameterException | InvalidKeyException | IllegalBlockSizeException
+                | BadPaddingException | ShortBufferException e) {
 
             MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_EncryptionFailed"));
             Object[] msgArgs = {e.getMessage()};
@@ -205,8 +255,6 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
     private byte[] decryptData(byte[] cipherText, boolean hasAuthenticationTag) throws SQLServerException {
         assert (cipherText != null);
 
-        byte[] iv = new byte[blockSizeInBytes];
-
         int minimumCipherTextLength = hasAuthenticationTag ? minimumCipherTextLengthInBytesWithAuthenticationTag
                                                            : minimumCipherTextLengthInBytesNoAuthenticationTag;
 
@@ -233,6 +281,16 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         startIndex += 1;
         int authenticationTagOffset = 0;
 
+        CryptoContext context;
+        try {
+            context = getCryptoContext();
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException e) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_DecryptionFailed"));
+            Object[] msgArgs = {e.getMessage()};
+            throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
+        }
+        byte[] iv = context.iv;
+
         // Read authentication tag
         if (hasAuthenticationTag) {
             authenticationTagOffset = startIndex;
@@ -252,8 +310,9 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         if (hasAuthenticationTag) {
             byte[] authenticationTag;
             try {
-                authenticationTag = prepareAuthenticationTag(iv, cipherText, cipherTextOffset, cipherTextCount);
-            } catch (InvalidKeyException | NoSuchAlgorithmException e) {
+                authenticationTag = prepareAuthenticationTag(context, iv, cipherText, cipherTextOffset,
+                        cipherTextCount);
+            } catch (ShortBufferException e) {
                 MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_DecryptionFailed"));
                 Object[] msgArgs = {e.getMessage()};
                 throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
@@ -270,12 +329,14 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
         }
 
         // Decrypt the text and return
-        return decryptData(iv, cipherText, cipherTextOffset, cipherTextCount);
+        return decryptData(context.cipher, iv, cipherText, cipherTextOffset, cipherTextCount);
     }
 
     /**
      * Decrypt data with specified IV
      * 
+     * @param decryptCipher
+     *        the cipher to decrypt with
      * @param iv
      *        initialization vector
      * @param cipherText
@@ -287,21 +348,18 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
      * @return plain text
      * @throws SQLServerException
      */
-    private byte[] decryptData(byte[] iv, byte[] cipherText, int offset, int count) throws SQLServerException {
+    private byte[] decryptData(Cipher decryptCipher, byte[] iv, byte[] cipherText, int offset,
+            int count) throws SQLServerException {
         aeLogger.entering(SQLServerAeadAes256CbcHmac256Algorithm.class.getName(), "decryptData", "Decrypting data.");
         assert (cipherText != null);
         assert (iv != null);
         byte[] plainText = null;
-        // key to be used for decryption
-        SecretKeySpec skeySpec = new SecretKeySpec(columnEncryptionkey.getEncryptionKey(), "AES");
         IvParameterSpec ivector = new IvParameterSpec(iv);
-        Cipher decryptCipher;
         try {
-            decryptCipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            decryptCipher.init(Cipher.DECRYPT_MODE, skeySpec, ivector);
+            decryptCipher.init(Cipher.DECRYPT_MODE, encryptionKeySpec, ivector);
             plainText = decryptCipher.doFinal(cipherText, offset, count);
-        } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException | InvalidKeyException
-                | NoSuchPaddingException | IllegalBlockSizeException | BadPaddingException e) {
+        } catch (InvalidAlgorithmParameterException | InvalidKeyException | IllegalBlockSizeException
+                | BadPaddingException e) {
 
             MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_DecryptionFailed"));
             Object[] msgArgs = {e.getMessage()};
@@ -316,6 +374,8 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
     /**
      * Prepare the authentication tag
      * 
+     * @param context
+     *        the crypto context of the current thread, whose hash buffer receives the tag
      * @param iv
      *        initialization vector
      * @param cipherText
@@ -323,26 +383,20 @@ class SQLServerAeadAes256CbcHmac256Algorithm extends SQLServerEncryptionAlgorith
      * @param length
      *        length of cipher text
      * @return authentication tag
-     * @throws NoSuchAlgorithmException
-     * @throws InvalidKeyException
+     * @throws ShortBufferException
      */
-    private byte[] prepareAuthenticationTag(byte[] iv, byte[] cipherText, int offset,
-            int length) throws NoSuchAlgorithmException, InvalidKeyException {
+    private byte[] prepareAuthenticationTag(CryptoContext context, byte[] iv, byte[] cipherText, int offset,
+            int length) throws ShortBufferException {
         assert (cipherText != null);
-        byte[] computedHash;
-        byte[] authenticationTag = new byte[SQLServerAeadAes256CbcHmac256EncryptionKey.KEYSIZE_IN_BYTES];
-
-        Mac hmac = Mac.getInstance(HMAC_SHA_256);
-        SecretKeySpec key = new SecretKeySpec(columnEncryptionkey.getMacKey(), HMAC_SHA_256);
-        hmac.init(key);
+        Mac hmac = context.authenticationMac;
         hmac.update(version, 0, version.length);
         hmac.update(iv, 0, iv.length);
         hmac.update(cipherText, offset, length);
         hmac.update(versionSize, 0, version.length);
-        computedHash = hmac.doFinal();
-        System.arraycopy(computedHash, 0, authenticationTag, 0, authenticationTag.length);
+        // the authentication tag is the whole hash
+        hmac.doFinal(context.hash, 0);
 
-        return authenticationTag;
+        return context.hash;
 
     }
 
@@ -0,0 +1,57 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.util.ArrayList;
+
+
+/**
+ * Provides the rows of a batch of UPDATE or DELETE statements for the staging table of a
+ * {@link BulkBatchUpdateQuery}: the number of the row in the batch, starting at 1, followed by the values of its
+ * parameters.
+ */
+class SQLServerBulkBatchUpdateRecord extends SQLServerBulkBatchInsertRecord {
+
+    /**
+     * Update serialVersionUID when making changes to this file
+     */
+    private static final long serialVersionUID = 2934208518734506012L;
+
+    private int rowNumber = 0;
+
+    /*
+     * Constructs a SQLServerBulkBatchUpdateRecord with the batch parameter and the number of parameters of each row
+     */
+    SQLServerBulkBatchUpdateRecord(ArrayList<Parameter[]> batchParam, int parameterCount) throws SQLServerException {
+        super(batchParam, null, getValueList(parameterCount), null);
+    }
+
+    private static ArrayList<String> getValueList(int parameterCount) {
+        ArrayList<String> valueList = new ArrayList<>(parameterCount + 1);
+        // The row number replaces this value in getRowData.
+        valueList.add("0");
+        for (int i = 0; i < parameterCount; i++) {
+            valueList.add("?");
+        }
+        return valueList;
+    }
+
+    @Override
+    public Object[] getRowData() throws SQLServerException {
+        Object[] data = super.getRowData();
+        data[0] = rowNumber;
+        return data;
+    }
+
+    @Override
+    public boolean next() throws SQLServerException {
+        if (super.next()) {
+            rowNumber++;
+            return true;
+        }
+        return false;
+    }
+}
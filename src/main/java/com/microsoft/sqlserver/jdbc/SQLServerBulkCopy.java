@@ -45,7 +45,9 @@ import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 import java.util.UUID;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import javax.sql.RowSet;
@@ -105,6 +107,13 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
             this.sourceColumnOrdinal = source;
             this.destinationColumnOrdinal = dest;
         }
+
+        ColumnMapping(ColumnMapping mapping) {
+            this.sourceColumnName = mapping.sourceColumnName;
+            this.sourceColumnOrdinal = mapping.sourceColumnOrdinal;
+            this.destinationColumnName = mapping.destinationColumnName;
+            this.destinationColumnOrdinal = mapping.destinationColumnOrdinal;
+        }
     }
 
     /**
@@ -137,6 +146,17 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
      */
     private boolean ownsConnection;
 
+    /**
+     * Connection string of the destination server, used to open the connections of a parallel bulk copy. Is null when
+     * SQLServerBulkCopy was constructed with an existing connection.
+     */
+    private transient String connectionUrl;
+
+    /**
+     * Number of rows sent to the server by the last writeToServer operation.
+     */
+    private long rowsCopied;
+
     /**
      * Name of destination table on server. If destinationTable has not been set when WriteToServer is called, an
      * Exception is thrown. destinationTable is a three-part name {@code (<database>.<owningschema>.<name>)}. You can
@@ -177,10 +197,15 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
      */
     private transient ResultSet destinationTableMetadata;
 
+    /**
+     * Key of the destination table metadata in the BulkCopyMetadataCache, or null if the metadata is not cached.
+     */
+    private transient String destinationMetadataCacheKey;
+
     /**
      * Metadata for the destination table columns
      */
-    class BulkColumnMetaData {
+    static class BulkColumnMetaData {
         String columnName;
         SSType ssType = null;
         int jdbcType;
@@ -261,7 +286,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
     /**
      * Shared timer
      */
-    private transient ScheduledFuture<?> timeout;
+    private transient TimeoutWheel.Timeout timeout;
 
     /**
      * The maximum temporal precision we can send when using varchar(precision) in bulkcommand, to send a
@@ -319,6 +344,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         }
 
         ownsConnection = true;
+        this.connectionUrl = connectionUrl;
         SQLServerDriver driver = new SQLServerDriver();
         connection = (SQLServerConnection) driver.connect(connectionUrl, null);
         if (null == connection) {
@@ -531,6 +557,16 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         loggerExternal.exiting(loggerClassName, "updateBulkCopyOptions");
     }
 
+    /**
+     * Returns the number of rows sent to the server by the last writeToServer operation. When the operation failed,
+     * this is the number of rows sent before the failure, some of which may have been rolled back.
+     * 
+     * @return Number of rows copied.
+     */
+    public long getRowsCopied() {
+        return rowsCopied;
+    }
+
     /**
      * Copies all rows in the supplied ResultSet to a destination table specified by the destinationTableName property
      * of the SQLServerBulkCopy object.
@@ -603,7 +639,17 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
             throw new SQLServerException(SQLServerException.getErrString("R_unableRetrieveColMeta"), e);
         }
 
-        writeToServer();
+        if (copyOptions.getDegreeOfParallelism() > 1) {
+            BulkDataPartitioner.ResultSetBulkData resultSetData;
+            try {
+                resultSetData = new BulkDataPartitioner.ResultSetBulkData(sourceResultSet, sourceResultSetMetaData);
+            } catch (SQLException e) {
+                throw new SQLServerException(SQLServerException.getErrString("R_unableRetrieveColMeta"), e);
+            }
+            writeToServerInParallel(resultSetData);
+        } else {
+            writeToServer();
+        }
 
         loggerExternal.exiting(loggerClassName, "writeToServer");
     }
@@ -627,7 +673,40 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         serverBulkData = sourceData;
         sourceResultSet = null;
 
-        writeToServer();
+        if (copyOptions.getDegreeOfParallelism() > 1) {
+            writeToServerInParallel(sourceData);
+        } else {
+            writeToServer();
+        }
+
+        loggerExternal.exiting(loggerClassName, "writeToServer");
+    }
+
+    /**
+     * Copies all rows from the supplied ISQLServerBulkColumnarData to a destination table specified by the
+     * destinationTableName property of the SQLServerBulkCopy object. Integer, floating point, Unicode character and
+     * binary columns are encoded directly from the primitive arrays of the source.
+     * 
+     * @param sourceData
+     *        ISQLServerBulkColumnarData to read batches of column values from.
+     * @throws SQLServerException
+     *         If there are any issues encountered when performing the bulk copy operation
+     */
+    public void writeToServer(ISQLServerBulkColumnarData sourceData) throws SQLServerException {
+        loggerExternal.entering(loggerClassName, "writeToServer");
+
+        if (null == sourceData) {
+            throwInvalidArgument("sourceData");
+        }
+
+        serverBulkData = new BulkColumnarCursor(sourceData);
+        sourceResultSet = null;
+
+        if (copyOptions.getDegreeOfParallelism() > 1) {
+            writeToServerInParallel(serverBulkData);
+        } else {
+            writeToServer();
+        }
 
         loggerExternal.exiting(loggerClassName, "writeToServer");
     }
@@ -679,7 +758,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                     }
 
                     // Check whether it is a timeout exception.
-                    if (rootCause instanceof SQLException && timeout != null && timeout.isDone()) {
+                    if (rootCause instanceof SQLException && timeout != null && timeout.isExpired()) {
                         SQLException sqlEx = (SQLException) rootCause;
                         if (sqlEx.getSQLState() != null
                                 && sqlEx.getSQLState().equals(SQLState.STATEMENT_CANCELED.getSQLStateCode())) {
@@ -697,7 +776,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                 }
 
                 if (timeout != null) {
-                    timeout.cancel(true);
+                    timeout.cancel();
                     timeout = null;
                 }
                 return true;
@@ -1655,6 +1734,8 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                     SQLServerException.EXCEPTION_XOPEN_CONNECTION_DOES_NOT_EXIST, false);
         }
 
+        rowsCopied = 0;
+
         long start = System.currentTimeMillis();
         if (loggerExternal.isLoggable(Level.FINER))
             loggerExternal.finer(this.toString() + " Start writeToServer: " + start);
@@ -1665,9 +1746,17 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         // from the same object for both ResultSet and File.
         getSourceMetadata();
 
-        validateColumnMappings();
+        try {
+            validateColumnMappings();
 
-        sendBulkLoadBCP();
+            sendBulkLoadBCP();
+        } catch (SQLServerException e) {
+            // The failure may be caused by a change to the destination table since its metadata was cached
+            if (null != destinationMetadataCacheKey) {
+                BulkCopyMetadataCache.invalidate(destinationMetadataCacheKey);
+            }
+            throw e;
+        }
 
         long end = System.currentTimeMillis();
         if (loggerExternal.isLoggable(Level.FINER)) {
@@ -1677,14 +1766,92 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         }
     }
 
+    /**
+     * The bulk copy operation, split between degreeOfParallelism connections. Each connection copies the blocks of rows
+     * it takes from the shared source with its own SQLServerBulkCopy; the first failure stops the others from taking
+     * further rows.
+     */
+    private void writeToServerInParallel(ISQLServerBulkData sourceData) throws SQLServerException {
+        if (null == connectionUrl) {
+            SQLServerException.makeFromDriverError(null, null,
+                    SQLServerException.getErrString("R_parallelBulkCopyConnection"), null, false);
+        }
+        if (connection.isClosed()) {
+            SQLServerException.makeFromDriverError(null, null, SQLServerException.getErrString("R_connectionIsClosed"),
+                    SQLServerException.EXCEPTION_XOPEN_CONNECTION_DOES_NOT_EXIST, false);
+        }
+
+        rowsCopied = 0;
+        int degreeOfParallelism = copyOptions.getDegreeOfParallelism();
+        if (loggerExternal.isLoggable(Level.FINER)) {
+            loggerExternal.finer(this.toString() + " Start parallel writeToServer on " + degreeOfParallelism
+                    + " connections");
+        }
+
+        SQLServerBulkCopyOptions workerOptions = new SQLServerBulkCopyOptions(copyOptions);
+        workerOptions.setDegreeOfParallelism(1);
+        BulkDataPartitioner partitioner = new BulkDataPartitioner(sourceData);
+        AtomicLong copied = new AtomicLong();
+
+        List<CompletableFuture<Long>> workers = new ArrayList<>(degreeOfParallelism);
+        for (int i = 0; i < degreeOfParallelism; i++) {
+            workers.add(AsyncExecutor.supplyAsync(() -> {
+                try (SQLServerBulkCopy worker = new SQLServerBulkCopy(connectionUrl)) {
+                    worker.destinationTableName = destinationTableName;
+                    worker.copyOptions = workerOptions;
+                    worker.stmtColumnEncriptionSetting = stmtColumnEncriptionSetting;
+                    for (ColumnMapping columnMapping : columnMappings) {
+                        worker.columnMappings.add(new ColumnMapping(columnMapping));
+                    }
+                    try {
+                        worker.writeToServer(partitioner.newPartition());
+                    } finally {
+                        copied.addAndGet(worker.rowsCopied);
+                    }
+                    return worker.rowsCopied;
+                } catch (SQLException | RuntimeException e) {
+                    partitioner.abort();
+                    throw e;
+                }
+            }));
+        }
+
+        SQLServerException failure = null;
+        for (CompletableFuture<Long> worker : workers) {
+            try {
+                worker.join();
+            } catch (CompletionException e) {
+                Throwable cause = (null != e.getCause()) ? e.getCause() : e;
+                SQLServerException workerFailure;
+                if (cause instanceof SQLServerException) {
+                    workerFailure = (SQLServerException) cause;
+                } else {
+                    workerFailure = new SQLServerException(cause.getMessage(), cause);
+                }
+                if (null == failure) {
+                    failure = workerFailure;
+                } else {
+                    failure.addSuppressed(workerFailure);
+                }
+            }
+        }
+
+        rowsCopied = copied.get();
+        if (loggerExternal.isLoggable(Level.FINER)) {
+            loggerExternal.finer(this.toString() + " End parallel writeToServer, rows copied: " + rowsCopied);
+        }
+
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
     private void validateStringBinaryLengths(Object colValue, int srcCol, int destCol) throws SQLServerException {
         int sourcePrecision;
-        int destPrecision = destColumnMetadata.get(destCol).precision;
         int srcJdbcType = srcColumnMetadata.get(srcCol).jdbcType;
         SSType destSSType = destColumnMetadata.get(destCol).ssType;
 
-        if ((Util.isCharType(srcJdbcType) && Util.isCharType(destSSType))
-                || (Util.isBinaryType(srcJdbcType) && Util.isBinaryType(destSSType))) {
+        if (isLengthValidated(srcJdbcType, destSSType)) {
             if (colValue instanceof String) {
                 if (Util.isBinaryType(destSSType)) {
                     // if the dest value is binary and the value is of type string.
@@ -1698,14 +1865,25 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                 return;
             }
 
-            if (sourcePrecision > destPrecision) {
-                String srcType = JDBCType.of(srcJdbcType) + "(" + sourcePrecision + ")";
-                String destType = destSSType.toString() + "(" + destPrecision + ")";
-                String destName = destColumnMetadata.get(destCol).columnName;
-                MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_InvalidDataForAE"));
-                Object[] msgArgs = {srcType, destType, destName};
-                throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
-            }
+            validateSourceLength(sourcePrecision, srcJdbcType, destCol);
+        }
+    }
+
+    private static boolean isLengthValidated(int srcJdbcType, SSType destSSType) {
+        return (Util.isCharType(srcJdbcType) && Util.isCharType(destSSType))
+                || (Util.isBinaryType(srcJdbcType) && Util.isBinaryType(destSSType));
+    }
+
+    private void validateSourceLength(int sourcePrecision, int srcJdbcType, int destCol) throws SQLServerException {
+        int destPrecision = destColumnMetadata.get(destCol).precision;
+        if (sourcePrecision > destPrecision) {
+            SSType destSSType = destColumnMetadata.get(destCol).ssType;
+            String srcType = JDBCType.of(srcJdbcType) + "(" + sourcePrecision + ")";
+            String destType = destSSType.toString() + "(" + destPrecision + ")";
+            String destName = destColumnMetadata.get(destCol).columnName;
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_InvalidDataForAE"));
+            Object[] msgArgs = {srcType, destType, destName};
+            throw new SQLServerException(this, form.format(msgArgs), null, 0, false);
         }
     }
 
@@ -1725,6 +1903,20 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         String metaDataQuery = null;
 
         if (null == destColumnMetadata || destColumnMetadata.isEmpty()) {
+            destinationMetadataCacheKey = null;
+            if (null == destinationTableMetadata && 0 < connection.getBulkCopyMetadataCacheTtl()) {
+                destinationMetadataCacheKey = BulkCopyMetadataCache.getKey(connection, destinationTableName,
+                        stmtColumnEncriptionSetting);
+                BulkCopyMetadataCache.Entry cached = (null != destinationMetadataCacheKey) ? BulkCopyMetadataCache
+                        .get(destinationMetadataCacheKey) : null;
+                if (null != cached) {
+                    destColumnMetadata = cached.columnMetadata;
+                    destColumnCount = cached.columnCount;
+                    destCekTable = null;
+                    return;
+                }
+            }
+
             try {
                 if (null != destinationTableMetadata) {
                     rs = (SQLServerResultSet) destinationTableMetadata;
@@ -1763,6 +1955,15 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                     }
                     destColumnCount = destColumnMetadata.size();
                 }
+
+                // Tables with encrypted columns are not cached, their metadata holds the column encryption keys
+                if (null != destinationMetadataCacheKey && null == destCekTable) {
+                    BulkCopyMetadataCache.put(destinationMetadataCacheKey,
+                            new BulkCopyMetadataCache.Entry(Collections.unmodifiableMap(destColumnMetadata),
+                                    destColumnCount, connection.getBulkCopyMetadataCacheTtl()));
+                } else {
+                    destinationMetadataCacheKey = null;
+                }
             } catch (SQLException e) {
                 // Unable to retrieve metadata for destination
                 throw new SQLServerException(SQLServerException.getErrString("R_unableRetrieveColMeta"), e);
@@ -1777,6 +1978,19 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         }
     }
 
+    /**
+     * Returns the DateTimeFormatter of a column of a CSV file source, looking through the partition of a parallel bulk
+     * copy.
+     */
+    private DateTimeFormatter getColumnDateTimeFormatter(int column) {
+        ISQLServerBulkData sourceData = serverBulkData;
+        if (sourceData instanceof BulkDataPartitioner.Partition) {
+            sourceData = ((BulkDataPartitioner.Partition) sourceData).getSource();
+        }
+        return (sourceData instanceof SQLServerBulkCSVFileRecord) ? ((SQLServerBulkCSVFileRecord) sourceData)
+                .getColumnDateTimeFormatter(column) : null;
+    }
+
     /**
      * Returns the column metadata for the source (and saves it for later). Retrieving source metadata in
      * BulkColumnMetaData object helps to access source metadata from the same place for both ResultSet and File.
@@ -1811,8 +2025,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                                 serverBulkData.getColumnName(currentColumn), true,
                                 serverBulkData.getPrecision(currentColumn), serverBulkData.getScale(currentColumn),
                                 serverBulkData.getColumnType(currentColumn),
-                                ((serverBulkData instanceof SQLServerBulkCSVFileRecord) ? ((SQLServerBulkCSVFileRecord) serverBulkData)
-                                        .getColumnDateTimeFormatter(currentColumn) : null)));
+                                getColumnDateTimeFormatter(currentColumn)));
                     }
                 }
             } else {
@@ -3650,6 +3863,13 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                     );
                 }
             }
+            // Copy from a columnar source.
+            else if (serverBulkData instanceof BulkColumnarCursor) {
+                for (ColumnMapping columnMapping : columnMappings) {
+                    writeColumnarColumn(tdsWriter, (BulkColumnarCursor) serverBulkData,
+                            columnMapping.sourceColumnOrdinal, columnMapping.destinationColumnOrdinal);
+                }
+            }
             // Copy from a file.
             else {
                 // Get all the column values of the current row.
@@ -3683,6 +3903,7 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
                 }
             }
             row++;
+            rowsCopied++;
 
             if (insertRowByRow) {
                 writePacketDataDone(tdsWriter);
@@ -3694,6 +3915,140 @@ public class SQLServerBulkCopy implements java.lang.AutoCloseable, java.io.Seria
         }
     }
 
+    /**
+     * Writes the value of a column of the current row of a columnar source. Values of integer, floating point, Unicode
+     * character and binary columns are encoded straight from the arrays of the source; the other values, and values
+     * sent to encrypted or max columns, are written through writeColumn.
+     */
+    private void writeColumnarColumn(TDSWriter tdsWriter, BulkColumnarCursor cursor, int srcColOrdinal,
+            int destColOrdinal) throws SQLServerException {
+        BulkColumnMetaData srcColumn = srcColumnMetadata.get(srcColOrdinal);
+        BulkColumnMetaData destColumn = destColumnMetadata.get(destColOrdinal);
+        int srcJdbcType = srcColumn.jdbcType;
+        boolean isStreaming;
+        if ((java.sql.Types.NCHAR == srcJdbcType) || (java.sql.Types.NVARCHAR == srcJdbcType)
+                || (java.sql.Types.LONGNVARCHAR == srcJdbcType)) {
+            isStreaming = (DataTypes.SHORT_VARTYPE_MAX_CHARS < srcColumn.precision)
+                    || (DataTypes.SHORT_VARTYPE_MAX_CHARS < destColumn.precision);
+        } else {
+            isStreaming = (DataTypes.SHORT_VARTYPE_MAX_BYTES < srcColumn.precision)
+                    || (DataTypes.SHORT_VARTYPE_MAX_BYTES < destColumn.precision);
+        }
+
+        if (null != destColumn.cryptoMeta
+                || (null != destColumn.encryptionType && copyOptions.isAllowEncryptedValueModifications())
+                || (BulkColumnarCursor.BYTE_COLUMN == BulkColumnarCursor.getColumnKind(srcJdbcType) && isStreaming)) {
+            writeColumn(tdsWriter, srcColOrdinal, destColOrdinal, cursor.getObject(srcColOrdinal), null);
+            return;
+        }
+
+        ISQLServerBulkColumnarData source = cursor.getSource();
+        int row = cursor.getRow();
+        boolean isNull = cursor.isNull(srcColOrdinal);
+        switch (srcJdbcType) {
+            case java.sql.Types.INTEGER:
+            case java.sql.Types.SMALLINT:
+            case java.sql.Types.TINYINT:
+            case java.sql.Types.BIT:
+                if (isNull) {
+                    writeNullToTdsWriter(tdsWriter, srcJdbcType, false);
+                } else {
+                    int value = source.getIntColumn(srcColOrdinal)[row];
+                    if (java.sql.Types.INTEGER == srcJdbcType) {
+                        if (srcColumn.isNullable) {
+                            tdsWriter.writeByte((byte) 0x04);
+                        }
+                        tdsWriter.writeInt(value);
+                    } else if (java.sql.Types.SMALLINT == srcJdbcType) {
+                        if (srcColumn.isNullable) {
+                            tdsWriter.writeByte((byte) 0x02);
+                        }
+                        tdsWriter.writeShort((short) value);
+                    } else {
+                        if (srcColumn.isNullable) {
+                            tdsWriter.writeByte((byte) 0x01);
+                        }
+                        if (java.sql.Types.BIT == srcJdbcType) {
+                            tdsWriter.writeByte((byte) (0 != value ? 1 : 0));
+                        } else {
+                            tdsWriter.writeByte((byte) (value & 0xFF));
+                        }
+                    }
+                }
+                break;
+
+            case java.sql.Types.BIGINT:
+                if (isNull) {
+                    writeNullToTdsWriter(tdsWriter, srcJdbcType, false);
+                } else {
+                    if (srcColumn.isNullable) {
+                        tdsWriter.writeByte((byte) 0x08);
+                    }
+                    tdsWriter.writeLong(source.getLongColumn(srcColOrdinal)[row]);
+                }
+                break;
+
+            case java.sql.Types.DOUBLE:
+            case java.sql.Types.FLOAT:
+            case java.sql.Types.REAL:
+                if (isNull) {
+                    writeNullToTdsWriter(tdsWriter, srcJdbcType, false);
+                } else {
+                    double value = source.getDoubleColumn(srcColOrdinal)[row];
+                    if (java.sql.Types.REAL == srcJdbcType) {
+                        if (srcColumn.isNullable) {
+                            tdsWriter.writeByte((byte) 0x04);
+                        }
+                        tdsWriter.writeReal((float) value);
+                    } else {
+                        if (srcColumn.isNullable) {
+                            tdsWriter.writeByte((byte) 0x08);
+                        }
+                        tdsWriter.writeDouble(value);
+                    }
+                }
+                break;
+
+            case java.sql.Types.NCHAR:
+            case java.sql.Types.NVARCHAR:
+            case java.sql.Types.LONGNVARCHAR:
+                if (isNull) {
+                    writeNullToTdsWriter(tdsWriter, srcJdbcType, false);
+                } else {
+                    int[] offsets = source.getOffsetColumn(srcColOrdinal);
+                    byte[] bytes = source.getByteColumn(srcColOrdinal);
+                    int length = BulkColumnarCursor.writeUTF8AsUTF16(bytes, offsets[row], offsets[row + 1], null);
+                    if (isLengthValidated(srcJdbcType, destColumn.ssType)) {
+                        validateSourceLength(length, srcJdbcType, destColOrdinal);
+                    }
+                    tdsWriter.writeShort((short) (2 * length));
+                    BulkColumnarCursor.writeUTF8AsUTF16(bytes, offsets[row], offsets[row + 1], tdsWriter);
+                }
+                break;
+
+            case java.sql.Types.BINARY:
+            case java.sql.Types.VARBINARY:
+            case java.sql.Types.LONGVARBINARY:
+                if (isNull) {
+                    writeNullToTdsWriter(tdsWriter, srcJdbcType, false);
+                } else {
+                    int[] offsets = source.getOffsetColumn(srcColOrdinal);
+                    int length = offsets[row + 1] - offsets[row];
+                    if (isLengthValidated(srcJdbcType, destColumn.ssType)) {
+                        validateSourceLength(length, srcJdbcType, destColOrdinal);
+                    }
+                    tdsWriter.writeShort((short) length);
+                    tdsWriter.writeBytes(source.getByteColumn(srcColOrdinal), offsets[row], length);
+                }
+                break;
+
+            default:
+                // Non-Unicode character values are converted to the collation of the destination column
+                writeColumn(tdsWriter, srcColOrdinal, destColOrdinal, cursor.getObject(srcColOrdinal), null);
+                break;
+        }
+    }
+
     void setStmtColumnEncriptionSetting(SQLServerStatementColumnEncryptionSetting stmtColumnEncriptionSetting) {
         this.stmtColumnEncriptionSetting = stmtColumnEncriptionSetting;
     }
@@ -89,6 +89,13 @@ public class SQLServerBulkCopyOptions implements Serializable {
      */
     private boolean allowEncryptedValueModifications;
 
+    /**
+     * Number of connections used to copy the rows of a single writeToServer operation in parallel.
+     * 
+     * Default: 1 - the rows are copied over a single connection
+     */
+    private int degreeOfParallelism;
+
     /**
      * Constructs a SQLServerBulkCopySettings class using defaults for all of the settings.
      */
@@ -102,6 +109,26 @@ public class SQLServerBulkCopyOptions implements Serializable {
         tableLock = false;
         useInternalTransaction = false;
         allowEncryptedValueModifications = false;
+        degreeOfParallelism = 1;
+    }
+
+    /**
+     * Constructs a SQLServerBulkCopyOptions class with the same settings as the supplied options.
+     * 
+     * @param options
+     *        the options to copy
+     */
+    SQLServerBulkCopyOptions(SQLServerBulkCopyOptions options) {
+        batchSize = options.batchSize;
+        bulkCopyTimeout = options.bulkCopyTimeout;
+        checkConstraints = options.checkConstraints;
+        fireTriggers = options.fireTriggers;
+        keepIdentity = options.keepIdentity;
+        keepNulls = options.keepNulls;
+        tableLock = options.tableLock;
+        useInternalTransaction = options.useInternalTransaction;
+        allowEncryptedValueModifications = options.allowEncryptedValueModifications;
+        degreeOfParallelism = options.degreeOfParallelism;
     }
 
     /**
@@ -302,4 +329,35 @@ public class SQLServerBulkCopyOptions implements Serializable {
     public void setAllowEncryptedValueModifications(boolean allowEncryptedValueModifications) {
         this.allowEncryptedValueModifications = allowEncryptedValueModifications;
     }
+
+    /**
+     * Returns the number of connections used to copy the rows of a single writeToServer operation.
+     * 
+     * @return Number of connections used to copy the rows.
+     */
+    public int getDegreeOfParallelism() {
+        return degreeOfParallelism;
+    }
+
+    /**
+     * Sets the number of connections used to copy the rows of a single writeToServer operation. When greater than 1,
+     * the source rows are split between that many connections to the destination server, which load them concurrently.
+     * The rows are not copied in source order and each connection commits its own batches, so a failure on one
+     * connection does not roll back the rows already committed by the others. Parallel copy requires a
+     * SQLServerBulkCopy constructed from a connection string, which is used to open the additional connections.
+     * 
+     * @param degreeOfParallelism
+     *        Number of connections used to copy the rows.
+     * @throws SQLServerException
+     *         If the degreeOfParallelism being set is invalid.
+     */
+    public void setDegreeOfParallelism(int degreeOfParallelism) throws SQLServerException {
+        if (degreeOfParallelism >= 1) {
+            this.degreeOfParallelism = degreeOfParallelism;
+        } else {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_invalidPositiveArg"));
+            Object[] msgArgs = {"degreeOfParallelism"};
+            SQLServerException.makeFromDriverError(null, null, form.format(msgArgs), null, false);
+        }
+    }
 }
@@ -2451,6 +2451,20 @@ public class SQLServerCallableStatement extends SQLServerPreparedStatement imple
         loggerExternal.exiting(getClassNameLogging(), "setStructured");
     }
 
+    @Override
+    public final void setStructured(String parameterName, String tvpName,
+            SQLServerColumnarDataTable tvpDataTable) throws SQLServerException {
+        tvpName = getTVPNameIfNull(findColumn(parameterName, CallableStatementGetterSetterMethod.IS_SETTER_METHOD),
+                tvpName);
+        if (loggerExternal.isLoggable(java.util.logging.Level.FINER))
+            loggerExternal.entering(getClassNameLogging(), "setStructured",
+                    new Object[] {parameterName, tvpName, tvpDataTable});
+        checkClosed();
+        setValue(findColumn(parameterName, CallableStatementGetterSetterMethod.IS_SETTER_METHOD), JDBCType.TVP,
+                tvpDataTable, JavaType.TVP, tvpName);
+        loggerExternal.exiting(getClassNameLogging(), "setStructured");
+    }
+
     @Override
     public final void setStructured(String parameterName, String tvpName,
             ResultSet tvpResultSet) throws SQLServerException {
@@ -0,0 +1,630 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Represents an in-memory data table for a table-valued parameter that holds the values of each column in an array of
+ * the column's type, rather than one object array for each row as {@link SQLServerDataTable} does.
+ * <p>
+ * Values of BIGINT, INTEGER, SMALLINT, TINYINT, BIT, DOUBLE, FLOAT and REAL columns are held as primitives, and null
+ * values as a bitmap, so that a large table holds no object for each of these values. The typed setters, such as
+ * {@link #setInt(int, int, int)}, add values without boxing them, and the values are written to the server without
+ * being converted to objects. Values of other columns are converted as by {@link SQLServerDataTable#addRow(Object...)}
+ * and held as objects.
+ * <p>
+ * Rows are numbered from 0 in the order they are added, and columns from 0 in the order their metadata is added.
+ * Unlike {@link SQLServerDataTable}, this class takes no lock, and a table must not be modified by one thread while
+ * it is read or modified by another.
+ */
+public final class SQLServerColumnarDataTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Integer, SQLServerDataColumn> columnMetadata = new LinkedHashMap<>();
+    private final Set<String> columnNames = new HashSet<>();
+    private final List<ColumnValues> columns = new ArrayList<>();
+    private int rowCount = 0;
+    private int capacity = INITIAL_CAPACITY;
+    private String tvpName = null;
+
+    /**
+     * The values of one column, and a bitmap of the rows whose value is null.
+     */
+    abstract static class ColumnValues {
+        final JDBCType jdbcType;
+        private long[] nulls;
+
+        ColumnValues(JDBCType jdbcType, int capacity) {
+            this.jdbcType = jdbcType;
+            this.nulls = new long[(capacity + 63) >>> 6];
+        }
+
+        final boolean isNull(int row) {
+            return 0 != (nulls[row >>> 6] & (1L << row));
+        }
+
+        final void setNull(int row, boolean isNull) {
+            if (isNull) {
+                nulls[row >>> 6] |= (1L << row);
+            } else {
+                nulls[row >>> 6] &= ~(1L << row);
+            }
+        }
+
+        void grow(int capacity) {
+            nulls = Arrays.copyOf(nulls, (capacity + 63) >>> 6);
+        }
+
+        /**
+         * Returns the value of a row that is not null, boxed if the column holds primitives.
+         */
+        abstract Object get(int row);
+
+        /**
+         * Sets the value of a row to a value already converted by {@link SQLServerDataTable#getColumnValue}.
+         */
+        abstract void set(int row, Object value);
+    }
+
+    static final class LongValues extends ColumnValues {
+        long[] values;
+
+        LongValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new long[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Long) value;
+        }
+    }
+
+    static final class IntValues extends ColumnValues {
+        int[] values;
+
+        IntValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new int[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+    }
+
+    static final class ShortValues extends ColumnValues {
+        short[] values;
+
+        ShortValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new short[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Short) value;
+        }
+    }
+
+    static final class BooleanValues extends ColumnValues {
+        boolean[] values;
+
+        BooleanValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new boolean[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Boolean) value;
+        }
+    }
+
+    static final class DoubleValues extends ColumnValues {
+        double[] values;
+
+        DoubleValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new double[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Double) value;
+        }
+    }
+
+    static final class FloatValues extends ColumnValues {
+        float[] values;
+
+        FloatValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new float[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Float) value;
+        }
+    }
+
+    static final class ObjectValues extends ColumnValues {
+        Object[] values;
+
+        ObjectValues(JDBCType jdbcType, int capacity) {
+            super(jdbcType, capacity);
+            values = new Object[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+    }
+
+    /**
+     * Constructs an empty data table.
+     */
+    public SQLServerColumnarDataTable() {
+        // no columns and no rows
+    }
+
+    /**
+     * Clears this data table of its rows and columns.
+     */
+    public void clear() {
+        rowCount = 0;
+        capacity = INITIAL_CAPACITY;
+        columnMetadata.clear();
+        columnNames.clear();
+        columns.clear();
+    }
+
+    /**
+     * Adds meta data for the specified column. The column of the rows already added is null.
+     *
+     * @param columnName
+     *        the name of the column
+     * @param sqlType
+     *        the sql type of the column
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    public void addColumnMetadata(String columnName, int sqlType) throws SQLServerException {
+        addColumnMetadata(new SQLServerDataColumn(columnName, sqlType));
+    }
+
+    /**
+     * Adds meta data for the specified column. The column of the rows already added is null.
+     *
+     * @param column
+     *        the column
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    public void addColumnMetadata(SQLServerDataColumn column) throws SQLServerException {
+        // column names must be unique
+        Util.checkDuplicateColumnName(column.columnName, columnNames);
+        ColumnValues values = newColumnValues(JDBCType.of(column.javaSqlType), capacity);
+        for (int row = 0; row < rowCount; row++) {
+            values.setNull(row, true);
+        }
+        columnMetadata.put(columns.size(), column);
+        columns.add(values);
+    }
+
+    private static ColumnValues newColumnValues(JDBCType jdbcType, int capacity) {
+        switch (jdbcType) {
+            case BIGINT:
+                return new LongValues(jdbcType, capacity);
+            case INTEGER:
+                return new IntValues(jdbcType, capacity);
+            case SMALLINT:
+            case TINYINT:
+                return new ShortValues(jdbcType, capacity);
+            case BIT:
+                return new BooleanValues(jdbcType, capacity);
+            case DOUBLE:
+                return new DoubleValues(jdbcType, capacity);
+            case FLOAT:
+            case REAL:
+                return new FloatValues(jdbcType, capacity);
+            default:
+                return new ObjectValues(jdbcType, capacity);
+        }
+    }
+
+    /**
+     * Adds a row whose columns are all null, to be filled in with the setters of this class.
+     *
+     * @return the number of the row
+     */
+    public int newRow() {
+        if (rowCount == capacity) {
+            capacity = Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+            for (ColumnValues values : columns) {
+                values.grow(capacity);
+            }
+        }
+        int row = rowCount++;
+        for (ColumnValues values : columns) {
+            values.setNull(row, true);
+        }
+        return row;
+    }
+
+    /**
+     * Adds one row of data to the data table.
+     *
+     * @param values
+     *        values to be added in one row of data to the data table.
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    public void addRow(Object... values) throws SQLServerException {
+        if ((null != values) && values.length > columns.size()) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_moreDataInRowThanColumnInTVP"));
+            Object[] msgArgs = {};
+            throw new SQLServerException(null, form.format(msgArgs), null, 0, false);
+        }
+
+        int row = newRow();
+        try {
+            for (int column = 0; column < columns.size(); column++) {
+                setObject(row, column, (null != values && column < values.length) ? values[column] : null);
+            }
+        } catch (SQLServerException e) {
+            // do not leave a partly filled row behind
+            --rowCount;
+            throw e;
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value, converted to the type of the column as by {@link SQLServerDataTable#addRow(Object...)}
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setObject(int row, int column, Object value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        Object columnValue;
+        try {
+            columnValue = SQLServerDataTable.getColumnValue(values.jdbcType, value, columnMetadata.get(column));
+        } catch (NumberFormatException | ClassCastException e) {
+            throw new SQLServerException(SQLServerException.getErrString("R_TVPInvalidColumnValue"), e);
+        }
+
+        if (null == columnValue) {
+            values.setNull(row, true);
+            if (values instanceof ObjectValues) {
+                values.set(row, null);
+            }
+        } else {
+            values.set(row, columnValue);
+            values.setNull(row, false);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row to null.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @throws SQLServerException
+     *         when the column is a sql_variant column
+     */
+    public void setNull(int row, int column) throws SQLServerException {
+        setObject(row, column, null);
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is a BIGINT column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setLong(int row, int column, long value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof LongValues) {
+            ((LongValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else {
+            setObject(row, column, value);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is an INTEGER or BIGINT column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setInt(int row, int column, int value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof IntValues) {
+            ((IntValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else if (values instanceof LongValues) {
+            setLong(row, column, value);
+        } else {
+            setObject(row, column, value);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is a SMALLINT, TINYINT, INTEGER or
+     * BIGINT column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setShort(int row, int column, short value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof ShortValues) {
+            ((ShortValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else {
+            setInt(row, column, value);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is a BIT column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setBoolean(int row, int column, boolean value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof BooleanValues) {
+            ((BooleanValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else {
+            setObject(row, column, value);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is a DOUBLE column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setDouble(int row, int column, double value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof DoubleValues) {
+            ((DoubleValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else {
+            setObject(row, column, value);
+        }
+    }
+
+    /**
+     * Sets the value of a column of a row. The value is not boxed if the column is a FLOAT or REAL column.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @param value
+     *        the value
+     * @throws SQLServerException
+     *         when the value cannot be converted to the type of the column
+     */
+    public void setFloat(int row, int column, float value) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        if (values instanceof FloatValues) {
+            ((FloatValues) values).values[row] = value;
+            values.setNull(row, false);
+        } else {
+            setObject(row, column, value);
+        }
+    }
+
+    /**
+     * Returns the value of a column of a row, boxed if the column holds primitives.
+     *
+     * @param row
+     *        the number of the row
+     * @param column
+     *        the number of the column
+     * @return the value, or null
+     * @throws SQLServerException
+     *         when the row or the column does not exist
+     */
+    public Object getObject(int row, int column) throws SQLServerException {
+        ColumnValues values = getColumnValues(row, column);
+        return values.isNull(row) ? null : values.get(row);
+    }
+
+    private ColumnValues getColumnValues(int row, int column) throws SQLServerException {
+        if (row < 0 || row >= rowCount) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_indexOutOfRange"));
+            Object[] msgArgs = {row};
+            throw new SQLServerException(null, form.format(msgArgs), null, 0, false);
+        }
+        if (column < 0 || column >= columns.size()) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_indexOutOfRange"));
+            Object[] msgArgs = {column};
+            throw new SQLServerException(null, form.format(msgArgs), null, 0, false);
+        }
+        return columns.get(column);
+    }
+
+    /**
+     * Returns the values of a column, for the rows to be written to the server without boxing them.
+     */
+    ColumnValues getColumnValues(int column) {
+        return columns.get(column);
+    }
+
+    /**
+     * Returns the number of rows of the data table.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the <code>java.util.Map</code> object type of columnMetaData for all columns where column indexes are
+     * mapped with their respective {@link SQLServerDataColumn} Java object.
+     *
+     * @return Map
+     */
+    public Map<Integer, SQLServerDataColumn> getColumnMetadata() {
+        return columnMetadata;
+    }
+
+    /**
+     * Returns name of TVP type set by {@link #setTvpName(String)}.
+     *
+     * @return tvpName
+     */
+    public String getTvpName() {
+        return tvpName;
+    }
+
+    /**
+     * Sets the TVP Name.
+     *
+     * @param tvpName
+     *        the name of TVP
+     */
+    public void setTvpName(String tvpName) {
+        this.tvpName = tvpName;
+    }
+}
@@ -32,6 +32,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -297,6 +298,18 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
     /** connect retry interval */
     private int connectRetryInterval = 0;
 
+    /** number of seconds the destination table metadata of a bulk copy is cached, 0 to disable the cache */
+    private int bulkCopyMetadataCacheTtl = SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.getDefaultValue();
+
+    /** size in bytes after which a prepared statement batch request is sent, 0 for no limit */
+    private int batchRequestMaxSize = SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.getDefaultValue();
+
+    /** number of response packets read ahead by a background thread, 0 to disable the read-ahead */
+    private int readAheadPackets = SQLServerDriverIntProperty.READ_AHEAD_PACKETS.getDefaultValue();
+
+    /** number of seconds server addresses and instance ports are cached, 0 to disable the cache */
+    private int serverResolutionCacheTtl = SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.getDefaultValue();
+
     /** flag indicating whether prelogin TLS handshake is required */
     private boolean isTDS8 = false;
 
@@ -528,24 +541,93 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
     /** Keeps track of network idle status */
     transient IdleNetworkTracker idleNetworkTracker = new IdleNetworkTracker();
 
-    /** Size of the parsed SQL-text metadata cache */
-    static final private int PARSED_SQL_CACHE_SIZE = 100;
-
     /** Cache of parsed SQL meta data */
-    static private ConcurrentLinkedHashMap<CityHash128Key, ParsedSQLCacheItem> parsedSQLCache;
+    static final private ParsedSQLCache parsedSQLCache = new ParsedSQLCache(ParsedSQLCache.DEFAULT_CAPACITY);
 
-    static {
-        parsedSQLCache = new Builder<CityHash128Key, ParsedSQLCacheItem>()
-                .maximumWeightedCapacity(PARSED_SQL_CACHE_SIZE).build();
+    /**
+     * Sets the maximum number of statements whose parsed SQL text is kept in the cache shared by all the connections of
+     * the process. The default is 100.
+     * 
+     * @param size
+     *        the number of statements
+     * @throws SQLServerException
+     *         if size is not greater than zero
+     */
+    public static void setParsedSQLCacheSize(int size) throws SQLServerException {
+        if (size <= 0) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_invalidPositiveArg"));
+            Object[] msgArgs = {"size"};
+            throw new SQLServerException(form.format(msgArgs), null);
+        }
+        parsedSQLCache.setCapacity(size);
+    }
+
+    /**
+     * Returns the maximum number of statements whose parsed SQL text is kept in the cache shared by all the
+     * connections of the process.
+     * 
+     * @return the number of statements
+     */
+    public static int getParsedSQLCacheSize() {
+        return parsedSQLCache.getCapacity();
+    }
+
+    /**
+     * Returns the statistics of the cache of parsed SQL text shared by all the connections of the process. The
+     * returned object reflects the current state of the cache whenever it is queried.
+     * 
+     * @return the cache statistics
+     */
+    public static SQLServerParsedSQLCacheMXBean getParsedSQLCacheStatistics() {
+        return parsedSQLCache;
+    }
+
+    /**
+     * Publishes the statistics of the cache of parsed SQL text on the platform MBean server, under the name
+     * com.microsoft.sqlserver.jdbc:type=ParsedSQLCache. Calling this method again has no effect.
+     * 
+     * @throws SQLServerException
+     *         if the statistics cannot be published
+     */
+    public static void registerParsedSQLCacheMBean() throws SQLServerException {
+        parsedSQLCache.registerMBean();
+    }
+
+    /** Cache of SSL contexts shared by connections with the same TLS settings */
+    static final private SSLContextCache sslContextCache = new SSLContextCache();
+
+    static SSLContextCache getSSLContextCache() {
+        return sslContextCache;
+    }
+
+    /**
+     * Returns the statistics of the TLS handshakes of the connections of the process, and of the cache of SSL contexts
+     * they share. The returned object reflects the current state of the cache whenever it is queried.
+     * 
+     * @return the handshake and cache statistics
+     */
+    public static SQLServerSSLContextCacheMXBean getSSLContextCacheStatistics() {
+        return sslContextCache;
+    }
+
+    /**
+     * Publishes the statistics of the TLS handshakes and of the cache of SSL contexts on the platform MBean server,
+     * under the name com.microsoft.sqlserver.jdbc:type=SSLContextCache. Calling this method again has no effect.
+     * 
+     * @throws SQLServerException
+     *         if the statistics cannot be published
+     */
+    public static void registerSSLContextCacheMBean() throws SQLServerException {
+        sslContextCache.registerMBean();
     }
 
     /** Returns prepared statement cache entry if exists, if not parse and create a new one */
-    static ParsedSQLCacheItem getCachedParsedSQL(CityHash128Key key) {
-        return parsedSQLCache.get(key);
+    static ParsedSQLCacheItem getCachedParsedSQL(String sql) {
+        return parsedSQLCache.get(sql);
     }
 
     /** Parses and create a information about parsed SQL text */
-    static ParsedSQLCacheItem parseAndCacheSQL(CityHash128Key key, String sql) throws SQLServerException {
+    static ParsedSQLCacheItem parseAndCacheSQL(String sql) throws SQLServerException {
         JDBCSyntaxTranslator translator = new JDBCSyntaxTranslator();
 
         String parsedSql = translator.translate(sql);
@@ -555,7 +637,7 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
 
         ParsedSQLCacheItem cacheItem = new ParsedSQLCacheItem(parsedSql, parameterPositions, procName,
                 returnValueSyntax);
-        parsedSQLCache.putIfAbsent(key, cacheItem);
+        parsedSQLCache.put(sql, cacheItem);
         return cacheItem;
     }
 
@@ -573,6 +655,8 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
     private ConcurrentLinkedHashMap<CityHash128Key, PreparedStatementHandle> preparedStatementHandleCache;
     /** Cache of prepared statement parameter metadata */
     private ConcurrentLinkedHashMap<CityHash128Key, SQLServerParameterMetaData> parameterMetadataCache;
+    /** Statements executed on the connections of the built-in pool that opened this connection, if it records them */
+    private volatile HotStatementSet hotStatementSet;
     /**
      * Checks whether statement pooling is enabled or disabled. The default is set to true;
      */
@@ -860,6 +944,32 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
         this.useBulkCopyForBatchInsert = useBulkCopyForBatchInsert;
     }
 
+    /**
+     * boolean value for deciding if the driver should use bulk copy API for batch updates and deletes.
+     */
+    private boolean useBulkCopyForBatchUpdate;
+
+    /**
+     * Returns the useBulkCopyForBatchUpdate value.
+     * 
+     * @return flag for using Bulk Copy API for batch update and delete operations.
+     */
+    @Override
+    public boolean getUseBulkCopyForBatchUpdate() {
+        return useBulkCopyForBatchUpdate;
+    }
+
+    /**
+     * Specifies the flag for using Bulk Copy API for batch update and delete operations.
+     * 
+     * @param useBulkCopyForBatchUpdate
+     *        boolean value for useBulkCopyForBatchUpdate.
+     */
+    @Override
+    public void setUseBulkCopyForBatchUpdate(boolean useBulkCopyForBatchUpdate) {
+        this.useBulkCopyForBatchUpdate = useBulkCopyForBatchUpdate;
+    }
+
     /** user set TNIR flag */
     boolean userSetTNIR = true;
 
@@ -2610,6 +2720,84 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 }
                 useFmtOnly = isBooleanPropertyOn(sPropKey, sPropValue);
 
+                sPropKey = SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.toString();
+                sPropValue = activeConnectionProperties.getProperty(sPropKey);
+                if (null != sPropValue && sPropValue.length() > 0) {
+                    try {
+                        bulkCopyMetadataCacheTtl = Integer.parseInt(sPropValue);
+                        if (!SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL
+                                .isValidValue(bulkCopyMetadataCacheTtl)) {
+                            MessageFormat form = new MessageFormat(
+                                    SQLServerException.getErrString("R_invalidBulkCopyMetadataCacheTtl"));
+                            Object[] msgArgs = {sPropValue};
+                            SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                        }
+                    } catch (NumberFormatException e) {
+                        MessageFormat form = new MessageFormat(
+                                SQLServerException.getErrString("R_invalidBulkCopyMetadataCacheTtl"));
+                        Object[] msgArgs = {sPropValue};
+                        SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                    }
+                }
+
+                sPropKey = SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.toString();
+                sPropValue = activeConnectionProperties.getProperty(sPropKey);
+                if (null != sPropValue && sPropValue.length() > 0) {
+                    try {
+                        batchRequestMaxSize = Integer.parseInt(sPropValue);
+                        if (!SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.isValidValue(batchRequestMaxSize)) {
+                            MessageFormat form = new MessageFormat(
+                                    SQLServerException.getErrString("R_invalidBatchRequestMaxSize"));
+                            Object[] msgArgs = {sPropValue};
+                            SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                        }
+                    } catch (NumberFormatException e) {
+                        MessageFormat form = new MessageFormat(
+                                SQLServerException.getErrString("R_invalidBatchRequestMaxSize"));
+                        Object[] msgArgs = {sPropValue};
+                        SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                    }
+                }
+
+                sPropKey = SQLServerDriverIntProperty.READ_AHEAD_PACKETS.toString();
+                sPropValue = activeConnectionProperties.getProperty(sPropKey);
+                if (null != sPropValue && sPropValue.length() > 0) {
+                    try {
+                        readAheadPackets = Integer.parseInt(sPropValue);
+                        if (!SQLServerDriverIntProperty.READ_AHEAD_PACKETS.isValidValue(readAheadPackets)) {
+                            MessageFormat form = new MessageFormat(
+                                    SQLServerException.getErrString("R_invalidReadAheadPackets"));
+                            Object[] msgArgs = {sPropValue};
+                            SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                        }
+                    } catch (NumberFormatException e) {
+                        MessageFormat form = new MessageFormat(
+                                SQLServerException.getErrString("R_invalidReadAheadPackets"));
+                        Object[] msgArgs = {sPropValue};
+                        SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                    }
+                }
+
+                sPropKey = SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.toString();
+                sPropValue = activeConnectionProperties.getProperty(sPropKey);
+                if (null != sPropValue && sPropValue.length() > 0) {
+                    try {
+                        serverResolutionCacheTtl = Integer.parseInt(sPropValue);
+                        if (!SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL
+                                .isValidValue(serverResolutionCacheTtl)) {
+                            MessageFormat form = new MessageFormat(
+                                    SQLServerException.getErrString("R_invalidServerResolutionCacheTtl"));
+                            Object[] msgArgs = {sPropValue};
+                            SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                        }
+                    } catch (NumberFormatException e) {
+                        MessageFormat form = new MessageFormat(
+                                SQLServerException.getErrString("R_invalidServerResolutionCacheTtl"));
+                        Object[] msgArgs = {sPropValue};
+                        SQLServerException.makeFromDriverError(this, this, form.format(msgArgs), null, false);
+                    }
+                }
+
                 // Must be set before DISABLE_STATEMENT_POOLING
                 sPropKey = SQLServerDriverIntProperty.STATEMENT_POOLING_CACHE_SIZE.toString();
                 if (activeConnectionProperties.getProperty(sPropKey) != null
@@ -3023,6 +3211,12 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                     useBulkCopyForBatchInsert = isBooleanPropertyOn(sPropKey, sPropValue);
                 }
 
+                sPropKey = SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.toString();
+                sPropValue = activeConnectionProperties.getProperty(sPropKey);
+                if (null != sPropValue) {
+                    useBulkCopyForBatchUpdate = isBooleanPropertyOn(sPropKey, sPropValue);
+                }
+
                 sPropKey = SQLServerDriverStringProperty.SSL_PROTOCOL.toString();
                 sPropValue = activeConnectionProperties.getProperty(sPropKey);
                 if (null == sPropValue) {
@@ -3438,6 +3632,12 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 int driverErrorCode = e.getDriverErrorCode();
                 sqlServerError = e.getSQLServerError();
 
+                // the server or instance may have moved, so resolve it again on the next attempt
+                if (null != currentConnectPlaceHolder && isServerUnreachable(e)) {
+                    ServerResolutionCache.invalidate(currentConnectPlaceHolder.getParsedServerName(),
+                            currentConnectPlaceHolder.getInstanceName());
+                }
+
                 if (SQLServerException.LOGON_FAILED == errorCode // logon failed, ie bad password
                         || SQLServerException.PASSWORD_EXPIRED == errorCode // password expired
                         || SQLServerException.USER_ACCOUNT_LOCKED == errorCode // user account locked
@@ -7510,6 +7710,9 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
     /** original useBulkCopyForBatchInsert flag */
     private boolean originalUseBulkCopyForBatchInsert;
 
+    /** original useBulkCopyForBatchUpdate flag */
+    private boolean originalUseBulkCopyForBatchUpdate;
+
     /** original SqlWarnings */
     private volatile SQLWarning originalSqlWarnings;
 
@@ -7545,6 +7748,7 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 originalEnablePrepareOnFirstPreparedStatementCall = getEnablePrepareOnFirstPreparedStatementCall();
                 originalSCatalog = sCatalog;
                 originalUseBulkCopyForBatchInsert = getUseBulkCopyForBatchInsert();
+                originalUseBulkCopyForBatchUpdate = getUseBulkCopyForBatchUpdate();
                 originalSqlWarnings = sqlWarnings;
                 openStatements = new LinkedList<>();
                 originalUseFmtOnly = useFmtOnly;
@@ -7605,6 +7809,9 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 if (getUseBulkCopyForBatchInsert() != originalUseBulkCopyForBatchInsert) {
                     setUseBulkCopyForBatchInsert(originalUseBulkCopyForBatchInsert);
                 }
+                if (getUseBulkCopyForBatchUpdate() != originalUseBulkCopyForBatchUpdate) {
+                    setUseBulkCopyForBatchUpdate(originalUseBulkCopyForBatchUpdate);
+                }
                 if (delayLoadingLobs != originalDelayLoadingLobs) {
                     setDelayLoadingLobs(originalDelayLoadingLobs);
                 }
@@ -7783,8 +7990,10 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
         }
     }
 
+    private static final int BROWSER_PORT = 1434;
+
     /**
-     * Determines the listening port of a named SQL Server instance.
+     * Determines the listening port of a named SQL Server instance, from the server resolution cache if it is enabled.
      * 
      * @param server
      *        the server name
@@ -7793,9 +8002,49 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
      * @throws SQLServerException
      * @return the instance's port
      */
-    private static final int BROWSER_PORT = 1434;
-
     String getInstancePort(String server, String instanceName) throws SQLServerException {
+        if (0 == serverResolutionCacheTtl) {
+            return queryInstancePort(server, instanceName);
+        }
+
+        ServerResolutionCache.Entry<String> instancePort = ServerResolutionCache.getInstancePort(server,
+                instanceName, serverResolutionCacheTtl, () -> queryInstancePort(server, instanceName));
+        if (null != instancePort.failure) {
+            // the resolver only fails with SQLServerException
+            throw (SQLServerException) instancePort.failure;
+        }
+        return instancePort.value;
+    }
+
+    /**
+     * Returns whether a login failed because the server could not be reached, rather than being refused by the server
+     * or failing after the socket was connected. Only such failures may be caused by a moved server or instance.
+     */
+    static boolean isServerUnreachable(SQLServerException e) {
+        int driverErrorCode = e.getDriverErrorCode();
+        if (SQLServerException.DRIVER_ERROR_IO_FAILED == driverErrorCode
+                || SQLServerException.ERROR_SOCKET_TIMEOUT == driverErrorCode) {
+            return true;
+        }
+        // failures to open the socket or to query the SQL Server Browser, with their X/Open or SQL99 state
+        String state = e.getSQLState();
+        return SQLServerException.DRIVER_ERROR_NONE == driverErrorCode && 0 == e.getErrorCode()
+                && (SQLServerException.EXCEPTION_XOPEN_CONNECTION_CANT_ESTABLISH.equals(state)
+                        || SQLServerException.mapFromXopen(SQLServerException.EXCEPTION_XOPEN_CONNECTION_CANT_ESTABLISH)
+                                .equals(state));
+    }
+
+    /**
+     * Returns the addresses of a host, from the server resolution cache if it is enabled.
+     */
+    InetAddress[] getAllByName(String host) throws UnknownHostException {
+        return ServerResolutionCache.getAllByName(host, serverResolutionCacheTtl);
+    }
+
+    /**
+     * Queries the SQL Server Browser for the listening port of a named SQL Server instance.
+     */
+    private String queryInstancePort(String server, String instanceName) throws SQLServerException {
         String browserResult = null;
         DatagramSocket datagramSocket = null;
         String lastErrorMessage = null;
@@ -7824,7 +8073,7 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 if (multiSubnetFailover) {
                     // If instance name is specified along with multiSubnetFailover, we get all IPs resolved by server
                     // name
-                    InetAddress[] inetAddrs = InetAddress.getAllByName(server);
+                    InetAddress[] inetAddrs = getAllByName(server);
                     assert null != inetAddrs;
                     for (InetAddress inetAddr : inetAddrs) {
                         // Send the UDP request
@@ -7843,7 +8092,7 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
                 } else {
                     // If instance name is not specified along with multiSubnetFailover, we resolve only the first IP
                     // for server name
-                    InetAddress inetAddr = InetAddress.getByName(server);
+                    InetAddress inetAddr = getAllByName(server)[0];
 
                     assert null != inetAddr;
                     // Send the UDP request
@@ -8143,6 +8392,114 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
         }
     }
 
+    /**
+     * Pipelines the clean-up of discarded prepared statement handles with the execution of a prepared statement if the
+     * batching threshold has been reached. An un-prepare RPC is written for each discarded handle ahead of the
+     * statement's own RPC in the same request, which saves the round trip of a separate sp_unprepare batch. The
+     * responses to these RPCs must be consumed with {@link #processPipelinedUnprepareResponses} before the response to
+     * the statement's RPC is processed.
+     *
+     * If the request is not sent, the handles must be handed back with {@link #requeueUnprepareStatementHandles}.
+     *
+     * @param tdsWriter
+     *        the writer of the request that the un-prepare RPCs are added to
+     * @return the handles whose un-prepare RPCs were written
+     * @throws SQLServerException
+     */
+    final List<PreparedStatementHandle> writePipelinedUnprepareRequests(
+            TDSWriter tdsWriter) throws SQLServerException {
+        if (isSessionUnAvailable()
+                || getServerPreparedStatementDiscardThreshold() >= getDiscardedServerPreparedStatementCount())
+            return Collections.emptyList();
+
+        List<PreparedStatementHandle> handlesRemoved = new ArrayList<>();
+        PreparedStatementHandle statementHandle = null;
+
+        try {
+            while (null != (statementHandle = discardedPreparedStatementHandles.poll())) {
+                // Decrement threshold counter
+                discardedPreparedStatementHandleCount.decrementAndGet();
+                handlesRemoved.add(statementHandle);
+
+                tdsWriter.writeShort((short) 0xFFFF); // procedure name length -> use ProcIDs
+                tdsWriter.writeShort(
+                        statementHandle.isDirectSql() ? TDS.PROCID_SP_UNPREPARE : TDS.PROCID_SP_CURSORUNPREPARE);
+                tdsWriter.writeByte((byte) 0); // RPC procedure option 1
+                tdsWriter.writeByte((byte) 0); // RPC procedure option 2
+                tdsWriter.sendEnclavePackage(null, null);
+                tdsWriter.writeRPCInt(null, statementHandle.getHandle(), false);
+                tdsWriter.writeByte((byte) SQLServerPreparedStatement.NBATCH_STATEMENT_DELIMITER);
+            }
+        } catch (SQLServerException e) {
+            requeueUnprepareStatementHandles(handlesRemoved);
+            throw e;
+        }
+
+        if (loggerExternal.isLoggable(java.util.logging.Level.FINER))
+            loggerExternal.finer(this + ": Pipelining un-prepare of handle count:" + handlesRemoved.size());
+
+        return handlesRemoved;
+    }
+
+    /**
+     * Puts back on the discard queue the handles whose pipelined un-prepare RPCs were written to a request that was
+     * not sent, so that they are un-prepared with a later request instead of staying prepared on the server.
+     *
+     * @param statementHandles
+     *        the handles returned by {@link #writePipelinedUnprepareRequests}
+     */
+    final void requeueUnprepareStatementHandles(List<PreparedStatementHandle> statementHandles) {
+        for (PreparedStatementHandle statementHandle : statementHandles) {
+            enqueueUnprepareStatementHandle(statementHandle);
+        }
+    }
+
+    /**
+     * Consumes the responses to un-prepare RPCs written by {@link #writePipelinedUnprepareRequests}, leaving the reader
+     * positioned at the response to the RPC that followed them. As with batched un-prepares, errors are logged and
+     * ignored since sp_unprepare can fail if the statement is already removed.
+     *
+     * @param tdsReader
+     *        the reader of the response
+     * @param unprepareCount
+     *        the number of un-prepare RPCs that were written ahead of the statement
+     * @throws SQLServerException
+     */
+    final void processPipelinedUnprepareResponses(TDSReader tdsReader,
+            final int unprepareCount) throws SQLServerException {
+        if (0 == unprepareCount)
+            return;
+
+        final class PipelinedUnprepareHandler extends TDSTokenHandler {
+            private int remaining = unprepareCount;
+
+            PipelinedUnprepareHandler() {
+                super("PipelinedUnprepareHandler");
+            }
+
+            @Override
+            boolean onDone(TDSReader tdsReader) throws SQLServerException {
+                boolean isDoneProc = TDS.TDS_DONEPROC == tdsReader.peekTokenType();
+                super.onDone(tdsReader);
+
+                // Each un-prepare RPC ends with a DONEPROC token.
+                return !isDoneProc || 0 < --remaining;
+            }
+
+            @Override
+            boolean onError(TDSReader tdsReader) throws SQLServerException {
+                SQLServerError error = new SQLServerError();
+                error.setFromTDS(tdsReader);
+                if (loggerExternal.isLoggable(java.util.logging.Level.FINER))
+                    loggerExternal.finer(SQLServerConnection.this + ": Error (ignored) un-preparing handle: "
+                            + error.getErrorMessage());
+                return true;
+            }
+        }
+
+        TDSParser.parse(tdsReader, new PipelinedUnprepareHandler());
+    }
+
     @Override
     public boolean getDisableStatementPooling() {
         return this.disableStatementPooling;
@@ -8236,6 +8593,23 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
         parameterMetadataCache.put(key, pmd);
     }
 
+    /** Sets the set of statements that records the prepared statements executed on this connection */
+    final void setHotStatementSet(HotStatementSet hotStatementSet) {
+        this.hotStatementSet = hotStatementSet;
+    }
+
+    /** Returns whether executions of prepared statements are recorded for the pool this connection belongs to */
+    final boolean isRecordingHotStatements() {
+        return null != hotStatementSet && isStatementPoolingEnabled();
+    }
+
+    /** Records an execution of a prepared statement if statement pooling is enabled and the pool records them */
+    final void recordHotStatement(CityHash128Key key, String sql, String typeDefinitions) {
+        HotStatementSet statements = hotStatementSet;
+        if (null != statements && isStatementPoolingEnabled())
+            statements.record(key, sql, typeDefinitions);
+    }
+
     /** Gets or creates prepared statement handle cache entry if statement pooling is enabled */
     final PreparedStatementHandle getCachedPreparedStatementHandle(CityHash128Key key) {
         if (!isStatementPoolingEnabled())
@@ -8503,6 +8877,36 @@ public class SQLServerConnection implements ISQLServerConnection, java.io.Serial
         return this.trustedServerNameAE;
     }
 
+    int getBulkCopyMetadataCacheTtl() {
+        return bulkCopyMetadataCacheTtl;
+    }
+
+    /**
+     * Returns the login of the connection if it authenticated with SQL Server authentication, or null if the login is
+     * established by Windows authentication, Kerberos or Microsoft Entra ID and is not given by the user property.
+     */
+    String getSqlServerLogin() {
+        if (integratedSecurity || null != accessTokenInByte || null != accessTokenCallback
+                || hasAccessTokenCallbackClass
+                || !(SqlAuthentication.NOT_SPECIFIED.toString().equalsIgnoreCase(authenticationString)
+                        || SqlAuthentication.SQLPASSWORD.toString().equalsIgnoreCase(authenticationString))) {
+            return null;
+        }
+        return activeConnectionProperties.getProperty(SQLServerDriverStringProperty.USER.toString());
+    }
+
+    int getBatchRequestMaxSize() {
+        return batchRequestMaxSize;
+    }
+
+    int getReadAheadPackets() {
+        return readAheadPackets;
+    }
+
+    int getServerResolutionCacheTtl() {
+        return serverResolutionCacheTtl;
+    }
+
     @Override
     public void setIPAddressPreference(String iPAddressPreference) {
         activeConnectionProperties.setProperty(SQLServerDriverStringProperty.IPADDRESS_PREFERENCE.toString(),
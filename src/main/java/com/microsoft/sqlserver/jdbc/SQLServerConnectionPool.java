@@ -0,0 +1,510 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+
+
+/**
+ * The connection pool built into {@link SQLServerConnectionPoolDataSource}.
+ *
+ * The pool holds {@link SQLServerPooledConnection}s and hands out their logical connections. Borrowing and returning a
+ * connection does not take a lock: each pooled connection carries its own state, which is claimed with a
+ * compare-and-set, and a thread first tries the connection it used last. A connection is not validated with a test
+ * query when it is borrowed. Instead the pooled connection flags the next request with a connection reset, as it does
+ * for external pool managers, and a connection that fails is evicted when its error is reported. Connections that have
+ * outlived their maximum lifetime or have been idle too long are closed by a periodic task on the {@link SharedTimer}.
+ *
+ * When statement warm-up is enabled, the pool records the prepared statements executed on its connections in a
+ * {@link HotStatementSet} and prepares the most frequent ones on each connection it opens before handing it out.
+ */
+final class SQLServerConnectionPool {
+    private static final Logger logger = Logger
+            .getLogger("com.microsoft.sqlserver.jdbc.internals.SQLServerConnectionPool");
+
+    private static final AtomicInteger basePoolID = new AtomicInteger(0);
+
+    private static final int STATE_IDLE = 0;
+    private static final int STATE_IN_USE = 1;
+    private static final int STATE_REMOVED = 2;
+
+    private final String traceID;
+    private final SQLServerConnectionPoolDataSource dataSource;
+    private final int maxSize;
+    private final long maxLifetimeMillis;
+    private final long idleTimeoutMillis;
+    private final long waitTimeoutMillis;
+
+    private final CopyOnWriteArrayList<PoolEntry> entries = new CopyOnWriteArrayList<>();
+
+    // The number of physical connections in the pool or being opened for it.
+    private final AtomicInteger slotCount = new AtomicInteger();
+
+    // Bounds the number of connections that are in use or being opened.
+    private final Semaphore permits;
+
+    private final ThreadLocal<WeakReference<PoolEntry>> lastUsedEntry = new ThreadLocal<>();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong affinityHitCount = new AtomicLong();
+    private final AtomicLong createCount = new AtomicLong();
+    private final AtomicLong evictCount = new AtomicLong();
+    private final AtomicLong waitTimeoutCount = new AtomicLong();
+
+    // The statements prepared on new connections, or null if statement warm-up is disabled.
+    private final HotStatementSet hotStatements;
+
+    private final SharedTimer timer;
+    private final ScheduledFuture<?> evictionTask;
+
+    private volatile boolean closed = false;
+
+    /**
+     * A pooled connection and its pool state. The entry listens to the events of its pooled connection so that it is
+     * returned to the pool when its logical connection is closed and evicted when the connection fails.
+     */
+    private final class PoolEntry implements ConnectionEventListener {
+        private final SQLServerPooledConnection pooledConnection;
+        private final AtomicInteger state = new AtomicInteger(STATE_IN_USE);
+        private final long createdTime = System.currentTimeMillis();
+        private volatile long lastReturnedTime = createdTime;
+
+        PoolEntry(SQLServerPooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        boolean isExpired(long now) {
+            return 0 < maxLifetimeMillis && now - createdTime >= maxLifetimeMillis;
+        }
+
+        boolean isIdleTooLong(long now) {
+            return 0 < idleTimeoutMillis && now - lastReturnedTime >= idleTimeoutMillis;
+        }
+
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            if (closed || isExpired(System.currentTimeMillis())) {
+                remove(this);
+            } else {
+                lastReturnedTime = System.currentTimeMillis();
+                state.set(STATE_IDLE);
+            }
+            permits.release();
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(SQLServerConnectionPool.this + " evicting " + pooledConnection + " after error: "
+                        + event.getSQLException());
+            boolean wasInUse = STATE_IN_USE == state.get();
+            remove(this);
+            if (wasInUse) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param dataSource
+     *        the data source that opens the physical connections
+     * @param maxSize
+     *        the maximum number of connections
+     * @param maxLifetimeSeconds
+     *        the maximum lifetime of a connection in seconds, or 0 for no limit
+     * @param idleTimeoutSeconds
+     *        the time in seconds after which an idle connection is closed, or 0 to keep idle connections open
+     * @param waitTimeoutSeconds
+     *        the time in seconds to wait for a connection when all connections are in use, or 0 to wait indefinitely
+     * @param warmupStatementCount
+     *        the number of most frequently executed statements to prepare on each new connection, or 0 to disable
+     *        statement warm-up
+     */
+    SQLServerConnectionPool(SQLServerConnectionPoolDataSource dataSource, int maxSize, int maxLifetimeSeconds,
+            int idleTimeoutSeconds, int waitTimeoutSeconds, int warmupStatementCount) {
+        this.traceID = "SQLServerConnectionPool:" + basePoolID.incrementAndGet();
+        this.dataSource = dataSource;
+        this.maxSize = maxSize;
+        this.maxLifetimeMillis = TimeUnit.SECONDS.toMillis(maxLifetimeSeconds);
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(waitTimeoutSeconds);
+        this.permits = new Semaphore(maxSize);
+        this.hotStatements = (0 < warmupStatementCount) ? new HotStatementSet(warmupStatementCount) : null;
+
+        long evictionPeriodSeconds = 0;
+        if (0 < idleTimeoutSeconds || 0 < maxLifetimeSeconds) {
+            int shortest = (0 < idleTimeoutSeconds && 0 < maxLifetimeSeconds) ? Math.min(idleTimeoutSeconds,
+                    maxLifetimeSeconds) : Math.max(idleTimeoutSeconds, maxLifetimeSeconds);
+            evictionPeriodSeconds = Math.max(1, shortest / 2);
+        }
+        if (0 < evictionPeriodSeconds) {
+            this.timer = SharedTimer.getTimer();
+            this.evictionTask = timer.scheduleWithFixedDelay(this::evictConnections, evictionPeriodSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            this.timer = null;
+            this.evictionTask = null;
+        }
+
+        if (logger.isLoggable(Level.FINER))
+            logger.finer(toString() + " created with maxSize:" + maxSize + " maxLifetime:" + maxLifetimeSeconds
+                    + " idleTimeout:" + idleTimeoutSeconds + " warmupStatementCount:" + warmupStatementCount);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection if no idle connection is available and the
+     * pool is not full. If the pool is full, waits for a connection to be returned.
+     *
+     * @return a logical connection, which returns its physical connection to the pool when closed
+     * @throws SQLServerException
+     *         if the pool is closed, no connection became available in time, or opening a connection failed
+     */
+    Connection getConnection() throws SQLServerException {
+        checkClosed();
+        acquirePermit();
+
+        boolean borrowed = false;
+        try {
+            Connection con = borrow();
+            borrowed = true;
+            return con;
+        } catch (SQLServerException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLServerException(e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        } finally {
+            if (!borrowed) {
+                permits.release();
+            }
+        }
+    }
+
+    private Connection borrow() throws SQLException {
+        borrowCount.incrementAndGet();
+
+        // Prefer the connection this thread used last; it is likely still idle and its buffers warm.
+        WeakReference<PoolEntry> lastUsedRef = lastUsedEntry.get();
+        PoolEntry lastUsed = (null != lastUsedRef) ? lastUsedRef.get() : null;
+        if (null != lastUsed && lastUsed.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+            Connection con = activate(lastUsed);
+            if (null != con) {
+                affinityHitCount.incrementAndGet();
+                return con;
+            }
+        }
+
+        for (PoolEntry entry : entries) {
+            if (entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+                Connection con = activate(entry);
+                if (null != con) {
+                    return con;
+                }
+            }
+        }
+
+        // The permit already bounds the connections in use, so the slot is taken even if prewarm has reserved the
+        // remaining ones; prewarm gives up its surplus connections instead.
+        slotCount.incrementAndGet();
+        SQLServerPooledConnection pooledConnection;
+        try {
+            pooledConnection = openPooledConnection();
+        } catch (SQLException | RuntimeException e) {
+            slotCount.decrementAndGet();
+            throw e;
+        }
+        PoolEntry entry = addEntry(pooledConnection, STATE_IN_USE);
+        Connection con = activate(entry);
+        if (null == con) {
+            SQLServerException.makeFromDriverError(null, this,
+                    SQLServerException.getErrString("R_physicalConnectionIsClosed"), null, true);
+        }
+        return con;
+    }
+
+    /**
+     * Opens a physical connection and prepares the hot statements on it, and on any connection that replaces it.
+     */
+    private SQLServerPooledConnection openPooledConnection() throws SQLException {
+        SQLServerPooledConnection pooledConnection = (SQLServerPooledConnection) dataSource.getPooledConnection();
+        if (null != hotStatements) {
+            pooledConnection.setHotStatementSet(hotStatements);
+        }
+        return pooledConnection;
+    }
+
+    private PoolEntry addEntry(SQLServerPooledConnection pooledConnection, int state) {
+        PoolEntry entry = new PoolEntry(pooledConnection);
+        entry.state.set(state);
+        pooledConnection.addConnectionEventListener(entry);
+        entries.add(entry);
+        createCount.incrementAndGet();
+        if (logger.isLoggable(Level.FINER))
+            logger.finer(toString() + " opened " + pooledConnection);
+        return entry;
+    }
+
+    /**
+     * Opens physical connections concurrently and adds them to the pool as idle connections, without exceeding the
+     * maximum size of the pool. The connections are added only if they are all opened before the timeout. The slots
+     * are reserved before the connections are opened; connections that no longer fit because connections were opened
+     * for borrowers meanwhile, or because the pool was closed, are closed rather than added.
+     *
+     * @param count
+     *        the number of connections to open
+     * @param timeout
+     *        the maximum time to wait for the connections to be open
+     * @return the number of connections added to the pool
+     * @throws SQLServerException
+     *         if the pool is closed, a connection failed to open or the timeout elapsed
+     */
+    int prewarm(int count, Duration timeout) throws SQLServerException {
+        checkClosed();
+        int openCount = reserveSlots(count);
+        if (0 == openCount) {
+            return 0;
+        }
+
+        List<SQLServerPooledConnection> pooledConnections;
+        try {
+            pooledConnections = dataSource.openConcurrently(openCount, timeout, this::openPooledConnection,
+                    SQLServerPooledConnection::close);
+        } catch (SQLServerException | RuntimeException e) {
+            slotCount.addAndGet(-openCount);
+            throw e;
+        }
+
+        int addedCount = 0;
+        for (SQLServerPooledConnection pooledConnection : pooledConnections) {
+            if (closed || slotCount.get() > maxSize) {
+                slotCount.decrementAndGet();
+                closeQuietly(pooledConnection);
+                continue;
+            }
+            PoolEntry entry = addEntry(pooledConnection, STATE_IDLE);
+            // The pool may have been closed while the connection was added.
+            if (closed && entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+                remove(entry);
+            } else {
+                ++addedCount;
+            }
+        }
+        if (logger.isLoggable(Level.FINER))
+            logger.finer(toString() + " prewarmed " + addedCount + " connections");
+        return addedCount;
+    }
+
+    /**
+     * Reserves up to count slots without exceeding the maximum size of the pool.
+     *
+     * @return the number of slots reserved
+     */
+    private int reserveSlots(int count) {
+        while (true) {
+            int current = slotCount.get();
+            int reserved = Math.min(count, maxSize - current);
+            if (0 >= reserved) {
+                return 0;
+            }
+            if (slotCount.compareAndSet(current, current + reserved)) {
+                return reserved;
+            }
+        }
+    }
+
+    /**
+     * Hands out a logical connection for an entry that the caller has claimed, or evicts the entry and returns null
+     * if it has expired or its physical connection can no longer be used.
+     */
+    private Connection activate(PoolEntry entry) {
+        if (closed || entry.isExpired(System.currentTimeMillis())) {
+            remove(entry);
+            return null;
+        }
+
+        try {
+            Connection con = entry.pooledConnection.getConnection();
+            lastUsedEntry.set(new WeakReference<>(entry));
+            return con;
+        } catch (SQLException e) {
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(toString() + " evicting " + entry.pooledConnection + ": " + e);
+            remove(entry);
+            return null;
+        }
+    }
+
+    private void acquirePermit() throws SQLServerException {
+        boolean acquired;
+        try {
+            if (0 == waitTimeoutMillis) {
+                permits.acquire();
+                acquired = true;
+            } else {
+                acquired = permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLServerException(e.getMessage(), SQLState.STATEMENT_CANCELED, DriverError.NOT_SET, e);
+        }
+
+        if (!acquired) {
+            waitTimeoutCount.incrementAndGet();
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_connectionPoolTimeout"));
+            Object[] msgArgs = {TimeUnit.MILLISECONDS.toSeconds(waitTimeoutMillis)};
+            SQLServerException.makeFromDriverError(null, this, form.format(msgArgs), null, true);
+        }
+
+        // The pool may have been closed while waiting.
+        if (closed) {
+            permits.release();
+            checkClosed();
+        }
+    }
+
+    private void checkClosed() throws SQLServerException {
+        if (closed) {
+            SQLServerException.makeFromDriverError(null, this,
+                    SQLServerException.getErrString("R_connectionPoolClosed"), null, true);
+        }
+    }
+
+    /**
+     * Removes an entry from the pool and closes its physical connection.
+     */
+    private void remove(PoolEntry entry) {
+        if (STATE_REMOVED == entry.state.getAndSet(STATE_REMOVED)) {
+            return;
+        }
+
+        entries.remove(entry);
+        slotCount.decrementAndGet();
+        evictCount.incrementAndGet();
+        entry.pooledConnection.removeConnectionEventListener(entry);
+        closeQuietly(entry.pooledConnection);
+    }
+
+    private void closeQuietly(SQLServerPooledConnection pooledConnection) {
+        try {
+            pooledConnection.close();
+        } catch (SQLException e) {
+            if (logger.isLoggable(Level.FINER))
+                logger.finer(toString() + " ignored error closing " + pooledConnection + ": " + e);
+        }
+    }
+
+    /**
+     * Closes the idle connections that have expired or been idle for longer than the idle timeout. Runs on the thread
+     * of the {@link SharedTimer}, which also expires command timeouts, so the connections are closed on the
+     * {@link AsyncExecutor} rather than waiting for their logout here.
+     */
+    private void evictConnections() {
+        long now = System.currentTimeMillis();
+        for (PoolEntry entry : entries) {
+            if ((entry.isExpired(now) || entry.isIdleTooLong(now))
+                    && entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+                if (logger.isLoggable(Level.FINER))
+                    logger.finer(toString() + " evicting idle " + entry.pooledConnection);
+                AsyncExecutor.execute(() -> remove(entry));
+            }
+        }
+    }
+
+    /**
+     * Closes the pool and its idle connections. Connections that are in use are closed when they are returned.
+     */
+    void close() {
+        closed = true;
+        if (null != evictionTask) {
+            evictionTask.cancel(false);
+            timer.removeRef();
+        }
+
+        for (PoolEntry entry : entries) {
+            if (entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+                remove(entry);
+            }
+        }
+
+        if (logger.isLoggable(Level.FINER))
+            logger.finer(toString() + " closed");
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of open physical connections
+     */
+    int getTotalConnectionCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of open physical connections that are not in use
+     */
+    int getIdleConnectionCount() {
+        int idle = 0;
+        for (PoolEntry entry : entries) {
+            if (STATE_IDLE == entry.state.get()) {
+                ++idle;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * @return the number of connections that are in use
+     */
+    int getActiveConnectionCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of threads waiting for a connection
+     */
+    int getWaitingThreadCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public String toString() {
+        return traceID;
+    }
+
+    /**
+     * @return a summary of the pool's counters for logging and diagnostics
+     */
+    String getStatistics() {
+        return traceID + "(total:" + getTotalConnectionCount() + " idle:" + getIdleConnectionCount() + " active:"
+                + getActiveConnectionCount() + " waiting:" + getWaitingThreadCount() + " borrowed:"
+                + borrowCount.get() + " affinityHits:" + affinityHitCount.get() + " created:" + createCount.get()
+                + " evicted:" + evictCount.get() + " waitTimeouts:" + waitTimeoutCount.get() + " warmedUpStatements:"
+                + ((null != hotStatements) ? hotStatements.getWarmedUpCount() : 0) + ")";
+    }
+}
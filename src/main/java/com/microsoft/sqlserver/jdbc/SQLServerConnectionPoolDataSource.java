@@ -5,7 +5,11 @@
 
 package com.microsoft.sqlserver.jdbc;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import javax.naming.Reference;
@@ -18,9 +22,35 @@ import javax.sql.PooledConnection;
  * used in Java Application Server environments that support built-in connection pooling and require a
  * ConnectionPoolDataSource to provide physical connections. For example, J2EE application servers that provide JDBC 3.0
  * API spec connection pooling.
+ * <p>
+ * For deployments without a pool manager, SQLServerConnectionPoolDataSource can also pool connections itself. The
+ * built-in pool is enabled by setting a maximum pool size with {@link #setConnectionPoolMaxSize(int)}, after which
+ * {@link #getConnection()} borrows connections from the pool and closing them returns them to it.
  */
 public class SQLServerConnectionPoolDataSource extends SQLServerDataSource implements ConnectionPoolDataSource {
 
+    /** Default maximum lifetime in seconds of a connection in the built-in pool */
+    static final int DEFAULT_CONNECTION_POOL_MAX_LIFETIME = 1800;
+
+    /** Default time in seconds after which an idle connection in the built-in pool is closed */
+    static final int DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT = 600;
+
+    /** Default time in seconds to wait for a connection from the built-in pool */
+    static final int DEFAULT_CONNECTION_POOL_WAIT_TIMEOUT = 30;
+
+    // Names of the built-in pool settings in the data source properties, which are kept with the connection
+    // properties so that they survive a JNDI reference or serialization.
+    private static final String CONNECTION_POOL_MAX_SIZE = "connectionPoolMaxSize";
+    private static final String CONNECTION_POOL_MAX_LIFETIME = "connectionPoolMaxLifetime";
+    private static final String CONNECTION_POOL_IDLE_TIMEOUT = "connectionPoolIdleTimeout";
+    private static final String CONNECTION_POOL_WAIT_TIMEOUT = "connectionPoolWaitTimeout";
+    private static final String CONNECTION_POOL_WARMUP_STATEMENT_COUNT = "connectionPoolWarmupStatementCount";
+
+    /** The built-in pool, created on first use */
+    private transient volatile SQLServerConnectionPool connectionPool;
+
+    private final transient Lock connectionPoolLock = new ReentrantLock();
+
     /**
      * default constructor
      */
@@ -28,6 +58,226 @@ public class SQLServerConnectionPoolDataSource extends SQLServerDataSource imple
         // default constructor
     }
 
+    /**
+     * Returns a connection. If the built-in pool is enabled the connection is borrowed from the pool and returned to it
+     * when closed; otherwise a new physical connection is opened.
+     */
+    @Override
+    public Connection getConnection() throws SQLServerException {
+        if (0 >= getConnectionPoolMaxSize()) {
+            return super.getConnection();
+        }
+
+        loggerExternal.entering(getClassNameLogging(), "getConnection");
+        Connection con = getConnectionPool().getConnection();
+        loggerExternal.exiting(getClassNameLogging(), "getConnection", con);
+        return con;
+    }
+
+    private SQLServerConnectionPool getConnectionPool() {
+        SQLServerConnectionPool pool = connectionPool;
+        if (null == pool || pool.isClosed()) {
+            connectionPoolLock.lock();
+            try {
+                pool = connectionPool;
+                if (null == pool || pool.isClosed()) {
+                    pool = new SQLServerConnectionPool(this, getConnectionPoolMaxSize(),
+                            getConnectionPoolMaxLifetime(), getConnectionPoolIdleTimeout(),
+                            getConnectionPoolWaitTimeout(), getConnectionPoolWarmupStatementCount());
+                    connectionPool = pool;
+                }
+            } finally {
+                connectionPoolLock.unlock();
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Sets the maximum number of connections in the built-in connection pool. The default of 0 disables the built-in
+     * pool. Pool settings take effect when the pool is created by the first call to {@link #getConnection()}, or the
+     * first call after {@link #closeConnectionPool()}.
+     *
+     * @param maxSize
+     *        the maximum number of connections, or 0 to disable the built-in pool
+     */
+    public void setConnectionPoolMaxSize(int maxSize) {
+        setIntProperty(CONNECTION_POOL_MAX_SIZE, maxSize);
+    }
+
+    /**
+     * Returns the maximum number of connections in the built-in connection pool.
+     *
+     * @return the maximum number of connections, or 0 if the built-in pool is disabled
+     */
+    public int getConnectionPoolMaxSize() {
+        return getIntProperty(CONNECTION_POOL_MAX_SIZE, 0);
+    }
+
+    /**
+     * Sets the maximum lifetime of a connection in the built-in connection pool. A connection that reaches its maximum
+     * lifetime is closed when it is next idle. The default is 1800 seconds.
+     *
+     * @param seconds
+     *        the maximum lifetime in seconds, or 0 for no limit
+     */
+    public void setConnectionPoolMaxLifetime(int seconds) {
+        setIntProperty(CONNECTION_POOL_MAX_LIFETIME, seconds);
+    }
+
+    /**
+     * Returns the maximum lifetime of a connection in the built-in connection pool.
+     *
+     * @return the maximum lifetime in seconds, or 0 for no limit
+     */
+    public int getConnectionPoolMaxLifetime() {
+        return getIntProperty(CONNECTION_POOL_MAX_LIFETIME, DEFAULT_CONNECTION_POOL_MAX_LIFETIME);
+    }
+
+    /**
+     * Sets the time after which an idle connection in the built-in connection pool is closed. The default is 600
+     * seconds.
+     *
+     * @param seconds
+     *        the idle timeout in seconds, or 0 to keep idle connections open
+     */
+    public void setConnectionPoolIdleTimeout(int seconds) {
+        setIntProperty(CONNECTION_POOL_IDLE_TIMEOUT, seconds);
+    }
+
+    /**
+     * Returns the time after which an idle connection in the built-in connection pool is closed.
+     *
+     * @return the idle timeout in seconds, or 0 if idle connections are kept open
+     */
+    public int getConnectionPoolIdleTimeout() {
+        return getIntProperty(CONNECTION_POOL_IDLE_TIMEOUT, DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Sets the time {@link #getConnection()} waits for a connection when all connections of the built-in connection
+     * pool are in use. The default is 30 seconds.
+     *
+     * @param seconds
+     *        the wait timeout in seconds, or 0 to wait indefinitely
+     */
+    public void setConnectionPoolWaitTimeout(int seconds) {
+        setIntProperty(CONNECTION_POOL_WAIT_TIMEOUT, seconds);
+    }
+
+    /**
+     * Returns the time {@link #getConnection()} waits for a connection when all connections of the built-in connection
+     * pool are in use.
+     *
+     * @return the wait timeout in seconds, or 0 if it waits indefinitely
+     */
+    public int getConnectionPoolWaitTimeout() {
+        return getIntProperty(CONNECTION_POOL_WAIT_TIMEOUT, DEFAULT_CONNECTION_POOL_WAIT_TIMEOUT);
+    }
+
+    /**
+     * Sets the number of prepared statements the built-in connection pool prepares on each connection it opens. The
+     * pool records the prepared statements executed on its connections and prepares the most frequently executed ones
+     * on a new connection in a single round trip, so that their first execution on that connection reuses a handle
+     * instead of preparing the statement again. Statement warm-up requires statement pooling, see
+     * {@link #setStatementPoolingCacheSize(int)}. The default of 0 disables statement warm-up.
+     *
+     * @param count
+     *        the number of statements to prepare on each new connection, or 0 to disable statement warm-up
+     */
+    public void setConnectionPoolWarmupStatementCount(int count) {
+        setIntProperty(CONNECTION_POOL_WARMUP_STATEMENT_COUNT, count);
+    }
+
+    /**
+     * Returns the number of prepared statements the built-in connection pool prepares on each connection it opens.
+     *
+     * @return the number of statements, or 0 if statement warm-up is disabled
+     */
+    public int getConnectionPoolWarmupStatementCount() {
+        return getIntProperty(CONNECTION_POOL_WARMUP_STATEMENT_COUNT, 0);
+    }
+
+    /**
+     * Opens physical connections concurrently and adds them to the built-in connection pool as idle connections, so
+     * that the pool reaches its working size in about the time of one login, for instance when an application starts
+     * up or after a failover. Connections are opened as by {@link #prewarm(int, Duration)}, and only until the pool
+     * holds its maximum number of connections.
+     *
+     * @param count
+     *        the number of connections to open
+     * @param timeout
+     *        the maximum time to wait for the connections to be open
+     * @return the number of connections added to the pool, 0 if the built-in pool is disabled
+     * @throws SQLServerException
+     *         if the arguments are not valid, a connection failed to open or the timeout elapsed, in which case no
+     *         connection is added to the pool
+     */
+    public int prewarmConnectionPool(int count, Duration timeout) throws SQLServerException {
+        loggerExternal.entering(getClassNameLogging(), "prewarmConnectionPool", new Object[] {count, timeout});
+        checkPrewarmArguments(count, timeout);
+        int added = (0 >= getConnectionPoolMaxSize()) ? 0 : getConnectionPool().prewarm(count, timeout);
+        loggerExternal.exiting(getClassNameLogging(), "prewarmConnectionPool", added);
+        return added;
+    }
+
+    /**
+     * Closes the built-in connection pool and its idle connections. Connections that are in use are closed when they
+     * are returned. A later call to {@link #getConnection()} creates a new pool.
+     */
+    public void closeConnectionPool() {
+        connectionPoolLock.lock();
+        try {
+            if (null != connectionPool) {
+                connectionPool.close();
+                connectionPool = null;
+            }
+        } finally {
+            connectionPoolLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of open physical connections in the built-in connection pool.
+     *
+     * @return the number of connections, both idle and in use
+     */
+    public int getConnectionPoolTotalCount() {
+        SQLServerConnectionPool pool = connectionPool;
+        return (null != pool) ? pool.getTotalConnectionCount() : 0;
+    }
+
+    /**
+     * Returns the number of idle connections in the built-in connection pool.
+     *
+     * @return the number of idle connections
+     */
+    public int getConnectionPoolIdleCount() {
+        SQLServerConnectionPool pool = connectionPool;
+        return (null != pool) ? pool.getIdleConnectionCount() : 0;
+    }
+
+    /**
+     * Returns the number of connections borrowed from the built-in connection pool that have not been returned.
+     *
+     * @return the number of connections in use
+     */
+    public int getConnectionPoolActiveCount() {
+        SQLServerConnectionPool pool = connectionPool;
+        return (null != pool) ? pool.getActiveConnectionCount() : 0;
+    }
+
+    /**
+     * Returns a summary of the built-in connection pool's counters, such as the number of connections borrowed,
+     * opened and evicted, for diagnostics.
+     *
+     * @return the pool statistics, or null if the pool has not been created
+     */
+    public String getConnectionPoolStatistics() {
+        SQLServerConnectionPool pool = connectionPool;
+        return (null != pool) ? pool.getStatistics() : null;
+    }
+
     // Get a new physical connection that the pool manager will issue logical connections from
     @Override
     public PooledConnection getPooledConnection() throws SQLException {
@@ -733,4 +733,25 @@ class SQLServerConnectionPoolProxy implements ISQLServerConnection, java.io.Seri
     public void setUseBulkCopyForBatchInsert(boolean useBulkCopyForBatchInsert) {
         wrappedConnection.setUseBulkCopyForBatchInsert(useBulkCopyForBatchInsert);
     }
+
+    /**
+     * Returns the useBulkCopyForBatchUpdate value.
+     * 
+     * @return flag for using Bulk Copy API for batch update and delete operations.
+     */
+    @Override
+    public boolean getUseBulkCopyForBatchUpdate() {
+        return wrappedConnection.getUseBulkCopyForBatchUpdate();
+    }
+
+    /**
+     * Specifies the flag for using Bulk Copy API for batch update and delete operations.
+     * 
+     * @param useBulkCopyForBatchUpdate
+     *        boolean value for useBulkCopyForBatchUpdate.
+     */
+    @Override
+    public void setUseBulkCopyForBatchUpdate(boolean useBulkCopyForBatchUpdate) {
+        wrappedConnection.setUseBulkCopyForBatchUpdate(useBulkCopyForBatchUpdate);
+    }
 }
@@ -8,8 +8,16 @@ package com.microsoft.sqlserver.jdbc;
 import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -111,6 +119,158 @@ public class SQLServerDataSource
         return con;
     }
 
+    /**
+     * Opens physical connections concurrently, so that an application starting up or recovering from a failover
+     * reaches its working number of connections in about the time of one login instead of one login per connection.
+     * The connections are opened as by {@link #getConnection()} and handed to the caller, for instance to add them to
+     * a connection pool.
+     * <p>
+     * Connections to the same server share its resolved addresses when serverResolutionCacheTtl is set, and share an
+     * SSL context so that their TLS handshakes can resume the same session. When the connections authenticate with an
+     * access token, the first connection is opened before the others, so that the others find the token it acquired in
+     * the token cache instead of all requesting a token at the same time.
+     * <p>
+     * Either all the connections are opened or none: if a connection fails to open, or the connections are not all
+     * open before the timeout, the connections already open are closed, as are the ones that finish opening later.
+     *
+     * @param count
+     *        the number of connections to open
+     * @param timeout
+     *        the maximum time to wait for the connections to be open
+     * @return the open connections
+     * @throws SQLServerException
+     *         if the arguments are not valid, a connection failed to open or the timeout elapsed
+     */
+    public List<Connection> prewarm(int count, Duration timeout) throws SQLServerException {
+        loggerExternal.entering(getClassNameLogging(), "prewarm", new Object[] {count, timeout});
+        checkPrewarmArguments(count, timeout);
+        List<Connection> connections = openConcurrently(count, timeout, () -> getConnectionInternal(null, null, null),
+                Connection::close);
+        loggerExternal.exiting(getClassNameLogging(), "prewarm", connections);
+        return connections;
+    }
+
+    /**
+     * Closes a connection opened by {@link #openConcurrently} that is not handed out.
+     */
+    interface ConnectionCloser<T> {
+        void close(T connection) throws SQLException;
+    }
+
+    static void checkPrewarmArguments(int count, Duration timeout) throws SQLServerException {
+        String invalidArg = null;
+        if (0 >= count) {
+            invalidArg = "count";
+        } else if (null == timeout || timeout.isNegative() || timeout.isZero()) {
+            invalidArg = "timeout";
+        }
+        if (null != invalidArg) {
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_invalidPositiveArg"));
+            Object[] msgArgs = {invalidArg};
+            throw new SQLServerException(form.format(msgArgs), null);
+        }
+    }
+
+    /**
+     * Returns whether opening a connection acquires an access token, which the connections opened after it reuse.
+     */
+    private boolean acquiresAccessToken() {
+        String authentication = getAuthentication();
+        return null != getAccessTokenCallback() || null != getAccessTokenCallbackClass()
+                || (null != authentication && authentication.regionMatches(true, 0, "ActiveDirectory", 0, 15));
+    }
+
+    /**
+     * Opens connections concurrently on the {@link AsyncExecutor}, as described in {@link #prewarm(int, Duration)}.
+     *
+     * @param count
+     *        the number of connections to open
+     * @param timeout
+     *        the maximum time to wait for the connections to be open
+     * @param opener
+     *        opens a connection
+     * @param closer
+     *        closes a connection when the others could not all be opened
+     * @return the open connections
+     * @throws SQLServerException
+     *         if a connection failed to open or the timeout elapsed
+     */
+    <T> List<T> openConcurrently(int count, Duration timeout, AsyncExecutor.SQLCallable<T> opener,
+            ConnectionCloser<T> closer) throws SQLServerException {
+        long startNanos = System.nanoTime();
+        long timeoutNanos;
+        try {
+            timeoutNanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            timeoutNanos = Long.MAX_VALUE;
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+        List<T> connections = new ArrayList<>(count);
+        try {
+            // The first connection acquires the access token alone, rather than every connection at once.
+            if (acquiresAccessToken()) {
+                futures.add(AsyncExecutor.supplyAsync(opener));
+                connections.add(futures.get(0).get(timeoutNanos, TimeUnit.NANOSECONDS));
+            }
+            while (futures.size() < count) {
+                futures.add(AsyncExecutor.supplyAsync(opener));
+            }
+            while (connections.size() < count) {
+                long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+                connections.add(futures.get(connections.size()).get(Math.max(0, remainingNanos),
+                        TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException e) {
+            closeAll(futures, closer);
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLServerException) {
+                throw (SQLServerException) cause;
+            } else if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                throw new SQLServerException(sqlException.getMessage(), sqlException.getSQLState(),
+                        sqlException.getErrorCode(), sqlException);
+            }
+            throw new SQLServerException(cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            int openCount = 0;
+            for (CompletableFuture<T> future : futures) {
+                if (future.isDone() && !future.isCompletedExceptionally()) {
+                    ++openCount;
+                }
+            }
+            closeAll(futures, closer);
+            MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_prewarmTimeout"));
+            Object[] msgArgs = {openCount, count, TimeUnit.NANOSECONDS.toMillis(timeoutNanos)};
+            throw new SQLServerException(form.format(msgArgs), null);
+        } catch (InterruptedException e) {
+            closeAll(futures, closer);
+            Thread.currentThread().interrupt();
+            throw new SQLServerException(e.getMessage(), SQLState.STATEMENT_CANCELED, DriverError.NOT_SET, e);
+        }
+
+        if (dsLogger.isLoggable(Level.FINER))
+            dsLogger.finer(toString() + " opened " + count + " connections in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms");
+        return connections;
+    }
+
+    /**
+     * Closes the connections that are open and the ones still opening once they are open.
+     */
+    private <T> void closeAll(List<CompletableFuture<T>> futures, ConnectionCloser<T> closer) {
+        for (CompletableFuture<T> future : futures) {
+            future.thenAccept(connection -> {
+                try {
+                    closer.close(connection);
+                } catch (SQLException e) {
+                    if (dsLogger.isLoggable(Level.FINER))
+                        dsLogger.finer(toString() + " ignored error closing " + connection + ": " + e);
+                }
+            });
+        }
+    }
+
     /**
      * Sets the maximum time in seconds that this data source will wait while attempting to connect to a database. Note
      * default value is 0.
@@ -1023,6 +1183,19 @@ public class SQLServerDataSource
                 SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_INSERT.getDefaultValue());
     }
 
+    @Override
+    public void setUseBulkCopyForBatchUpdate(boolean useBulkCopyForBatchUpdate) {
+        setBooleanProperty(connectionProps, SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.toString(),
+                useBulkCopyForBatchUpdate);
+    }
+
+    @Override
+    public boolean getUseBulkCopyForBatchUpdate() {
+        return getBooleanProperty(connectionProps,
+                SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.toString(),
+                SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.getDefaultValue());
+    }
+
     /**
      * @deprecated
      */
@@ -1264,6 +1437,53 @@ public class SQLServerDataSource
                 SQLServerDriverIntProperty.CONNECT_RETRY_INTERVAL.getDefaultValue());
     }
 
+    @Override
+    public void setBulkCopyMetadataCacheTtl(int bulkCopyMetadataCacheTtl) {
+        setIntProperty(connectionProps, SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.toString(),
+                bulkCopyMetadataCacheTtl);
+    }
+
+    @Override
+    public int getBulkCopyMetadataCacheTtl() {
+        return getIntProperty(connectionProps, SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.toString(),
+                SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.getDefaultValue());
+    }
+
+    @Override
+    public void setBatchRequestMaxSize(int batchRequestMaxSize) {
+        setIntProperty(connectionProps, SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.toString(),
+                batchRequestMaxSize);
+    }
+
+    @Override
+    public int getBatchRequestMaxSize() {
+        return getIntProperty(connectionProps, SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.toString(),
+                SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.getDefaultValue());
+    }
+
+    @Override
+    public void setReadAheadPackets(int readAheadPackets) {
+        setIntProperty(connectionProps, SQLServerDriverIntProperty.READ_AHEAD_PACKETS.toString(), readAheadPackets);
+    }
+
+    @Override
+    public int getReadAheadPackets() {
+        return getIntProperty(connectionProps, SQLServerDriverIntProperty.READ_AHEAD_PACKETS.toString(),
+                SQLServerDriverIntProperty.READ_AHEAD_PACKETS.getDefaultValue());
+    }
+
+    @Override
+    public void setServerResolutionCacheTtl(int serverResolutionCacheTtl) {
+        setIntProperty(connectionProps, SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.toString(),
+                serverResolutionCacheTtl);
+    }
+
+    @Override
+    public int getServerResolutionCacheTtl() {
+        return getIntProperty(connectionProps, SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.toString(),
+                SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.getDefaultValue());
+    }
+
     @Override
     public void setPrepareMethod(String prepareMethod) {
         setStringProperty(connectionProps, SQLServerDriverStringProperty.PREPARE_METHOD.toString(), prepareMethod);
@@ -1420,6 +1640,20 @@ public class SQLServerDataSource
         loggerExternal.exiting(getClassNameLogging(), "set" + propKey);
     }
 
+    /**
+     * Sets an int property of the data source.
+     */
+    void setIntProperty(String propKey, int propValue) {
+        setIntProperty(connectionProps, propKey, propValue);
+    }
+
+    /**
+     * Returns an int property of the data source, or defaultValue if it is not set.
+     */
+    int getIntProperty(String propKey, int defaultValue) {
+        return getIntProperty(connectionProps, propKey, defaultValue);
+    }
+
     /**
      * Returns a property value in int format. Caller will always supply a non-null props and propKey. Returns
      * defaultValue if the specific property value is not set.
@@ -181,27 +181,42 @@ public final class SQLServerDataTable {
      */
     private void internalAddrow(JDBCType jdbcType, Object val, Object[] rowValues,
             Map.Entry<Integer, SQLServerDataColumn> pair) throws SQLServerException {
-        int key = pair.getKey();
+        rowValues[pair.getKey()] = getColumnValue(jdbcType, val, pair.getValue());
+    }
 
+    /**
+     * Converts a value added to a data table to the object held for a column of the given type, and widens the
+     * precision and scale of the column to fit the value. Shared with {@link SQLServerColumnarDataTable}.
+     * 
+     * @param jdbcType
+     *        The jdbcType
+     * @param val
+     *        The data value
+     * @param currentColumnMetadata
+     *        the column the value is added to
+     * @return the value to hold for the column
+     * @throws SQLServerException
+     *         when an error occurs
+     */
+    static Object getColumnValue(JDBCType jdbcType, Object val,
+            SQLServerDataColumn currentColumnMetadata) throws SQLServerException {
         if (null != val) {
-            SQLServerDataColumn currentColumnMetadata = pair.getValue();
             int nValueLen;
 
             switch (jdbcType) {
                 case BIGINT:
-                    rowValues[key] = (val instanceof Long) ? val : Long.parseLong(val.toString());
-                    break;
+                    return (val instanceof Long) ? val : Long.parseLong(val.toString());
 
                 case BIT:
                     if (val instanceof Boolean) {
-                        rowValues[key] = val;
+                        return val;
                     } else {
                         String valString = val.toString();
 
                         if ("0".equals(valString) || valString.equalsIgnoreCase(Boolean.FALSE.toString())) {
-                            rowValues[key] = Boolean.FALSE;
+                            return Boolean.FALSE;
                         } else if ("1".equals(valString) || valString.equalsIgnoreCase(Boolean.TRUE.toString())) {
-                            rowValues[key] = Boolean.TRUE;
+                            return Boolean.TRUE;
                         } else {
                             MessageFormat form = new MessageFormat(
                                     SQLServerException.getErrString("R_TVPInvalidColumnValue"));
@@ -209,16 +224,13 @@ public final class SQLServerDataTable {
                             throw new SQLServerException(null, form.format(msgArgs), null, 0, false);
                         }
                     }
-                    break;
 
                 case INTEGER:
-                    rowValues[key] = (val instanceof Integer) ? val : Integer.parseInt(val.toString());
-                    break;
+                    return (val instanceof Integer) ? val : Integer.parseInt(val.toString());
 
                 case SMALLINT:
                 case TINYINT:
-                    rowValues[key] = (val instanceof Short) ? val : Short.parseShort(val.toString());
-                    break;
+                    return (val instanceof Short) ? val : Short.parseShort(val.toString());
 
                 case DECIMAL:
                 case NUMERIC:
@@ -247,19 +259,15 @@ public final class SQLServerDataTable {
                     if (isColumnMetadataUpdated) {
                         currentColumnMetadata.precision = currentColumnMetadata.scale
                                 + currentColumnMetadata.numberOfDigitsIntegerPart;
-                        columnMetadata.put(pair.getKey(), currentColumnMetadata);
                     }
-                    rowValues[key] = bd;
-                    break;
+                    return bd;
 
                 case DOUBLE:
-                    rowValues[key] = (val instanceof Double) ? val : Double.parseDouble(val.toString());
-                    break;
+                    return (val instanceof Double) ? val : Double.parseDouble(val.toString());
 
                 case FLOAT:
                 case REAL:
-                    rowValues[key] = (val instanceof Float) ? val : Float.parseFloat(val.toString());
-                    break;
+                    return (val instanceof Float) ? val : Float.parseFloat(val.toString());
 
                 case TIMESTAMP_WITH_TIMEZONE:
                 case TIME_WITH_TIMEZONE:
@@ -276,10 +284,9 @@ public final class SQLServerDataTable {
                     // java.sql.Date, java.sql.Time and java.sql.Timestamp are subclass of java.util.Date
                     if (val instanceof java.util.Date || val instanceof microsoft.sql.DateTimeOffset
                             || val instanceof OffsetDateTime || val instanceof OffsetTime)
-                        rowValues[key] = val.toString();
+                        return val.toString();
                     else
-                        rowValues[key] = val;
-                    break;
+                        return val;
 
                 case BINARY:
                 case VARBINARY:
@@ -288,10 +295,8 @@ public final class SQLServerDataTable {
 
                     if (nValueLen > currentColumnMetadata.precision) {
                         currentColumnMetadata.precision = nValueLen;
-                        columnMetadata.put(pair.getKey(), currentColumnMetadata);
                     }
-                    rowValues[key] = val;
-                    break;
+                    return val;
 
                 case CHAR:
                 case VARCHAR:
@@ -306,17 +311,14 @@ public final class SQLServerDataTable {
 
                     if (nValueLen > currentColumnMetadata.precision) {
                         currentColumnMetadata.precision = nValueLen;
-                        columnMetadata.put(pair.getKey(), currentColumnMetadata);
                     }
-                    rowValues[key] = val;
-                    break;
+                    return val;
 
                 case SQL_VARIANT:
                     JDBCType internalJDBCType;
                     JavaType javaType = JavaType.of(val);
                     internalJDBCType = javaType.getJDBCType(SSType.UNKNOWN, jdbcType);
-                    internalAddrow(internalJDBCType, val, rowValues, pair);
-                    break;
+                    return getColumnValue(internalJDBCType, val, currentColumnMetadata);
 
                 default:
                     MessageFormat form = new MessageFormat(SQLServerException.getErrString("R_unsupportedDataTypeTVP"));
@@ -324,11 +326,11 @@ public final class SQLServerDataTable {
                     throw new SQLServerException(null, form.format(msgArgs), null, 0, false);
             }
         } else {
-            rowValues[key] = null;
             if (jdbcType == JDBCType.SQL_VARIANT) {
                 throw new SQLServerException(SQLServerException.getErrString("R_invalidValueForTVPWithSQLVariant"),
                         null);
             }
+            return null;
         }
     }
 
@@ -642,7 +642,11 @@ enum SQLServerDriverIntProperty {
     STATEMENT_POOLING_CACHE_SIZE("statementPoolingCacheSize", SQLServerConnection.DEFAULT_STATEMENT_POOLING_CACHE_SIZE),
     CANCEL_QUERY_TIMEOUT("cancelQueryTimeout", -1),
     CONNECT_RETRY_COUNT("connectRetryCount", 1, 0, 255),
-    CONNECT_RETRY_INTERVAL("connectRetryInterval", 10, 1, 60);
+    CONNECT_RETRY_INTERVAL("connectRetryInterval", 10, 1, 60),
+    BULK_COPY_METADATA_CACHE_TTL("bulkCopyMetadataCacheTtl", 0, 0, Integer.MAX_VALUE),
+    BATCH_REQUEST_MAX_SIZE("batchRequestMaxSize", 0, 0, Integer.MAX_VALUE),
+    READ_AHEAD_PACKETS("readAheadPackets", 0, 0, Integer.MAX_VALUE),
+    SERVER_RESOLUTION_CACHE_TTL("serverResolutionCacheTtl", 0, 0, Integer.MAX_VALUE);
 
     private final String name;
     private final int defaultValue;
@@ -691,6 +695,7 @@ enum SQLServerDriverBooleanProperty {
     FIPS("fips", false),
     ENABLE_PREPARE_ON_FIRST_PREPARED_STATEMENT("enablePrepareOnFirstPreparedStatementCall", SQLServerConnection.DEFAULT_ENABLE_PREPARE_ON_FIRST_PREPARED_STATEMENT_CALL),
     USE_BULK_COPY_FOR_BATCH_INSERT("useBulkCopyForBatchInsert", false),
+    USE_BULK_COPY_FOR_BATCH_UPDATE("useBulkCopyForBatchUpdate", false),
     USE_FMT_ONLY("useFmtOnly", false),
     SEND_TEMPORAL_DATATYPES_AS_STRING_FOR_BULK_COPY("sendTemporalDataTypesAsStringForBulkCopy", true),
     DELAY_LOADING_LOBS("delayLoadingLobs", true),
@@ -918,6 +923,9 @@ public final class SQLServerDriver implements java.sql.Driver {
             new SQLServerDriverPropertyInfo(SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_INSERT.toString(),
                     Boolean.toString(SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_INSERT.getDefaultValue()),
                     false, TRUE_FALSE),
+            new SQLServerDriverPropertyInfo(SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.toString(),
+                    Boolean.toString(SQLServerDriverBooleanProperty.USE_BULK_COPY_FOR_BATCH_UPDATE.getDefaultValue()),
+                    false, TRUE_FALSE),
             new SQLServerDriverPropertyInfo(SQLServerDriverStringProperty.MSI_CLIENT_ID.toString(),
                     SQLServerDriverStringProperty.MSI_CLIENT_ID.getDefaultValue(), false, null),
             new SQLServerDriverPropertyInfo(SQLServerDriverStringProperty.KEY_VAULT_PROVIDER_CLIENT_ID.toString(),
@@ -952,6 +960,17 @@ public final class SQLServerDriver implements java.sql.Driver {
                     Integer.toString(SQLServerDriverIntProperty.CONNECT_RETRY_COUNT.getDefaultValue()), false, null),
             new SQLServerDriverPropertyInfo(SQLServerDriverIntProperty.CONNECT_RETRY_INTERVAL.toString(),
                     Integer.toString(SQLServerDriverIntProperty.CONNECT_RETRY_INTERVAL.getDefaultValue()), false,
+                    null),
+            new SQLServerDriverPropertyInfo(SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.toString(),
+                    Integer.toString(SQLServerDriverIntProperty.BULK_COPY_METADATA_CACHE_TTL.getDefaultValue()), false,
+                    null),
+            new SQLServerDriverPropertyInfo(SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.toString(),
+                    Integer.toString(SQLServerDriverIntProperty.BATCH_REQUEST_MAX_SIZE.getDefaultValue()), false,
+                    null),
+            new SQLServerDriverPropertyInfo(SQLServerDriverIntProperty.READ_AHEAD_PACKETS.toString(),
+                    Integer.toString(SQLServerDriverIntProperty.READ_AHEAD_PACKETS.getDefaultValue()), false, null),
+            new SQLServerDriverPropertyInfo(SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.toString(),
+                    Integer.toString(SQLServerDriverIntProperty.SERVER_RESOLUTION_CACHE_TTL.getDefaultValue()), false,
                     null),};
 
     /**
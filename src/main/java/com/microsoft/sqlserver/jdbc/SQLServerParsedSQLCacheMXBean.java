@@ -0,0 +1,53 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+/**
+ * Provides the statistics of the cache of parsed SQL text shared by all the connections of the process. The cache
+ * holds the result of translating JDBC escape syntax and locating the parameter markers of a statement, so that
+ * preparing the same statement again skips that work.
+ *
+ * The statistics are returned by {@link SQLServerConnection#getParsedSQLCacheStatistics()}, and are published over JMX
+ * under the name {@code com.microsoft.sqlserver.jdbc:type=ParsedSQLCache} once
+ * {@link SQLServerConnection#registerParsedSQLCacheMBean()} has been called.
+ */
+public interface SQLServerParsedSQLCacheMXBean {
+
+    /**
+     * Returns the number of lookups that found the statement in the cache.
+     *
+     * @return the number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that did not find the statement in the cache, and so parsed it.
+     *
+     * @return the number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of statements removed from the cache to make room for others.
+     *
+     * @return the number of evictions
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the number of statements in the cache.
+     *
+     * @return the number of cached statements
+     */
+    int getSize();
+
+    /**
+     * Returns the maximum number of statements the cache holds.
+     *
+     * @return the capacity of the cache
+     */
+    int getCapacity();
+}
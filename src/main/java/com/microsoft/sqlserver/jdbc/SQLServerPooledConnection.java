@@ -45,6 +45,9 @@ public class SQLServerPooledConnection implements PooledConnection, Serializable
     /** factory password */
     private String factoryUser, factoryPassword;
 
+    /** statements prepared on each physical connection, set by the built-in connection pool */
+    private transient HotStatementSet hotStatements;
+
     /** logger */
     private transient java.util.logging.Logger pcLogger;
 
@@ -97,7 +100,32 @@ public class SQLServerPooledConnection implements PooledConnection, Serializable
      * @throws SQLException
      */
     private SQLServerConnection createNewConnection() throws SQLException {
-        return factoryDataSource.getConnectionInternal(factoryUser, factoryPassword, this);
+        SQLServerConnection connection = factoryDataSource.getConnectionInternal(factoryUser, factoryPassword, this);
+        warmUp(connection);
+        return connection;
+    }
+
+    /**
+     * Sets the statements that are recorded on and prepared on the physical connections of this pooled connection,
+     * including the ones that replace a broken physical connection, and prepares them on the current one.
+     */
+    void setHotStatementSet(HotStatementSet hotStatements) {
+        lock.lock();
+        try {
+            this.hotStatements = hotStatements;
+            if (null != physicalConnection) {
+                warmUp(physicalConnection);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void warmUp(SQLServerConnection connection) {
+        if (null != hotStatements) {
+            connection.setHotStatementSet(hotStatements);
+            hotStatements.warmUp(connection);
+        }
     }
 
     /**
@@ -24,10 +24,14 @@ import java.sql.Statement;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 import com.microsoft.sqlserver.jdbc.SQLServerConnection.CityHash128Key;
@@ -79,15 +83,24 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
     /** True if this execute has been called for this statement at least once */
     private boolean isExecutedAtLeastOnce = false;
 
+    /** Handles un-prepared by RPCs pipelined ahead of the current request whose responses are not yet consumed */
+    private List<PreparedStatementHandle> pipelinedUnprepareHandles = Collections.emptyList();
+
     /** True if sp_prepare was called **/
     private boolean isSpPrepareExecuted = false;
 
     /** Reference to cache item for statement handle pooling. Only used to decrement ref count on statement close. */
     private transient PreparedStatementHandle cachedPreparedStatementHandle;
 
-    /** Hash of user supplied SQL statement used for various cache lookups */
+    /** User supplied SQL statement */
+    private final String sqlText;
+
+    /** Hash of user supplied SQL statement used for the parameter metadata cache, computed on first use */
     private CityHash128Key sqlTextCacheKey;
 
+    /** Hash of the prepared SQL and type definitions used for the handle cache, computed on first use */
+    private CityHash128Key preparedStatementHandleCacheKey;
+
     /**
      * Array with parameter names generated in buildParamTypeDefinitions For mapping encryption information to
      * parameters, as the second result set returned by sp_describe_parameter_encryption doesn't depend on order of
@@ -95,6 +108,15 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
      **/
     private ArrayList<String> parameterNames;
 
+    /**
+     * Type definitions and output flags of the parameters from which paramTypeDefinitions was last built. The string is
+     * only rebuilt when one of them changes, which for a statement executed repeatedly with values of the same types
+     * is rarely the case.
+     */
+    private String[] paramTypeDefinitionArray;
+    private boolean[] paramOutputArray;
+    private String paramTypeDefinitions;
+
     /** Set to true if the statement is a stored procedure call that expects a return value */
     final boolean bReturnValueSyntax;
 
@@ -128,6 +150,11 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
      */
     private boolean useBulkCopyForBatchInsert;
 
+    /**
+     * boolean value for deciding if the driver should use bulk copy API for batch updates and deletes
+     */
+    private boolean useBulkCopyForBatchUpdate;
+
     /** Returns the prepared statement SQL */
     @Override
     public String toString() {
@@ -235,18 +262,16 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         }
 
         stmtPoolable = true;
-
-        // Create a cache key for this statement.
-        sqlTextCacheKey = new CityHash128Key(sql);
+        sqlText = sql;
 
         // Parse or fetch SQL metadata from cache.
-        ParsedSQLCacheItem parsedSQL = getCachedParsedSQL(sqlTextCacheKey);
+        ParsedSQLCacheItem parsedSQL = getCachedParsedSQL(sql);
         if (null != parsedSQL) {
             if (null != connection && connection.isStatementPoolingEnabled()) {
                 isExecutedAtLeastOnce = true;
             }
         } else {
-            parsedSQL = parseAndCacheSQL(sqlTextCacheKey, sql);
+            parsedSQL = parseAndCacheSQL(sql);
         }
 
         // Retrieve meta data from cache item.
@@ -256,6 +281,7 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         userSQLParamPositions = parsedSQL.parameterPositions;
         initParams(userSQLParamPositions.length);
         useBulkCopyForBatchInsert = conn.getUseBulkCopyForBatchInsert();
+        useBulkCopyForBatchUpdate = conn.getUseBulkCopyForBatchUpdate();
     }
 
     /**
@@ -405,6 +431,7 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
             return false;
 
         preparedTypeDefinitions = newTypeDefinitions;
+        preparedStatementHandleCacheKey = null;
 
         /* Replace the parameter marker '?' with the param numbers @p1, @p2 etc */
         preparedSQL = connection.replaceParameterMarkers(userSQL, userSQLParamPositions, params, bReturnValueSyntax);
@@ -430,18 +457,14 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         if (nCols == 0)
             return "";
 
-        // Output looks like @P0 timestamp, @P1 varchar
-        int stringLen = nCols * 2; // @P
-        stringLen += nCols; // spaces
-        stringLen += nCols - 1; // commas
-        if (nCols > 10) {
-            stringLen += 10 + ((nCols - 10) * 2); // @P{0-99} Numbers after p
-        } else {
-            stringLen += nCols; // @P{0-9} Numbers after p less than 10
+        if (null == paramTypeDefinitionArray || paramTypeDefinitionArray.length != nCols) {
+            paramTypeDefinitionArray = new String[nCols];
+            paramOutputArray = new boolean[nCols];
+            paramTypeDefinitions = null;
         }
 
-        // Computing the type definitions up front, so we can get exact string lengths needed for the string builder.
-        String[] typeDefinitions = new String[nCols];
+        // The type definitions are computed for every execution, as they depend on the values set, but are only
+        // assembled into a new string when one of them differs from the previous execution.
         for (int i = 0; i < nCols; i++) {
             Parameter param = params[i];
             param.renewDefinition = renewDefinition;
@@ -451,33 +474,52 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                 Object[] msgArgs = {i + 1};
                 SQLServerException.makeFromDriverError(connection, this, form.format(msgArgs), null, false);
             }
-            typeDefinitions[i] = typeDefinition;
-            stringLen += typeDefinition.length();
-
-            // While we are getting type definitions, check if the params are output and extend the builder if so.
-            stringLen += param.isOutput() ? 7 : 0;
+            if (!typeDefinition.equals(paramTypeDefinitionArray[i]) || param.isOutput() != paramOutputArray[i]) {
+                paramTypeDefinitionArray[i] = typeDefinition;
+                paramOutputArray[i] = param.isOutput();
+                paramTypeDefinitions = null;
+            }
         }
 
-        StringBuilder sb = new StringBuilder(stringLen);
-        char[] cParamName = new char[10];
-        parameterNames = new ArrayList<>(nCols);
+        if (null == parameterNames || parameterNames.size() != nCols) {
+            char[] cParamName = new char[10];
+            parameterNames = new ArrayList<>(nCols);
+            for (int i = 0; i < nCols; i++) {
+                int l = SQLServerConnection.makeParamName(i, cParamName, 0, false);
+                parameterNames.add(String.valueOf(cParamName, 0, l));
+            }
+        }
 
-        for (int i = 0; i < nCols; i++) {
-            if (i > 0)
-                sb.append(',');
+        if (null == paramTypeDefinitions) {
+            // Output looks like @P0 timestamp, @P1 varchar
+            int stringLen = nCols * 2; // @P
+            stringLen += nCols; // spaces
+            stringLen += nCols - 1; // commas
+            if (nCols > 10) {
+                stringLen += 10 + ((nCols - 10) * 2); // @P{0-99} Numbers after p
+            } else {
+                stringLen += nCols; // @P{0-9} Numbers after p less than 10
+            }
+            for (int i = 0; i < nCols; i++) {
+                stringLen += paramTypeDefinitionArray[i].length();
+                stringLen += paramOutputArray[i] ? 7 : 0;
+            }
 
-            int l = SQLServerConnection.makeParamName(i, cParamName, 0, false);
-            String parameterName = String.valueOf(cParamName, 0, l);
-            sb.append(parameterName);
-            sb.append(' ');
+            StringBuilder sb = new StringBuilder(stringLen);
+            for (int i = 0; i < nCols; i++) {
+                if (i > 0)
+                    sb.append(',');
 
-            parameterNames.add(parameterName);
-            sb.append(typeDefinitions[i]);
+                sb.append(parameterNames.get(i));
+                sb.append(' ');
+                sb.append(paramTypeDefinitionArray[i]);
 
-            if (params[i].isOutput())
-                sb.append(" OUTPUT");
+                if (paramOutputArray[i])
+                    sb.append(" OUTPUT");
+            }
+            paramTypeDefinitions = sb.toString();
         }
-        return sb.toString();
+        return paramTypeDefinitions;
     }
 
     @Override
@@ -487,7 +529,6 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
             loggerExternal.finer(toString() + ACTIVITY_ID + ActivityCorrelator.getCurrent().toString());
         }
         checkClosed();
-        connection.unprepareUnreferencedPreparedStatementHandles(false);
         executeStatement(new PrepStmtExecCmd(this, EXECUTE_QUERY));
         loggerExternal.exiting(getClassNameLogging(), "executeQuery");
         return resultSet;
@@ -502,7 +543,6 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
      */
     final java.sql.ResultSet executeQueryInternal() throws SQLServerException, SQLTimeoutException {
         checkClosed();
-        connection.unprepareUnreferencedPreparedStatementHandles(false);
         executeStatement(new PrepStmtExecCmd(this, EXECUTE_QUERY_INTERNAL));
         return resultSet;
     }
@@ -515,7 +555,6 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         }
 
         checkClosed();
-        connection.unprepareUnreferencedPreparedStatementHandles(false);
         executeStatement(new PrepStmtExecCmd(this, EXECUTE_UPDATE));
 
         // this shouldn't happen, caller probably meant to call executeLargeUpdate
@@ -536,7 +575,6 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
             loggerExternal.finer(toString() + ACTIVITY_ID + ActivityCorrelator.getCurrent().toString());
         }
         checkClosed();
-        connection.unprepareUnreferencedPreparedStatementHandles(false);
         executeStatement(new PrepStmtExecCmd(this, EXECUTE_UPDATE));
         loggerExternal.exiting(getClassNameLogging(), "executeLargeUpdate", updateCount);
         return updateCount;
@@ -549,12 +587,28 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
             loggerExternal.finer(toString() + ACTIVITY_ID + ActivityCorrelator.getCurrent().toString());
         }
         checkClosed();
-        connection.unprepareUnreferencedPreparedStatementHandles(false);
         executeStatement(new PrepStmtExecCmd(this, EXECUTE));
         loggerExternal.exiting(getClassNameLogging(), "execute", null != resultSet);
         return null != resultSet;
     }
 
+    @Override
+    public CompletableFuture<ISQLServerResultSet> executeQueryAsync() {
+        loggerExternal.entering(getClassNameLogging(), "executeQueryAsync");
+        CompletableFuture<ISQLServerResultSet> future = AsyncExecutor
+                .supplyAsync(() -> (ISQLServerResultSet) executeQuery());
+        loggerExternal.exiting(getClassNameLogging(), "executeQueryAsync");
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync() {
+        loggerExternal.entering(getClassNameLogging(), "executeUpdateAsync");
+        CompletableFuture<Long> future = AsyncExecutor.supplyAsync(this::executeLargeUpdate);
+        loggerExternal.exiting(getClassNameLogging(), "executeUpdateAsync");
+        return future;
+    }
+
     /**
      * Prepare statement exec command
      */
@@ -649,13 +703,23 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                 // continue using it after we return.
                 TDSWriter tdsWriter = command.startRequest(TDS.PKT_RPC);
 
+                // Release discarded handles in the same round trip as this execution.
+                pipelinedUnprepareHandles = connection.writePipelinedUnprepareRequests(tdsWriter);
+
                 needsPrepare = doPrepExec(tdsWriter, inOutParam, hasNewTypeDefinitions, hasExistingTypeDefinitions,
                         command);
 
-                ensureExecuteResultsReader(command.startResponse(getIsResponseBufferingAdaptive()));
+                ensureExecuteResultsReader(startPipelinedResponse(command));
                 startResults();
                 getNextResult(true);
             } catch (SQLException e) {
+                // Any pipelined un-prepare responses were abandoned with the failed request. If the request was not
+                // sent, the server never un-prepared the handles, so they are queued again.
+                if (!pipelinedUnprepareHandles.isEmpty() && !command.getRequestComplete()) {
+                    connection.requeueUnprepareStatementHandles(pipelinedUnprepareHandles);
+                }
+                pipelinedUnprepareHandles = Collections.emptyList();
+
                 if (retryBasedOnFailedReuseOfCachedHandle(e, attempt, needsPrepare, false)) {
                     continue;
                 } else if (!inRetry && connection.doesServerSupportEnclaveRetry()) {
@@ -731,7 +795,7 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                 // Cache the reference to the newly created handle, NOT for cursorable handles.
                 if (null == cachedPreparedStatementHandle && !isCursorable(executeMethod)) {
                     cachedPreparedStatementHandle = connection.registerCachedPreparedStatementHandle(
-                            new CityHash128Key(preparedSQL, preparedTypeDefinitions), prepStmtHandle,
+                            getPreparedStatementHandleCacheKey(), prepStmtHandle,
                             executedSqlDirectly);
                 }
 
@@ -1100,6 +1164,13 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         connection.resetCurrentCommand();
     }
 
+    private CityHash128Key getPreparedStatementHandleCacheKey() {
+        if (null == preparedStatementHandleCacheKey) {
+            preparedStatementHandleCacheKey = new CityHash128Key(preparedSQL, preparedTypeDefinitions);
+        }
+        return preparedStatementHandleCacheKey;
+    }
+
     /**
      * Manages re-using cached handles.
      */
@@ -1127,7 +1198,7 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         // Check for new cache reference.
         if (null == cachedPreparedStatementHandle) {
             PreparedStatementHandle cachedHandle = connection
-                    .getCachedPreparedStatementHandle(new CityHash128Key(preparedSQL, preparedTypeDefinitions));
+                    .getCachedPreparedStatementHandle(getPreparedStatementHandleCacheKey());
             // If handle was found then re-use, only if AE is not on and is not a batch query with new type definitions
             // (We shouldn't reuse handle
             // if it is batch query and has new type definition, or if it is on, make sure encryptionMetadataIsRetrieved
@@ -1163,6 +1234,11 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
             else
                 buildServerCursorExecParams(tdsWriter);
         } else {
+            if (!callRpcDirectly && connection.isRecordingHotStatements()) {
+                connection.recordHotStatement(getPreparedStatementHandleCacheKey(), preparedSQL,
+                        preparedTypeDefinitions);
+            }
+
             // if it is a parameterized stored procedure call and is not TVP, use sp_execute directly.
             if (needsPrepare && callRpcDirectly) {
                 buildRPCExecParams(tdsWriter);
@@ -1239,10 +1315,22 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
      */
     private void doPrep(TDSWriter tdsWriter, TDSCommand command) throws SQLServerException {
         buildPrepParams(tdsWriter);
-        ensureExecuteResultsReader(command.startResponse(getIsResponseBufferingAdaptive()));
+        ensureExecuteResultsReader(startPipelinedResponse(command));
         command.processResponse(resultsReader());
     }
 
+    /**
+     * Starts the response to a request, first consuming the responses to any un-prepare RPCs that were pipelined ahead
+     * of the statement's RPC.
+     */
+    private TDSReader startPipelinedResponse(TDSCommand command) throws SQLServerException {
+        TDSReader tdsReader = command.startResponse(getIsResponseBufferingAdaptive());
+        int unprepareCount = pipelinedUnprepareHandles.size();
+        pipelinedUnprepareHandles = Collections.emptyList();
+        connection.processPipelinedUnprepareResponses(tdsReader, unprepareCount);
+        return tdsReader;
+    }
+
     @Override
     public final java.sql.ResultSetMetaData getMetaData() throws SQLServerException, SQLTimeoutException {
         loggerExternal.entering(getClassNameLogging(), "getMetaData");
@@ -2099,6 +2187,18 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         loggerExternal.exiting(getClassNameLogging(), "setStructured");
     }
 
+    @Override
+    public final void setStructured(int n, String tvpName,
+            SQLServerColumnarDataTable tvpDataTable) throws SQLServerException {
+        setByIndex();
+        tvpName = getTVPNameIfNull(n, tvpName);
+        if (loggerExternal.isLoggable(java.util.logging.Level.FINER))
+            loggerExternal.entering(getClassNameLogging(), "setStructured", new Object[] {n, tvpName, tvpDataTable});
+        checkClosed();
+        setValue(n, JDBCType.TVP, tvpDataTable, JavaType.TVP, tvpName);
+        loggerExternal.exiting(getClassNameLogging(), "setStructured");
+    }
+
     @Override
     public final void setStructured(int n, String tvpName, ResultSet tvpResultSet) throws SQLServerException {
         setByIndex();
@@ -2126,6 +2226,8 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         String tvpName = null;
         if (obj instanceof SQLServerDataTable) {
             tvpName = ((SQLServerDataTable) obj).getTvpName();
+        } else if (obj instanceof SQLServerColumnarDataTable) {
+            tvpName = ((SQLServerColumnarDataTable) obj).getTvpName();
         }
         // Get TVP name from SQLServerParameterMetaData if it is still null.
         return getTVPNameIfNull(n, tvpName);
@@ -2319,6 +2421,16 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                             updateCounts[i] = 1;
                         }
 
+                        loggerExternal.exiting(getClassNameLogging(), EXECUTE_BATCH_STRING, updateCounts);
+                        return updateCounts;
+                    }
+                } else if (this.useBulkCopyForBatchUpdate) {
+                    long[] largeUpdateCounts = executeBatchUpdateWithBulkCopy();
+                    if (null != largeUpdateCounts) {
+                        updateCounts = new int[largeUpdateCounts.length];
+                        for (int i = 0; i < largeUpdateCounts.length; ++i)
+                            updateCounts[i] = (int) largeUpdateCounts[i];
+
                         loggerExternal.exiting(getClassNameLogging(), EXECUTE_BATCH_STRING, updateCounts);
                         return updateCounts;
                     }
@@ -2483,6 +2595,12 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                             updateCounts[i] = 1;
                         }
 
+                        loggerExternal.exiting(getClassNameLogging(), "executeLargeBatch", updateCounts);
+                        return updateCounts;
+                    }
+                } else if (this.useBulkCopyForBatchUpdate) {
+                    updateCounts = executeBatchUpdateWithBulkCopy();
+                    if (null != updateCounts) {
                         loggerExternal.exiting(getClassNameLogging(), "executeLargeBatch", updateCounts);
                         return updateCounts;
                     }
@@ -2541,6 +2659,99 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         }
     }
 
+    /**
+     * Executes a batch of an UPDATE or DELETE statement supported by {@link BulkBatchUpdateQuery} as a single
+     * statement. The parameters of the batch are bulk copied into a temporary table, which the statement joins to the
+     * target table.
+     *
+     * @return the update count of each row of the batch, or null if the batch has to be executed as usual
+     */
+    private long[] executeBatchUpdateWithBulkCopy() throws SQLException {
+        if (null == batchParamValues || connection.isColumnEncryptionSettingEnabled()) {
+            return null;
+        }
+
+        BulkBatchUpdateQuery query = BulkBatchUpdateQuery.parse(localUserSQL);
+        if (null == query || query.getParameterCount() != batchParamValues.get(0).length) {
+            return null;
+        }
+
+        // OUT and INOUT parameters are not permitted in a batch, see executeBatch.
+        for (Parameter[] paramValues : batchParamValues) {
+            for (Parameter paramValue : paramValues) {
+                if (paramValue.isOutput()) {
+                    throw new BatchUpdateException(SQLServerException.getErrString("R_outParamsNotPermittedinBatch"),
+                            null, 0, null);
+                }
+            }
+        }
+
+        String stagingTableName = "#BulkBatchUpdate" + UUID.randomUUID().toString().replace("-", "");
+        boolean isStaged = false;
+        try (SQLServerStatement stmt = (SQLServerStatement) connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY, connection.getHoldability(), stmtColumnEncriptionSetting)) {
+            stmt.setQueryTimeout(queryTimeout);
+            stmt.execute(query.getCreateStagingTableSQL(stagingTableName));
+            isStaged = true;
+
+            try (SQLServerResultSet rs = stmt.executeQueryInternal(
+                    "sp_executesql N'SET FMTONLY ON SELECT * FROM " + stagingTableName + " '")) {
+                SQLServerBulkBatchUpdateRecord batchRecord = new SQLServerBulkBatchUpdateRecord(batchParamValues,
+                        query.getParameterCount());
+                for (int i = 1; i <= rs.getColumnCount(); i++) {
+                    Column c = rs.getColumn(i);
+                    TypeInfo ti = c.getTypeInfo();
+                    checkValidColumns(ti);
+                    batchRecord.addColumnMetadata(i, c.getColumnName(),
+                            ti.getSSType().getJDBCType().getIntValue(), ti.getPrecision(), ti.getScale());
+                }
+
+                SQLServerBulkCopy bcOperation = new SQLServerBulkCopy(connection);
+                SQLServerBulkCopyOptions option = new SQLServerBulkCopyOptions();
+                option.setBulkCopyTimeout(queryTimeout);
+                bcOperation.setBulkCopyOptions(option);
+                bcOperation.setDestinationTableName(stagingTableName);
+                bcOperation.setStmtColumnEncriptionSetting(this.getStmtColumnEncriptionSetting());
+                bcOperation.setDestinationTableMetadata(rs);
+                bcOperation.writeToServer(batchRecord);
+                bcOperation.close();
+            }
+
+            // The statement drops the staging table once it has been applied.
+            long[] updateCounts = new long[batchParamValues.size()];
+            boolean isResultSet = stmt.execute(query.getExecuteSQL(stagingTableName));
+            while (!isResultSet && -1 != stmt.getUpdateCount()) {
+                isResultSet = stmt.getMoreResults();
+            }
+            if (isResultSet) {
+                try (ResultSet rs = stmt.getResultSet()) {
+                    while (rs.next()) {
+                        updateCounts[rs.getInt(1) - 1] = rs.getLong(2);
+                    }
+                }
+            }
+            isStaged = false;
+            return updateCounts;
+        } catch (IllegalArgumentException e) {
+            // If a column type is not supported by bulk copy, fall back to the original batch logic.
+            if (getStatementLogger().isLoggable(java.util.logging.Level.FINE)) {
+                getStatementLogger().fine("Bulk copy for Batch Update failed: " + e.getMessage());
+                getStatementLogger().fine("Falling back to the original implementation for Batch Update.");
+            }
+            return null;
+        } finally {
+            if (isStaged) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("IF OBJECT_ID('tempdb.." + stagingTableName + "') IS NOT NULL DROP TABLE "
+                            + stagingTableName);
+                } catch (SQLException e) {
+                    if (getStatementLogger().isLoggable(java.util.logging.Level.FINE))
+                        getStatementLogger().fine(toString() + " failed to drop " + stagingTableName + ": " + e);
+                }
+            }
+        }
+    }
+
     private void checkValidColumns(TypeInfo ti) throws SQLServerException {
         int jdbctype = ti.getSSType().getJDBCType().getIntValue();
         String typeName;
@@ -2999,6 +3210,12 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
         // Create the parameter array that we'll use for all the items in this batch.
         Parameter[] batchParam = new Parameter[inOutParam.length];
 
+        // A request is sent once it reaches this size, so that the server starts executing a large batch while the
+        // driver is still encoding it, and the results of a request are read before the next one is written.
+        final int maxRequestSize = connection.getBatchRequestMaxSize();
+        final boolean isRequestLoggable = getStatementLogger().isLoggable(Level.FINER);
+        long requestStartTime = 0;
+
         TDSWriter tdsWriter = null;
         while (numBatchesExecuted < numBatches) {
             // Fill in the parameter values for this batch
@@ -3087,6 +3304,8 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                     } else {
                         resetForReexecute();
                         tdsWriter = batchCommand.startRequest(TDS.PKT_RPC);
+                        if (isRequestLoggable)
+                            requestStartTime = System.nanoTime();
                     }
 
                     // If we have to (re)prepare the statement then we must execute it so
@@ -3100,7 +3319,10 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                     ++numBatchesPrepared;
                     needsPrepare = doPrepExec(tdsWriter, batchParam, hasNewTypeDefinitions, hasExistingTypeDefinitions,
                             batchCommand);
-                    if (needsPrepare || numBatchesPrepared == numBatches) {
+                    if (needsPrepare || numBatchesPrepared == numBatches
+                            || (0 < maxRequestSize && tdsWriter.getMessageLength() >= maxRequestSize)) {
+                        long requestLength = tdsWriter.getMessageLength();
+                        int firstBatchInRequest = numBatchesExecuted;
                         ensureExecuteResultsReader(batchCommand.startResponse(getIsResponseBufferingAdaptive()));
 
                         boolean retry = false;
@@ -3184,6 +3406,12 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
                         if (retry)
                             continue;
 
+                        if (isRequestLoggable) {
+                            getStatementLogger().finer(toString() + " executed batch items " + firstBatchInRequest
+                                    + " to " + (numBatchesExecuted - 1) + " in a request of " + requestLength
+                                    + " bytes in " + (System.nanoTime() - requestStartTime) / 1000000 + " ms");
+                        }
+
                         // Only way to proceed with preparing the next set of batches is if
                         // we successfully executed the previously prepared set.
                         assert numBatchesExecuted == numBatchesPrepared;
@@ -3457,6 +3685,9 @@ public class SQLServerPreparedStatement extends SQLServerStatement implements IS
 
     @Override
     public final ParameterMetaData getParameterMetaData(boolean forceRefresh) throws SQLServerException {
+        if (null == sqlTextCacheKey) {
+            sqlTextCacheKey = new CityHash128Key(sqlText);
+        }
 
         SQLServerParameterMetaData pmd = this.connection.getCachedParameterMetadata(sqlTextCacheKey);
 
@@ -404,7 +404,7 @@ public final class SQLServerResource extends ListResourceBundle {
         {"R_unsupportedConversionTVP", "The conversion from {0} to {1} is unsupported for Table-Valued Parameter."},
         {"R_TVPMixedSource", "Cannot add column metadata. This Table-Valued Parameter has a ResultSet from which metadata will be derived."},
         {"R_TVPEmptyMetadata", "There are not enough fields in the Structured type. Structured types must have at least one field."},
-        {"R_TVPInvalidValue", "The value provided for Table-Valued Parameter {0} is not valid. Only SQLServerDataTable, ResultSet and ISQLServerDataRecord objects are supported."},
+        {"R_TVPInvalidValue", "The value provided for Table-Valued Parameter {0} is not valid. Only SQLServerDataTable, SQLServerColumnarDataTable, ResultSet and ISQLServerDataRecord objects are supported."},
         {"R_TVPInvalidColumnValue", "Input data is not in correct format."},
         {"R_TVPSortOrdinalGreaterThanFieldCount", "The sort ordinal {0} on field {1} exceeds the total number of fields."},
         {"R_TVPMissingSortOrderOrOrdinal", "The sort order and ordinal must either both be specified, or neither should be specified (SortOrder.Unspecified and -1). The values given were: order = {0}, ordinal = {1}."},
@@ -468,6 +468,7 @@ public final class SQLServerResource extends ListResourceBundle {
         {"R_cancelQueryTimeoutPropertyDescription", "The number of seconds to wait to cancel sending a query timeout."},
         {"R_invalidCancelQueryTimeout", "The cancel timeout value {0} is not valid."},
         {"R_useBulkCopyForBatchInsertPropertyDescription", "Whether the driver will use bulk copy API for batch insert operations"},
+        {"R_useBulkCopyForBatchUpdatePropertyDescription", "Whether the driver will use bulk copy API and a single set based statement for batch update and delete operations"},
         {"R_UnknownDataClsTokenNumber", "Unknown token for Data Classification."}, // From Server
         {"R_InvalidDataClsVersionNumber", "Invalid version number {0} for Data Classification."}, // From Server
         {"R_unknownUTF8SupportValue", "Unknown value for UTF8 support."},
@@ -545,7 +546,20 @@ public final class SQLServerResource extends ListResourceBundle {
         {"R_ManagedIdentityTokenAcquisitionFail", "Failed to acquire managed identity token. Request for the token succeeded, but no token was returned. The token is null."},
         {"R_AmbiguousRowUpdate", "Failed to execute updateRow(). The update is attempting an ambiguous update on tables \"{0}\" and \"{1}\". Ensure all columns being updated prior to the updateRow() call belong to the same table."},
         {"R_InvalidSqlQuery", "Invalid SQL Query: {0}"},
-        {"R_InvalidScale", "Scale of input value is larger than the maximum allowed by SQL Server."}
+        {"R_InvalidScale", "Scale of input value is larger than the maximum allowed by SQL Server."},
+        {"R_connectionPoolTimeout", "Timed out after {0} seconds waiting for a connection from the connection pool."},
+        {"R_connectionPoolClosed", "The connection pool is closed."},
+        {"R_prewarmTimeout", "Only {0} of {1} connections were opened within {2} milliseconds."},
+        {"R_invalidPositiveArg", "The {0} argument must be greater than zero."},
+        {"R_parallelBulkCopyConnection", "A parallel bulk copy requires a SQLServerBulkCopy constructed from a connection string."},
+        {"R_bulkCopyMetadataCacheTtlPropertyDescription", "The number of seconds the destination table metadata of a bulk copy is cached and reused by later bulk copies into the same table. A value of 0 disables the cache."},
+        {"R_invalidBulkCopyMetadataCacheTtl", "The bulkCopyMetadataCacheTtl {0} is not valid."},
+        {"R_batchRequestMaxSizePropertyDescription", "The size in bytes after which a prepared statement batch is sent to the server and its results read before the rest of the batch is sent. A value of 0 sends the batch in as few requests as possible."},
+        {"R_invalidBatchRequestMaxSize", "The batchRequestMaxSize {0} is not valid."},
+        {"R_readAheadPacketsPropertyDescription", "The number of response packets a background thread reads ahead of the application while it processes a result that spans several packets. The number is further bounded by maxResultBuffer. A value of 0 disables the read-ahead."},
+        {"R_invalidReadAheadPackets", "The readAheadPackets {0} is not valid."},
+        {"R_serverResolutionCacheTtlPropertyDescription", "The number of seconds the addresses of a server and the port of a named instance returned by the SQL Server Browser are cached and reused by later connections. A value of 0 disables the cache."},
+        {"R_invalidServerResolutionCacheTtl", "The serverResolutionCacheTtl {0} is not valid."}
     };
 }
 // @formatter:on
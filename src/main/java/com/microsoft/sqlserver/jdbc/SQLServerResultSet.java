@@ -2102,11 +2102,100 @@ public class SQLServerResultSet implements ISQLServerResultSet, java.io.Serializ
 
     private Object getValue(int columnIndex, JDBCType jdbcType, InputStreamGetterArgs getterArgs,
             Calendar cal) throws SQLServerException {
-        Object o = getterGetColumn(columnIndex).getValue(jdbcType, getterArgs, cal, tdsReader, stmt);
+        return getValue(getterGetColumn(columnIndex), jdbcType, getterArgs, cal);
+    }
+
+    private Object getValue(Column column, JDBCType jdbcType, InputStreamGetterArgs getterArgs,
+            Calendar cal) throws SQLServerException {
+        Object o = column.getValue(jdbcType, getterArgs, cal, tdsReader, stmt);
         lastValueWasNull = (null == o);
         return o;
     }
 
+    /*
+     * The primitive getters below read BIT, TINYINT, SMALLINT, INTEGER, BIGINT, FLOAT and REAL columns straight from
+     * the response without boxing the value, applying the same narrowing conversions as the DDC conversions used by
+     * getValue. Any other column, and any encrypted or filtered column, is read through getValue.
+     */
+
+    private long getLongValue(Column column) throws SQLServerException {
+        long value = column.getLong(tdsReader);
+        lastValueWasNull = column.isNull();
+        return value;
+    }
+
+    private double getDoubleValue(Column column) throws SQLServerException {
+        double value = column.getDouble(tdsReader);
+        lastValueWasNull = column.isNull();
+        return value;
+    }
+
+    private boolean getBooleanInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isIntegral()) {
+            return 0 != getLongValue(column);
+        }
+        Boolean value = (Boolean) getValue(column, JDBCType.BIT, null, null);
+        return null != value ? value : false;
+    }
+
+    private byte getByteInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isIntegral()) {
+            return (byte) getLongValue(column);
+        }
+        Short value = (Short) getValue(column, JDBCType.TINYINT, null, null);
+        return null != value ? value.byteValue() : 0;
+    }
+
+    private short getShortInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isIntegral()) {
+            return (short) getLongValue(column);
+        }
+        Short value = (Short) getValue(column, JDBCType.SMALLINT, null, null);
+        return null != value ? value : 0;
+    }
+
+    private int getIntInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isIntegral()) {
+            return (int) getLongValue(column);
+        }
+        Integer value = (Integer) getValue(column, JDBCType.INTEGER, null, null);
+        return null != value ? value : 0;
+    }
+
+    private long getLongInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isIntegral()) {
+            return getLongValue(column);
+        }
+        Long value = (Long) getValue(column, JDBCType.BIGINT, null, null);
+        return null != value ? value : 0;
+    }
+
+    private float getFloatInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isFloatingPoint()) {
+            return (float) getDoubleValue(column);
+        }
+        Float value = (Float) getValue(column, JDBCType.REAL, null, null);
+        return null != value ? value : 0;
+    }
+
+    private double getDoubleInternal(int columnIndex) throws SQLServerException {
+        Column column = getterGetColumn(columnIndex);
+        if (column.isFloatingPoint()) {
+            return getDoubleValue(column);
+        }
+        if (column.isIntegral()) {
+            return getLongValue(column);
+        }
+        Double value = (Double) getValue(column, JDBCType.DOUBLE, null, null);
+        return null != value ? value : 0;
+    }
+
     void setInternalVariantType(int columnIndex, SqlVariant type) throws SQLServerException {
         getterGetColumn(columnIndex).setInternalVariant(type);
     }
@@ -2216,36 +2305,40 @@ public class SQLServerResultSet implements ISQLServerResultSet, java.io.Serializ
     public boolean getBoolean(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getBoolean", columnIndex);
         checkClosed();
-        Boolean value = (Boolean) getValue(columnIndex, JDBCType.BIT);
-        loggerExternal.exiting(getClassNameLogging(), "getBoolean", value);
-        return null != value ? value : false;
+        boolean value = getBooleanInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getBoolean", value);
+        return value;
     }
 
     @Override
     public boolean getBoolean(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getBoolean", columnName);
         checkClosed();
-        Boolean value = (Boolean) getValue(findColumn(columnName), JDBCType.BIT);
-        loggerExternal.exiting(getClassNameLogging(), "getBoolean", value);
-        return null != value ? value : false;
+        boolean value = getBooleanInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getBoolean", value);
+        return value;
     }
 
     @Override
     public byte getByte(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getByte", columnIndex);
         checkClosed();
-        Short value = (Short) getValue(columnIndex, JDBCType.TINYINT);
-        loggerExternal.exiting(getClassNameLogging(), "getByte", value);
-        return null != value ? value.byteValue() : 0;
+        byte value = getByteInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getByte", value);
+        return value;
     }
 
     @Override
     public byte getByte(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getByte", columnName);
         checkClosed();
-        Short value = (Short) getValue(findColumn(columnName), JDBCType.TINYINT);
-        loggerExternal.exiting(getClassNameLogging(), "getByte", value);
-        return null != value ? value.byteValue() : 0;
+        byte value = getByteInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getByte", value);
+        return value;
     }
 
     @Override
@@ -2308,36 +2401,40 @@ public class SQLServerResultSet implements ISQLServerResultSet, java.io.Serializ
     public double getDouble(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getDouble", columnIndex);
         checkClosed();
-        Double value = (Double) getValue(columnIndex, JDBCType.DOUBLE);
-        loggerExternal.exiting(getClassNameLogging(), "getDouble", value);
-        return null != value ? value : 0;
+        double value = getDoubleInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getDouble", value);
+        return value;
     }
 
     @Override
     public double getDouble(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getDouble", columnName);
         checkClosed();
-        Double value = (Double) getValue(findColumn(columnName), JDBCType.DOUBLE);
-        loggerExternal.exiting(getClassNameLogging(), "getDouble", value);
-        return null != value ? value : 0;
+        double value = getDoubleInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getDouble", value);
+        return value;
     }
 
     @Override
     public float getFloat(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getFloat", columnIndex);
         checkClosed();
-        Float value = (Float) getValue(columnIndex, JDBCType.REAL);
-        loggerExternal.exiting(getClassNameLogging(), "getFloat", value);
-        return null != value ? value : 0;
+        float value = getFloatInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getFloat", value);
+        return value;
     }
 
     @Override
     public float getFloat(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getFloat", columnName);
         checkClosed();
-        Float value = (Float) getValue(findColumn(columnName), JDBCType.REAL);
-        loggerExternal.exiting(getClassNameLogging(), "getFloat", value);
-        return null != value ? value : 0;
+        float value = getFloatInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getFloat", value);
+        return value;
     }
 
     @Override
@@ -2380,36 +2477,40 @@ public class SQLServerResultSet implements ISQLServerResultSet, java.io.Serializ
     public int getInt(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getInt", columnIndex);
         checkClosed();
-        Integer value = (Integer) getValue(columnIndex, JDBCType.INTEGER);
-        loggerExternal.exiting(getClassNameLogging(), "getInt", value);
-        return null != value ? value : 0;
+        int value = getIntInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getInt", value);
+        return value;
     }
 
     @Override
     public int getInt(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getInt", columnName);
         checkClosed();
-        Integer value = (Integer) getValue(findColumn(columnName), JDBCType.INTEGER);
-        loggerExternal.exiting(getClassNameLogging(), "getInt", value);
-        return null != value ? value : 0;
+        int value = getIntInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getInt", value);
+        return value;
     }
 
     @Override
     public long getLong(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getLong", columnIndex);
         checkClosed();
-        Long value = (Long) getValue(columnIndex, JDBCType.BIGINT);
-        loggerExternal.exiting(getClassNameLogging(), "getLong", value);
-        return null != value ? value : 0;
+        long value = getLongInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getLong", value);
+        return value;
     }
 
     @Override
     public long getLong(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getLong", columnName);
         checkClosed();
-        Long value = (Long) getValue(findColumn(columnName), JDBCType.BIGINT);
-        loggerExternal.exiting(getClassNameLogging(), "getLong", value);
-        return null != value ? value : 0;
+        long value = getLongInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getLong", value);
+        return value;
     }
 
     @Override
@@ -2545,18 +2646,20 @@ public class SQLServerResultSet implements ISQLServerResultSet, java.io.Serializ
     public short getShort(int columnIndex) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getShort", columnIndex);
         checkClosed();
-        Short value = (Short) getValue(columnIndex, JDBCType.SMALLINT);
-        loggerExternal.exiting(getClassNameLogging(), "getShort", value);
-        return null != value ? value : 0;
+        short value = getShortInternal(columnIndex);
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getShort", value);
+        return value;
     }
 
     @Override
     public short getShort(String columnName) throws SQLServerException {
         loggerExternal.entering(getClassNameLogging(), "getShort", columnName);
         checkClosed();
-        Short value = (Short) getValue(findColumn(columnName), JDBCType.SMALLINT);
-        loggerExternal.exiting(getClassNameLogging(), "getShort", value);
-        return null != value ? value : 0;
+        short value = getShortInternal(findColumn(columnName));
+        if (loggerExternal.isLoggable(Level.FINER))
+            loggerExternal.exiting(getClassNameLogging(), "getShort", value);
+        return value;
     }
 
     @Override
@@ -0,0 +1,63 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+/**
+ * Provides the statistics of the TLS handshakes of the connections of the process, and of the cache of SSL contexts
+ * they share. Connections with the same trust and key material, protocol and server share an SSL context, so that
+ * a connection can resume the TLS session of an earlier one with an abbreviated handshake.
+ *
+ * The statistics are returned by {@link SQLServerConnection#getSSLContextCacheStatistics()}, and are published over
+ * JMX under the name {@code com.microsoft.sqlserver.jdbc:type=SSLContextCache} once
+ * {@link SQLServerConnection#registerSSLContextCacheMBean()} has been called.
+ */
+public interface SQLServerSSLContextCacheMXBean {
+
+    /**
+     * Returns the number of connections that reused a cached SSL context.
+     *
+     * @return the number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of connections that created an SSL context, because none was cached for their settings or
+     * because their settings cannot be cached.
+     *
+     * @return the number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of SSL contexts in the cache.
+     *
+     * @return the number of cached SSL contexts
+     */
+    int getSize();
+
+    /**
+     * Returns the number of TLS handshakes completed.
+     *
+     * @return the number of handshakes
+     */
+    long getHandshakeCount();
+
+    /**
+     * Returns the number of TLS 1.2 or earlier handshakes completed that resumed an earlier session. A TLS 1.3
+     * handshake that resumes a session with a pre-shared key creates a new session, which cannot be told apart from a
+     * full handshake, so TLS 1.3 resumptions are not counted.
+     *
+     * @return the number of abbreviated handshakes
+     */
+    long getResumedHandshakeCount();
+
+    /**
+     * Returns the total time spent in the TLS handshakes completed, in milliseconds.
+     *
+     * @return the total handshake time
+     */
+    long getTotalHandshakeTimeMillis();
+}
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Stack;
 import java.util.StringTokenizer;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -28,8 +29,6 @@ import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.microsoft.sqlserver.jdbc.SQLServerConnection.CityHash128Key;
-
 
 /**
  * Provides an implementation of java.sql.Statement JDBC Interface to assist in creating Statements against SQL Server.
@@ -815,6 +814,23 @@ public class SQLServerStatement implements ISQLServerStatement {
         return null != resultSet;
     }
 
+    @Override
+    public CompletableFuture<ISQLServerResultSet> executeQueryAsync(String sql) {
+        loggerExternal.entering(getClassNameLogging(), "executeQueryAsync", sql);
+        CompletableFuture<ISQLServerResultSet> future = AsyncExecutor
+                .supplyAsync(() -> (ISQLServerResultSet) executeQuery(sql));
+        loggerExternal.exiting(getClassNameLogging(), "executeQueryAsync");
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql) {
+        loggerExternal.entering(getClassNameLogging(), "executeUpdateAsync", sql);
+        CompletableFuture<Long> future = AsyncExecutor.supplyAsync(() -> executeLargeUpdate(sql));
+        loggerExternal.exiting(getClassNameLogging(), "executeUpdateAsync");
+        return future;
+    }
+
     /**
      * Statement exec command
      */
@@ -851,12 +867,10 @@ public class SQLServerStatement implements ISQLServerStatement {
     private String ensureSQLSyntax(String sql) throws SQLServerException {
         if (sql.indexOf(LEFT_CURLY_BRACKET) >= 0) {
 
-            CityHash128Key cacheKey = new CityHash128Key(sql);
-
             // Check for cached SQL metadata.
-            ParsedSQLCacheItem cacheItem = getCachedParsedSQL(cacheKey);
+            ParsedSQLCacheItem cacheItem = getCachedParsedSQL(sql);
             if (null == cacheItem)
-                cacheItem = parseAndCacheSQL(cacheKey, sql);
+                cacheItem = parseAndCacheSQL(sql);
 
             // Retrieve from cache item.
             procedureName = cacheItem.procedureName;
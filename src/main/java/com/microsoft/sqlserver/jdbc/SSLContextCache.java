@@ -0,0 +1,178 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.net.ssl.SSLContext;
+
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap.Builder;
+
+
+/**
+ * A least recently used cache of initialized SSL contexts shared by the connections of the process.
+ *
+ * Creating an SSL context loads the trust store and client key files and initializes the trust and key managers, and
+ * the JSSE provider only resumes a TLS session with a context that has its session cached. Connections whose settings
+ * hash to the same key therefore share a context. The key covers every setting the trust and key managers are built
+ * from, including the server name that the certificate is validated against and the size and modification time of each
+ * file read, so that a replaced trust store is loaded again. Passwords only enter the key through its hash.
+ */
+final class SSLContextCache implements SQLServerSSLContextCacheMXBean {
+    /** Number of SSL contexts held by the cache */
+    static final int CAPACITY = 64;
+
+    /** Name under which the cache statistics are published over JMX */
+    static final String OBJECT_NAME = "com.microsoft.sqlserver.jdbc:type=SSLContextCache";
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder handshakeCount = new LongAdder();
+    private final LongAdder resumedHandshakeCount = new LongAdder();
+    private final LongAdder handshakeNanos = new LongAdder();
+
+    private final ConcurrentLinkedHashMap<String, SSLContext> cache = new Builder<String, SSLContext>()
+            .maximumWeightedCapacity(CAPACITY).build();
+
+    /**
+     * Builds the key of an SSL context from the settings it is created from.
+     */
+    static final class KeyBuilder {
+        private final MessageDigest digest;
+
+        KeyBuilder() throws NoSuchAlgorithmException {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+
+        KeyBuilder add(Object setting) {
+            digest.update(String.valueOf(setting).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return this;
+        }
+
+        KeyBuilder add(char[] secret) {
+            if (null != secret) {
+                for (char c : secret) {
+                    digest.update((byte) (c >> 8));
+                    digest.update((byte) c);
+                }
+            }
+            digest.update((byte) 0);
+            return this;
+        }
+
+        /**
+         * Adds the name of a file, and its size and modification time if it exists.
+         */
+        KeyBuilder addFile(String fileName) {
+            add(fileName);
+            if (null != fileName) {
+                File file = new File(fileName);
+                add(file.length()).add(file.lastModified());
+            }
+            return this;
+        }
+
+        String build() {
+            return Util.bytesToHexString(digest.digest(), digest.getDigestLength());
+        }
+    }
+
+    SSLContext get(String key) {
+        SSLContext sslContext = cache.get(key);
+        if (null == sslContext) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return sslContext;
+    }
+
+    void put(String key, SSLContext sslContext) {
+        cache.putIfAbsent(key, sslContext);
+    }
+
+    /**
+     * Records a connection whose SSL context could not be cached.
+     */
+    void recordUncached() {
+        missCount.increment();
+    }
+
+    /**
+     * Records a completed TLS handshake.
+     *
+     * @param nanos
+     *        the duration of the handshake
+     * @param isResumed
+     *        whether the handshake resumed an earlier session, which is only detected for TLS 1.2 and earlier
+     */
+    void recordHandshake(long nanos, boolean isResumed) {
+        handshakeCount.increment();
+        handshakeNanos.add(nanos);
+        if (isResumed) {
+            resumedHandshakeCount.increment();
+        }
+    }
+
+    /**
+     * Publishes the statistics of the cache on the platform MBean server, unless they are already published.
+     */
+    void registerMBean() throws SQLServerException {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // registered concurrently by another thread
+        } catch (JMException e) {
+            throw new SQLServerException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public long getHandshakeCount() {
+        return handshakeCount.sum();
+    }
+
+    @Override
+    public long getResumedHandshakeCount() {
+        return resumedHandshakeCount.sum();
+    }
+
+    @Override
+    public long getTotalHandshakeTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(handshakeNanos.sum());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import mssql.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap.Builder;
+
+
+/**
+ * Caches the addresses that host names resolve to and the ports that the SQL Server Browser returns for named
+ * instances, so that opening a connection does not wait for a DNS lookup and a UDP round trip to the browser each time.
+ *
+ * Entries are shared by all the connections of the process. A connection uses an entry for at most its own
+ * serverResolutionCacheTtl seconds after it was resolved, whichever connection resolved it. Failed resolutions are
+ * cached as well, and used for at most {@value #NEGATIVE_TTL_SECONDS} seconds,
+ * so that a pool refilling against an unreachable server does not repeat the lookup for every connection. The entries
+ * of a server are dropped as soon as a connection fails to reach it, since the failure may be caused by a moved server
+ * or instance; logon, TLS and protocol failures keep them. The least recently used entries are evicted beyond
+ * {@value #CAPACITY} entries.
+ */
+final class ServerResolutionCache {
+    private static final Logger logger = Logger
+            .getLogger("com.microsoft.sqlserver.jdbc.internals.ServerResolutionCache");
+
+    /** Number of entries held by each of the address and instance port caches */
+    static final int CAPACITY = 1024;
+
+    /** Maximum number of seconds a failed resolution is cached */
+    static final int NEGATIVE_TTL_SECONDS = 5;
+
+    private static final ConcurrentLinkedHashMap<String, Entry<InetAddress[]>> addresses = new Builder<String,
+            Entry<InetAddress[]>>().maximumWeightedCapacity(CAPACITY).build();
+
+    private static final ConcurrentLinkedHashMap<String, Entry<String>> instancePorts = new Builder<String,
+            Entry<String>>().maximumWeightedCapacity(CAPACITY).build();
+
+    /**
+     * The result of a resolution, either a value or the exception it failed with.
+     */
+    static final class Entry<T> {
+        final T value;
+        final Exception failure;
+        private final long resolvedAtNanos = System.nanoTime();
+
+        Entry(T value, Exception failure) {
+            this.value = value;
+            this.failure = failure;
+        }
+
+        /**
+         * Returns whether the entry is too old for a connection whose resolutions are cached for ttlSeconds.
+         */
+        boolean isExpired(long nowNanos, int ttlSeconds) {
+            long maxAgeSeconds = (null != failure) ? Math.min(ttlSeconds, NEGATIVE_TTL_SECONDS) : ttlSeconds;
+            return nowNanos - resolvedAtNanos >= TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        }
+    }
+
+    /**
+     * Looks up the port of a named instance.
+     */
+    interface InstancePortResolver {
+        String resolve() throws SQLServerException;
+    }
+
+    private ServerResolutionCache() {
+        throw new UnsupportedOperationException(SQLServerException.getErrString("R_notSupported"));
+    }
+
+    private static <T> Entry<T> get(ConcurrentLinkedHashMap<String, Entry<T>> cache, String key, int ttlSeconds) {
+        Entry<T> entry = cache.get(key);
+        if (null != entry && entry.isExpired(System.nanoTime(), ttlSeconds)) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String getInstanceKey(String server, String instanceName) {
+        return (server + '\\' + instanceName).toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the addresses of a host, as InetAddress.getAllByName does.
+     *
+     * @param host
+     *        the host name
+     * @param ttlSeconds
+     *        the number of seconds a resolution is cached, 0 to bypass the cache
+     */
+    static InetAddress[] getAllByName(String host, int ttlSeconds) throws UnknownHostException {
+        if (0 == ttlSeconds) {
+            return InetAddress.getAllByName(host);
+        }
+
+        String key = host.toLowerCase(Locale.ENGLISH);
+        Entry<InetAddress[]> entry = get(addresses, key, ttlSeconds);
+        if (null == entry) {
+            try {
+                InetAddress[] inetAddrs = InetAddress.getAllByName(host);
+                addresses.put(key, new Entry<>(inetAddrs, null));
+                return inetAddrs.clone();
+            } catch (UnknownHostException e) {
+                addresses.put(key, new Entry<>(null, e));
+                throw e;
+            }
+        }
+
+        if (null != entry.failure) {
+            UnknownHostException e = new UnknownHostException(entry.failure.getMessage());
+            e.initCause(entry.failure);
+            throw e;
+        }
+        return entry.value.clone();
+    }
+
+    /**
+     * Returns the cached resolution of the port of a named instance, resolving it if it is not cached.
+     *
+     * @param server
+     *        the server name
+     * @param instanceName
+     *        the instance name
+     * @param ttlSeconds
+     *        the number of seconds a resolution is cached
+     * @param resolver
+     *        queries the SQL Server Browser for the port
+     * @return the port, or the exception the resolution failed with
+     */
+    static Entry<String> getInstancePort(String server, String instanceName, int ttlSeconds,
+            InstancePortResolver resolver) {
+        String key = getInstanceKey(server, instanceName);
+        Entry<String> entry = get(instancePorts, key, ttlSeconds);
+        if (null == entry) {
+            try {
+                entry = new Entry<>(resolver.resolve(), null);
+            } catch (SQLServerException e) {
+                entry = new Entry<>(null, e);
+            }
+            instancePorts.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static <T> boolean removeResolved(ConcurrentLinkedHashMap<String, Entry<T>> cache, String key) {
+        Entry<T> entry = cache.get(key);
+        return null != entry && null == entry.failure && cache.remove(key, entry);
+    }
+
+    /**
+     * Drops the cached addresses of a server and the cached port of its instance, after a connection could not reach
+     * the server.
+     * Failed resolutions are kept until they expire, as the failure of the connection is likely caused by them.
+     *
+     * @param server
+     *        the server name
+     * @param instanceName
+     *        the instance name, or null
+     */
+    static void invalidate(String server, String instanceName) {
+        boolean removed = removeResolved(addresses, server.toLowerCase(Locale.ENGLISH));
+        if (null != instanceName) {
+            removed |= removeResolved(instancePorts, getInstanceKey(server, instanceName));
+        }
+        if (removed && logger.isLoggable(Level.FINER)) {
+            logger.finer("Removed the resolution of server " + server + " from the server resolution cache");
+        }
+    }
+
+    static int size() {
+        return addresses.size() + instancePorts.size();
+    }
+}
@@ -12,6 +12,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 /**
@@ -30,6 +32,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * connection pool will have a single shared object across all JDBC connections as long as there are some open
  * connections in the pool with timeouts enabled.
  * 
+ * Command timeouts are kept in a {@link TimeoutWheel} that the timer thread advances every
+ * {@value TimeoutWheel#TICK_MILLIS} milliseconds, so that scheduling and canceling the timeout of a command does not
+ * contend on the lock of the executor's queue.
+ * 
  * Interrupt actions to handle a timeout are executed in their own thread. A handler thread is created when the timeout
  * occurs with the thread name matching the connection id of the client connection that created the timeout. If the
  * timeout is canceled prior to the interrupt action being executed, say because the command finished, then no handler
@@ -47,6 +53,8 @@ class SharedTimer implements Serializable {
 
     static final String CORE_THREAD_PREFIX = "mssql-jdbc-shared-timer-core-";
 
+    private static final Logger logger = Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.SharedTimer");
+
     private static final AtomicLong CORE_THREAD_COUNTER = new AtomicLong();
     private static final Lock LOCK = new ReentrantLock();
     /**
@@ -60,6 +68,7 @@ class SharedTimer implements Serializable {
 
     private static volatile SharedTimer instance;
     private transient ScheduledThreadPoolExecutor executor;
+    private transient TimeoutWheel timeoutWheel;
 
     private SharedTimer() {
         executor = new ScheduledThreadPoolExecutor(1, task -> {
@@ -68,6 +77,18 @@ class SharedTimer implements Serializable {
             return t;
         });
         executor.setRemoveOnCancelPolicy(true);
+        timeoutWheel = new TimeoutWheel();
+        executor.scheduleAtFixedRate(this::advanceTimeoutWheel, TimeoutWheel.TICK_MILLIS, TimeoutWheel.TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void advanceTimeoutWheel() {
+        try {
+            timeoutWheel.advance();
+        } catch (RuntimeException e) {
+            // an exception would cancel the periodic task and with it all later timeouts
+            logger.log(Level.WARNING, "Timeout task failed: " + e.getMessage(), e);
+        }
     }
 
     public long getId() {
@@ -96,6 +117,7 @@ class SharedTimer implements Serializable {
                 // Removed last reference so perform cleanup
                 executor.shutdownNow();
                 executor = null;
+                timeoutWheel = null;
                 instance = null;
             }
         } finally {
@@ -124,19 +146,32 @@ class SharedTimer implements Serializable {
     }
 
     /**
-     * Schedule a task to execute in the future using this SharedTimer's internal executor.
+     * Schedule a task to execute in the future using this SharedTimer's timeout wheel.
      */
-    public ScheduledFuture<?> schedule(TDSTimeoutTask task, long delaySeconds) {
+    public TimeoutWheel.Timeout schedule(TDSTimeoutTask task, long delaySeconds) {
         return schedule(task, delaySeconds, TimeUnit.SECONDS);
     }
 
     /**
-     * Schedule a task to execute in the future using this SharedTimer's internal executor.
+     * Schedule a task to execute in the future using this SharedTimer's timeout wheel. The returned timeout must be
+     * canceled once the task is no longer needed.
+     */
+    public TimeoutWheel.Timeout schedule(TDSTimeoutTask task, long delay, TimeUnit unit) {
+        TimeoutWheel wheel = timeoutWheel;
+        if (wheel == null) {
+            throw new IllegalStateException("Cannot schedule tasks after shutdown");
+        }
+        return wheel.schedule(task, delay, unit);
+    }
+
+    /**
+     * Schedule a task to execute periodically using this SharedTimer's internal executor. The task must not block as
+     * it shares the timer thread with the timeout tasks.
      */
-    public ScheduledFuture<?> schedule(TDSTimeoutTask task, long delay, TimeUnit unit) {
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay, TimeUnit unit) {
         if (executor == null) {
             throw new IllegalStateException("Cannot schedule tasks after shutdown");
         }
-        return executor.schedule(task, delay, unit);
+        return executor.scheduleWithFixedDelay(task, delay, delay, unit);
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Recycles the payload buffers of TDS response packets so that reading a large response does not allocate a new
+ * packet-sized array for every packet received.
+ *
+ * Response packets are chained together and held by TDSReaderMarks for as long as the driver may reset back to them
+ * (see TDSPacket). Marks are never released explicitly, so the reference count of a packet is the JVM's own
+ * reachability: every payload handed out by a pool is tracked with a phantom reference to the packet that owns it, and
+ * once that packet has been collected the payload is returned to the pool to back the next packet. A payload is
+ * therefore never reused while any mark, reader or stream can still reach it.
+ *
+ * Pools are shared by all connections and are size-classed by the negotiated packet size. The number of idle payloads
+ * kept by each pool is bounded by {@link #MAX_POOLED_BYTES}; payloads reclaimed beyond that bound are left to GC.
+ */
+final class TDSPacketPool {
+    /** Upper bound of idle payload bytes kept by each size class */
+    static final int MAX_POOLED_BYTES = 4 * 1024 * 1024;
+
+    /** Minimum number of idle payloads kept by each size class regardless of the byte bound */
+    private static final int MIN_POOLED_PAYLOADS = 16;
+
+    private static final ConcurrentHashMap<Integer, TDSPacketPool> pools = new ConcurrentHashMap<>();
+
+    private final int payloadSize;
+    private final int maxIdlePayloads;
+
+    private final ReferenceQueue<TDSPacket> collectedPackets = new ReferenceQueue<>();
+
+    // Phantom references are only enqueued if they are themselves still reachable when their packet is collected.
+    private final Set<PayloadReference> trackedPayloads = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentLinkedQueue<byte[]> idlePayloads = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong discards = new AtomicLong();
+
+    /**
+     * Associates a payload buffer with the packet that owns it.
+     */
+    private static final class PayloadReference extends PhantomReference<TDSPacket> {
+        private final byte[] payload;
+
+        PayloadReference(TDSPacket packet, ReferenceQueue<TDSPacket> queue) {
+            super(packet, queue);
+            this.payload = packet.payload;
+        }
+    }
+
+    private TDSPacketPool(int payloadSize) {
+        this.payloadSize = payloadSize;
+        this.maxIdlePayloads = Math.max(MIN_POOLED_PAYLOADS, MAX_POOLED_BYTES / payloadSize);
+    }
+
+    /**
+     * Returns the shared pool for packets of the given size, creating it on first use.
+     *
+     * @param payloadSize
+     *        the size of the packet payloads, which is the negotiated TDS packet size
+     * @return the packet pool
+     */
+    static TDSPacketPool getPool(int payloadSize) {
+        return pools.computeIfAbsent(payloadSize, TDSPacketPool::new);
+    }
+
+    /**
+     * Returns a new packet backed by a recycled payload buffer when one is available.
+     *
+     * @return an empty packet
+     */
+    TDSPacket getPacket() {
+        reclaimPayloads();
+
+        byte[] payload = idlePayloads.poll();
+        if (null != payload) {
+            idleCount.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            payload = new byte[payloadSize];
+            misses.incrementAndGet();
+        }
+
+        TDSPacket packet = new TDSPacket(payload);
+        trackedPayloads.add(new PayloadReference(packet, collectedPackets));
+        return packet;
+    }
+
+    /**
+     * Moves the payloads of collected packets to the idle list.
+     */
+    private void reclaimPayloads() {
+        PayloadReference ref;
+        while (null != (ref = (PayloadReference) collectedPackets.poll())) {
+            trackedPayloads.remove(ref);
+            if (idleCount.incrementAndGet() <= maxIdlePayloads) {
+                idlePayloads.offer(ref.payload);
+            } else {
+                idleCount.decrementAndGet();
+                discards.incrementAndGet();
+            }
+        }
+    }
+
+    int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * @return the number of packets whose payload was recycled
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of packets that required a new payload allocation
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of reclaimed payloads dropped because the pool was full
+     */
+    long getDiscards() {
+        return discards.get();
+    }
+
+    /**
+     * @return the number of payloads currently idle in the pool
+     */
+    int getIdleCount() {
+        reclaimPayloads();
+        return idleCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TDSPacketPool(size:" + payloadSize + " hits:" + hits.get() + " misses:" + misses.get() + " discards:"
+                + discards.get() + " idle:" + idleCount.get() + ")";
+    }
+}
@@ -21,6 +21,7 @@ enum TVPType {
     RESULTSET,
     ISQLSERVERDATARECORD,
     SQLSERVERDATATABLE,
+    SQLSERVERCOLUMNARDATATABLE,
     NULL
 }
 
@@ -52,6 +53,8 @@ class TVP {
     Map<Integer, SQLServerMetaData> columnMetadata = null;
     Iterator<Entry<Integer, Object[]>> sourceDataTableRowIterator = null;
     ISQLServerDataRecord sourceRecord = null;
+    SQLServerColumnarDataTable sourceColumnarDataTable = null;
+    int sourceColumnarDataTableRow = -1;
     TVPType tvpType = null;
     Set<String> columnNames = null;
 
@@ -86,6 +89,15 @@ class TVP {
         populateMetadataFromDataTable();
     }
 
+    TVP(String tvpPartName, SQLServerColumnarDataTable tvpDataTable) throws SQLServerException {
+        if (tvpPartName == null) {
+            tvpPartName = tvpDataTable.getTvpName();
+        }
+        initTVP(TVPType.SQLSERVERCOLUMNARDATATABLE, tvpPartName);
+        sourceColumnarDataTable = tvpDataTable;
+        populateMetadataFromDataTable(sourceColumnarDataTable.getColumnMetadata());
+    }
+
     TVP(String tvpPartName, ResultSet tvpResultSet) throws SQLServerException {
         initTVP(TVPType.RESULTSET, tvpPartName);
         sourceResultSet = tvpResultSet;
@@ -110,6 +122,9 @@ class TVP {
     }
 
     Object[] getRowData() throws SQLServerException {
+        // The rows of a columnar table are written from its columns, see TDSWriter.writeTVPRows, so that the values
+        // are not boxed into a row.
+        assert TVPType.SQLSERVERCOLUMNARDATATABLE != tvpType;
         if (TVPType.RESULTSET == tvpType) {
             int colCount = columnMetadata.size();
             Object[] rowData = new Object[colCount];
@@ -117,9 +132,10 @@ class TVP {
                 try {
                     /*
                      * for Time types, getting TimeStamp instead of Time, because this value will be converted to String
-                     * later on. If the value is a time object, the millisecond would be removed.
+                     * later on. If the value is a time object, the millisecond would be removed. The column types were
+                     * read from the ResultSetMetaData when the TVP was created.
                      */
-                    if (java.sql.Types.TIME == sourceResultSet.getMetaData().getColumnType(i + 1)) {
+                    if (java.sql.Types.TIME == columnMetadata.get(i).javaSqlType) {
                         rowData[i] = sourceResultSet.getTimestamp(i + 1);
                     } else {
                         rowData[i] = sourceResultSet.getObject(i + 1);
@@ -145,6 +161,8 @@ class TVP {
             }
         } else if (TVPType.SQLSERVERDATATABLE == tvpType) {
             return sourceDataTableRowIterator.hasNext();
+        } else if (TVPType.SQLSERVERCOLUMNARDATATABLE == tvpType) {
+            return ++sourceColumnarDataTableRow < sourceColumnarDataTable.getRowCount();
         } else if (null != sourceRecord) {
             return sourceRecord.next();
         }
@@ -153,14 +171,18 @@ class TVP {
 
     void populateMetadataFromDataTable() throws SQLServerException {
         if (null != sourceDataTable) {
-            Map<Integer, SQLServerDataColumn> dataTableMetaData = sourceDataTable.getColumnMetadata();
-            if (null == dataTableMetaData || dataTableMetaData.isEmpty()) {
-                throw new SQLServerException(SQLServerException.getErrString("R_TVPEmptyMetadata"), null);
-            }
-            dataTableMetaData.entrySet()
-                    .forEach(e -> columnMetadata.put(e.getKey(), new SQLServerMetaData(e.getValue().columnName,
-                            e.getValue().javaSqlType, e.getValue().precision, e.getValue().scale)));
+            populateMetadataFromDataTable(sourceDataTable.getColumnMetadata());
+        }
+    }
+
+    private void populateMetadataFromDataTable(
+            Map<Integer, SQLServerDataColumn> dataTableMetaData) throws SQLServerException {
+        if (null == dataTableMetaData || dataTableMetaData.isEmpty()) {
+            throw new SQLServerException(SQLServerException.getErrString("R_TVPEmptyMetadata"), null);
         }
+        dataTableMetaData.entrySet()
+                .forEach(e -> columnMetadata.put(e.getKey(), new SQLServerMetaData(e.getValue().columnName,
+                        e.getValue().javaSqlType, e.getValue().precision, e.getValue().scale)));
     }
 
     void populateMetadataFromResultSet() throws SQLServerException {
@@ -0,0 +1,216 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * A hashed wheel of command timeouts, advanced by the thread of the {@link SharedTimer}.
+ *
+ * Commands schedule a timeout before they wait for a response and cancel it once the response arrives, so almost every
+ * timeout is canceled long before it expires. Scheduling and canceling therefore only append the timeout to a lock-free
+ * queue and do not take the lock of the executor's priority queue. On every tick the timer thread moves the new
+ * timeouts into the bucket of the tick they expire at, unlinks the canceled ones and runs the timeouts of the current
+ * bucket that are due. Timeouts further away than one turn of the wheel stay in their bucket for the remaining turns.
+ *
+ * Timeouts expire up to one tick late, which is negligible next to command timeouts measured in seconds.
+ */
+final class TimeoutWheel {
+    private static final Logger logger = Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.TimeoutWheel");
+
+    /** Duration of a tick in milliseconds */
+    static final long TICK_MILLIS = 100;
+
+    /** Number of buckets in the wheel, a power of two */
+    private static final int WHEEL_SIZE = 512;
+
+    private static final int PENDING = 0;
+    private static final int CANCELED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private final long startTime = System.nanoTime();
+    private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> canceledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /** Number of ticks processed, only accessed by the timer thread */
+    private long tick;
+
+    TimeoutWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new Bucket();
+        }
+    }
+
+    /**
+     * A scheduled timeout, which runs its task when it expires unless it is canceled first.
+     */
+    static final class Timeout {
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+                .newUpdater(Timeout.class, "state");
+
+        private final TimeoutWheel timeoutWheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = PENDING;
+
+        // the following are only accessed by the timer thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(TimeoutWheel timeoutWheel, Runnable task, long deadline) {
+            this.timeoutWheel = timeoutWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout so that its task does not run.
+         *
+         * @return false if the timeout has already expired or been canceled
+         */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELED)) {
+                return false;
+            }
+            timeoutWheel.canceledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * @return whether the timeout has expired and its task has been run
+         */
+        boolean isExpired() {
+            return EXPIRED == state;
+        }
+
+        boolean isCanceled() {
+            return CANCELED == state;
+        }
+
+        private void expire() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // the rest of the bucket must still be processed, or its timeouts would lose a round again
+                    logger.log(Level.WARNING, "Timeout task failed: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The timeouts that expire at the ticks mapped to a slot of the wheel, as a doubly linked list.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (null == head) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (null != timeout.prev) {
+                timeout.prev.next = next;
+            }
+            if (null != next) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (null != timeout) {
+                if (timeout.isCanceled()) {
+                    timeout = remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    Timeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules a task to run once the delay has elapsed. May be called by any thread.
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + unit.toNanos(delay));
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Processes the ticks that have elapsed since the last call. Only called by the timer thread.
+     */
+    void advance() {
+        long elapsed = System.nanoTime() - startTime;
+        while (tickNanos * (tick + 1) <= elapsed) {
+            long deadline = tickNanos * (tick + 1);
+            removeCanceledTimeouts();
+            transferScheduledTimeouts();
+            wheel[(int) (tick & (WHEEL_SIZE - 1))].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    private void removeCanceledTimeouts() {
+        Timeout timeout;
+        while (null != (timeout = canceledTimeouts.poll())) {
+            // a timeout canceled before it was transferred is not in a bucket
+            if (null != timeout.bucket) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduledTimeouts() {
+        Timeout timeout;
+        while (null != (timeout = scheduledTimeouts.poll())) {
+            if (timeout.isCanceled()) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / WHEEL_SIZE;
+            // a timeout already due expires with the current tick
+            wheel[(int) (Math.max(expiryTick, tick) & (WHEEL_SIZE - 1))].add(timeout);
+        }
+    }
+}
@@ -11,6 +11,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.text.DecimalFormat;
 import java.text.MessageFormat;
 import java.util.List;
@@ -602,6 +604,16 @@ final class Util {
     static String readUnicodeString(byte[] b, int offset, int byteLength,
             SQLServerConnection conn) throws SQLServerException {
         try {
+            // Copy the characters through a little endian view of the bytes, which the JDK does in bulk rather than
+            // decoding them one at a time. The charset decoder is still used for odd lengths and for surrogates, so
+            // that malformed values are replaced exactly as before.
+            if (0 == (byteLength & 1)) {
+                char[] chars = new char[byteLength >> 1];
+                ByteBuffer.wrap(b, offset, byteLength).order(ByteOrder.LITTLE_ENDIAN).asCharBuffer().get(chars);
+                if (!hasSurrogate(chars)) {
+                    return new String(chars);
+                }
+            }
             return new String(b, offset, byteLength, Encoding.UNICODE.charset());
         } catch (IndexOutOfBoundsException ex) {
             String txtMsg = SQLServerException
@@ -614,6 +626,15 @@ final class Util {
 
     }
 
+    private static boolean hasSurrogate(char[] chars) {
+        for (char c : chars) {
+            if (Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // NOTE: This is for display purposes ONLY. NOT TO BE USED for data conversion.
     /**
      * Converts byte array to a string representation of hex bytes for display purposes.
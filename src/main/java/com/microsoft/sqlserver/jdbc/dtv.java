@@ -251,6 +251,24 @@ final class DTV {
                 statement);
     }
 
+    /**
+     * Returns the value of a BIT, TINYINT, SMALLINT, INTEGER or BIGINT column read from the server without boxing it.
+     */
+    long getLong(TypeInfo typeInfo, TDSReader tdsReader) throws SQLServerException {
+        if (null == impl)
+            impl = new ServerDTVImpl();
+        return ((ServerDTVImpl) impl).getLong(typeInfo, tdsReader);
+    }
+
+    /**
+     * Returns the value of a FLOAT or REAL column read from the server without boxing it.
+     */
+    double getDouble(TypeInfo typeInfo, TDSReader tdsReader) throws SQLServerException {
+        if (null == impl)
+            impl = new ServerDTVImpl();
+        return ((ServerDTVImpl) impl).getDouble(typeInfo, tdsReader);
+    }
+
     Object getSetterValue() {
         return impl.getSetterValue();
     }
@@ -3904,6 +3922,56 @@ final class ServerDTVImpl extends DTVImpl {
         return convertedValue;
     }
 
+    /**
+     * Reads a BIT, TINYINT, SMALLINT, INTEGER or BIGINT value the same way getValue does, but returns it as a
+     * primitive rather than converting it to an object. Returns 0 if the value is null.
+     */
+    long getLong(TypeInfo typeInfo, TDSReader tdsReader) throws SQLServerException {
+        if (null == valueMark && (!isNull))
+            getValuePrep(typeInfo, tdsReader);
+
+        if (isNull)
+            return 0;
+
+        tdsReader.reset(valueMark);
+        switch (valueLength) {
+            case 8:
+                return tdsReader.readLong();
+            case 4:
+                return tdsReader.readInt();
+            case 2:
+                return tdsReader.readShort();
+            case 1:
+                return tdsReader.readUnsignedByte();
+            default:
+                tdsReader.throwInvalidTDS();
+                return 0;
+        }
+    }
+
+    /**
+     * Reads a FLOAT or REAL value the same way getValue does, but returns it as a primitive rather than converting it
+     * to an object. Returns 0 if the value is null.
+     */
+    double getDouble(TypeInfo typeInfo, TDSReader tdsReader) throws SQLServerException {
+        if (null == valueMark && (!isNull))
+            getValuePrep(typeInfo, tdsReader);
+
+        if (isNull)
+            return 0;
+
+        tdsReader.reset(valueMark);
+        switch (valueLength) {
+            case 8:
+                return Double.longBitsToDouble(tdsReader.readLong());
+            case 4:
+                return Float.intBitsToFloat(tdsReader.readInt());
+            default:
+                tdsReader.throwInvalidTDS();
+                return 0;
+        }
+    }
+
     SqlVariant getInternalVariant() {
         return internalVariant;
     }
@@ -0,0 +1,58 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Tests the parsing of the statements a batch can execute with bulk copy and a single set based statement.
+ */
+@RunWith(JUnitPlatform.class)
+public class BulkBatchUpdateQueryTest {
+
+    @Test
+    public void testSupportedStatements() {
+        BulkBatchUpdateQuery update = BulkBatchUpdateQuery
+                .parse("UPDATE dbo.[my table] SET a = ?, [b]=? WHERE \"k\" = ? AND k2 = ?;");
+        assertNotNull(update);
+        assertEquals(4, update.getParameterCount());
+        String sql = update.getExecuteSQL("#stage");
+        assertTrue(sql.contains("UPDATE t SET a = s.p0, [b] = s.p1"), sql);
+        assertTrue(sql.contains("FROM dbo.[my table] AS t"), sql);
+        assertTrue(sql.contains("t.\"k\" = s.p2 AND t.k2 = s.p3"), sql);
+        assertTrue(sql.endsWith("DROP TABLE #stage;"), sql);
+
+        BulkBatchUpdateQuery delete = BulkBatchUpdateQuery.parse("delete from #t where id = ?");
+        assertNotNull(delete);
+        assertEquals(1, delete.getParameterCount());
+        assertTrue(delete.getCreateStagingTableSQL("#stage")
+                .endsWith("CASE WHEN 1 = 0 THEN t.id END AS p0 INTO #stage FROM #t AS t"));
+        assertNotNull(BulkBatchUpdateQuery.parse("DELETE t WHERE id = ?"));
+    }
+
+    @Test
+    public void testUnsupportedStatements() {
+        assertNull(BulkBatchUpdateQuery.parse("INSERT INTO t VALUES (?)"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = ?"));
+        assertNull(BulkBatchUpdateQuery.parse("DELETE FROM t"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = 1 WHERE k = ?"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = ? WHERE k = ? OR k2 = ?"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = ? WHERE k > ?"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET k = ? WHERE [K] = ?"));
+        assertNull(BulkBatchUpdateQuery.parse("DELETE FROM t WHERE k = ? AND k = ?"));
+        assertNull(BulkBatchUpdateQuery.parse("DELETE FROM t WHERE k = ? -- comment"));
+        assertNull(BulkBatchUpdateQuery.parse("DELETE FROM t WHERE k = ?; SELECT 1"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = ? WHERE k = 'x'"));
+        assertNull(BulkBatchUpdateQuery.parse("UPDATE t SET a = ? WHERE t.k = ?"));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.testframework.AbstractSQLGenerator;
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.Constants;
+
+
+/**
+ * Tests the cache of the destination table metadata of SQLServerBulkCopy.
+ */
+@RunWith(JUnitPlatform.class)
+@Tag(Constants.xAzureSQLDW)
+public class BulkCopyMetadataCacheTest extends AbstractTest {
+
+    private static final String tableName = RandomUtil.getIdentifier("BulkCopyMetadataCacheTest");
+
+    @BeforeAll
+    public static void setupTests() throws Exception {
+        setConnection();
+    }
+
+    @Test
+    public void testDestinationMetadataCache() throws SQLException {
+        String escapedTableName = AbstractSQLGenerator.escapeIdentifier(tableName);
+        try (Connection conn = DriverManager.getConnection(connectionString + ";bulkCopyMetadataCacheTtl=60");
+                Statement stmt = conn.createStatement()) {
+            TestUtils.dropTableIfExists(escapedTableName, stmt);
+            stmt.execute("create table " + escapedTableName + " (c1 int, c2 nvarchar(20))");
+
+            String key = BulkCopyMetadataCache.getKey((SQLServerConnection) conn, escapedTableName,
+                    SQLServerStatementColumnEncryptionSetting.USE_CONNECTION_SETTING);
+            assertNotNull(key);
+            assertNull(BulkCopyMetadataCache.get(key));
+
+            copyRows(conn, escapedTableName, "1,a\n2,b\n");
+            BulkCopyMetadataCache.Entry entry = BulkCopyMetadataCache.get(key);
+            assertNotNull(entry);
+            assertEquals(2, entry.columnCount);
+
+            // the second copy reuses the cached metadata
+            copyRows(conn, escapedTableName, "3,c\n");
+            assertSame(entry, BulkCopyMetadataCache.get(key));
+            try (ResultSet rs = stmt.executeQuery("select count(*) from " + escapedTableName)) {
+                rs.next();
+                assertEquals(3, rs.getInt(1));
+            }
+
+            // a copy failing after a change to the table drops the stale metadata
+            stmt.execute("alter table " + escapedTableName + " drop column c2");
+            assertThrows(SQLServerException.class, () -> copyRows(conn, escapedTableName, "4,d\n"));
+            assertNull(BulkCopyMetadataCache.get(key));
+
+            // temporary tables are never cached
+            assertNull(BulkCopyMetadataCache.getKey((SQLServerConnection) conn, "#temp",
+                    SQLServerStatementColumnEncryptionSetting.USE_CONNECTION_SETTING));
+        }
+    }
+
+    @Test
+    public void testIsSchemaQualified() {
+        assertFalse(BulkCopyMetadataCache.isSchemaQualified("t"));
+        assertFalse(BulkCopyMetadataCache.isSchemaQualified("[a.b]"));
+        assertFalse(BulkCopyMetadataCache.isSchemaQualified("db..t"));
+        assertFalse(BulkCopyMetadataCache.isSchemaQualified("\"x.y\""));
+        assertTrue(BulkCopyMetadataCache.isSchemaQualified("dbo.t"));
+        assertTrue(BulkCopyMetadataCache.isSchemaQualified("[d.b].[dbo].[t]"));
+        assertTrue(BulkCopyMetadataCache.isSchemaQualified("[a]]b].t"));
+        assertTrue(BulkCopyMetadataCache.isSchemaQualified("server.db.dbo.t"));
+    }
+
+    private static void copyRows(Connection conn, String escapedTableName, String csv) throws SQLException {
+        try (SQLServerBulkCSVFileRecord record = new SQLServerBulkCSVFileRecord(
+                new ByteArrayInputStream(csv.getBytes(UTF_8)), null, ",", false);
+                SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(conn)) {
+            record.addColumnMetadata(1, "c1", Types.INTEGER, 0, 0);
+            record.addColumnMetadata(2, "c2", Types.NVARCHAR, 20, 0);
+            bulkCopy.setDestinationTableName(escapedTableName);
+            bulkCopy.writeToServer(record);
+        }
+    }
+
+    @AfterAll
+    public static void terminate() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            TestUtils.dropTableIfExists(AbstractSQLGenerator.escapeIdentifier(tableName), stmt);
+        }
+    }
+}
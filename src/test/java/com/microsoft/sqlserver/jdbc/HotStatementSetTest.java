@@ -0,0 +1,47 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Tests the set of most frequently executed statements of the built-in connection pool.
+ */
+@RunWith(JUnitPlatform.class)
+public class HotStatementSetTest {
+
+    @Test
+    public void testHottest() {
+        HotStatementSet set = new HotStatementSet(2);
+        assertTrue(set.getHottest().isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            record(set, "select @P0", "@P0 int");
+        }
+        record(set, "select 1", "");
+        for (int i = 0; i < 5; i++) {
+            record(set, "select @P0", "@P0 nvarchar(4000)");
+        }
+
+        List<HotStatementSet.HotStatement> hottest = set.getHottest();
+        assertEquals(2, hottest.size());
+        assertEquals("@P0 nvarchar(4000)", hottest.get(0).typeDefinitions);
+        assertEquals(5, hottest.get(0).executionCount.sum());
+        assertEquals("@P0 int", hottest.get(1).typeDefinitions);
+        assertEquals(3, hottest.get(1).executionCount.sum());
+    }
+
+    private static void record(HotStatementSet set, String sql, String typeDefinitions) {
+        set.record(new SQLServerConnection.CityHash128Key(sql, typeDefinitions), sql, typeDefinitions);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Verifies that the classes on the TDS I/O path do not use synchronized methods, which would pin the carrier thread of
+ * a virtual thread that blocks on the socket while holding the monitor.
+ */
+@RunWith(JUnitPlatform.class)
+public class IOLockingTest {
+
+    private static final Class<?>[] IO_PATH_CLASSES = {TDSChannel.class, TDSReader.class, TDSWriter.class,
+            TDSCommand.class, TDSPacketPool.class, SocketFinder.class, SocketConnector.class, SharedTimer.class,
+            TDSTimeoutTask.class, TimeoutWheel.class, AsyncExecutor.class};
+
+    @Test
+    public void testNoSynchronizedMethodsOnIOPath() {
+        List<String> synchronizedMethods = new ArrayList<>();
+        for (Class<?> c : IO_PATH_CLASSES) {
+            collectSynchronizedMethods(c, synchronizedMethods);
+        }
+        assertTrue(synchronizedMethods.isEmpty(), "Synchronized methods on the I/O path: " + synchronizedMethods);
+    }
+
+    private static void collectSynchronizedMethods(Class<?> c, List<String> synchronizedMethods) {
+        for (Method m : c.getDeclaredMethods()) {
+            if (Modifier.isSynchronized(m.getModifiers())) {
+                synchronizedMethods.add(c.getName() + "." + m.getName());
+            }
+        }
+        for (Class<?> nested : c.getDeclaredClasses()) {
+            collectSynchronizedMethods(nested, synchronizedMethods);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Tests the cache of parsed SQL text.
+ */
+@RunWith(JUnitPlatform.class)
+public class ParsedSQLCacheTest {
+
+    @Test
+    public void testStatistics() {
+        ParsedSQLCache cache = new ParsedSQLCache(2);
+        ParsedSQLCacheItem item = new ParsedSQLCacheItem("select ?", new int[] {7}, null, false);
+
+        assertNull(cache.get("select ?"));
+        cache.put("select ?", item);
+        assertSame(item, cache.get("select ?"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getSize());
+
+        cache.put("select 1", item);
+        cache.put("select 2", item);
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.setCapacity(1);
+        assertEquals(1, cache.getCapacity());
+        assertEquals(1, cache.getSize());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testCacheSize() throws Exception {
+        int size = SQLServerConnection.getParsedSQLCacheSize();
+        try {
+            SQLServerConnection.setParsedSQLCacheSize(500);
+            assertEquals(500, SQLServerConnection.getParsedSQLCacheSize());
+            assertEquals(500, SQLServerConnection.getParsedSQLCacheStatistics().getCapacity());
+            assertThrows(SQLServerException.class, () -> SQLServerConnection.setParsedSQLCacheSize(0));
+        } finally {
+            SQLServerConnection.setParsedSQLCacheSize(size);
+        }
+    }
+
+    @Test
+    public void testParseAndCache() throws Exception {
+        String sql = "{call " + RandomUtil.getIdentifier("ParsedSQLCacheTest") + "(?, ?)}";
+        long misses = SQLServerConnection.getParsedSQLCacheStatistics().getMissCount();
+        assertNull(SQLServerConnection.getCachedParsedSQL(sql));
+        assertEquals(misses + 1, SQLServerConnection.getParsedSQLCacheStatistics().getMissCount());
+
+        ParsedSQLCacheItem item = SQLServerConnection.parseAndCacheSQL(sql);
+        assertEquals(2, item.parameterPositions.length);
+        assertNotNull(item.procedureName);
+        assertSame(item, SQLServerConnection.getCachedParsedSQL(sql));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        SQLServerConnection.registerParsedSQLCacheMBean();
+        // registering again has no effect
+        SQLServerConnection.registerParsedSQLCacheMBean();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(ParsedSQLCache.OBJECT_NAME);
+        assertEquals(SQLServerConnection.getParsedSQLCacheSize(), server.getAttribute(name, "Capacity"));
+        assertNotNull(server.getAttribute(name, "HitCount"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Tests the AEAD_AES_256_CBC_HMAC_SHA256 algorithm used for Always Encrypted cells.
+ */
+@RunWith(JUnitPlatform.class)
+public class SQLServerAeadAes256CbcHmac256AlgorithmTest {
+
+    private static SQLServerAeadAes256CbcHmac256Algorithm newAlgorithm(
+            SQLServerEncryptionType encryptionType) throws SQLServerException {
+        byte[] rootKey = new byte[32];
+        for (int i = 0; i < rootKey.length; i++) {
+            rootKey[i] = (byte) i;
+        }
+        SQLServerAeadAes256CbcHmac256EncryptionKey key = new SQLServerAeadAes256CbcHmac256EncryptionKey(rootKey,
+                SQLServerAeadAes256CbcHmac256Algorithm.AEAD_AES_256_CBC_HMAC_SHA256);
+        return new SQLServerAeadAes256CbcHmac256Algorithm(key, encryptionType, (byte) 0x1);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SQLServerAeadAes256CbcHmac256Algorithm algorithm = newAlgorithm(SQLServerEncryptionType.RANDOMIZED);
+        for (int length : new int[] {0, 1, 15, 16, 17, 1000}) {
+            byte[] plainText = new byte[length];
+            Arrays.fill(plainText, (byte) length);
+            byte[] cipherText = algorithm.encryptData(plainText);
+            assertArrayEquals(plainText, algorithm.decryptData(cipherText));
+
+            // randomized encryption uses a new IV every time
+            assertFalse(Arrays.equals(cipherText, algorithm.encryptData(plainText)));
+        }
+    }
+
+    @Test
+    public void testDeterministic() throws Exception {
+        SQLServerAeadAes256CbcHmac256Algorithm algorithm = newAlgorithm(SQLServerEncryptionType.DETERMINISTIC);
+        byte[] plainText = "deterministic".getBytes(UTF_8);
+        byte[] cipherText = algorithm.encryptData(plainText);
+        assertArrayEquals(cipherText, algorithm.encryptData(plainText));
+        assertArrayEquals(cipherText, newAlgorithm(SQLServerEncryptionType.DETERMINISTIC).encryptData(plainText));
+        assertArrayEquals(plainText, algorithm.decryptData(cipherText));
+    }
+
+    @Test
+    public void testTamperedCipherText() throws Exception {
+        SQLServerAeadAes256CbcHmac256Algorithm algorithm = newAlgorithm(SQLServerEncryptionType.RANDOMIZED);
+        byte[] cipherText = algorithm.encryptData("tampered".getBytes(UTF_8));
+        cipherText[cipherText.length - 1] ^= 1;
+        assertThrows(SQLServerException.class, () -> algorithm.decryptData(cipherText));
+
+        // the failure leaves nothing behind for the next value decrypted on this thread
+        byte[] plainText = "intact".getBytes(UTF_8);
+        assertArrayEquals(plainText, algorithm.decryptData(algorithm.encryptData(plainText)));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        SQLServerAeadAes256CbcHmac256Algorithm algorithm = newAlgorithm(SQLServerEncryptionType.DETERMINISTIC);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        byte[] plainText = ("value " + thread + " " + i).getBytes(UTF_8);
+                        assertArrayEquals(plainText, algorithm.decryptData(algorithm.encryptData(plainText)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -135,6 +135,20 @@ public class SQLServerConnectionTest extends AbstractTest {
         assertEquals(booleanPropValue, ds.getUseBulkCopyForBatchInsert(),
                 TestResource.getResource("R_valuesAreDifferent"));
 
+        ds.setUseBulkCopyForBatchUpdate(booleanPropValue);
+        assertEquals(booleanPropValue, ds.getUseBulkCopyForBatchUpdate(),
+                TestResource.getResource("R_valuesAreDifferent"));
+
+        ds.setBatchRequestMaxSize(intPropValue);
+        assertEquals(intPropValue, ds.getBatchRequestMaxSize(), TestResource.getResource("R_valuesAreDifferent"));
+
+        ds.setReadAheadPackets(intPropValue);
+        assertEquals(intPropValue, ds.getReadAheadPackets(), TestResource.getResource("R_valuesAreDifferent"));
+
+        ds.setServerResolutionCacheTtl(intPropValue);
+        assertEquals(intPropValue, ds.getServerResolutionCacheTtl(),
+                TestResource.getResource("R_valuesAreDifferent"));
+
         ds.setJAASConfigurationName(stringPropValue);
         assertEquals(stringPropValue, ds.getJAASConfigurationName(), TestResource.getResource("R_valuesAreDifferent"));
 
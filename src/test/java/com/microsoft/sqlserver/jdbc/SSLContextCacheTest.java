@@ -0,0 +1,117 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.sql.Connection;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.net.ssl.SSLContext;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.PrepUtil;
+
+
+/**
+ * Tests the cache of SSL contexts shared by connections.
+ */
+@RunWith(JUnitPlatform.class)
+public class SSLContextCacheTest extends AbstractTest {
+
+    @BeforeAll
+    public static void setupTests() throws Exception {
+        setConnection();
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        String key = new SSLContextCache.KeyBuilder().add("host").add(true).add("secret".toCharArray()).build();
+        assertEquals(key, new SSLContextCache.KeyBuilder().add("host").add(true).add("secret".toCharArray()).build());
+        assertNotEquals(key,
+                new SSLContextCache.KeyBuilder().add("host").add(true).add("other".toCharArray()).build());
+        assertNotEquals(key, new SSLContextCache.KeyBuilder().add("hos").add("ttrue").add("secret".toCharArray())
+                .build());
+        // the password is hashed, not held
+        assertTrue(!key.contains("secret"));
+    }
+
+    @Test
+    public void testKeyChangesWithFile() throws Exception {
+        File file = File.createTempFile("SSLContextCacheTest", ".jks");
+        try {
+            String key = new SSLContextCache.KeyBuilder().addFile(file.getPath()).build();
+            assertEquals(key, new SSLContextCache.KeyBuilder().addFile(file.getPath()).build());
+
+            Files.write(file.toPath(), new byte[] {1, 2, 3});
+            assertNotEquals(key, new SSLContextCache.KeyBuilder().addFile(file.getPath()).build());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        SSLContextCache cache = new SSLContextCache();
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+
+        assertNull(cache.get("key"));
+        cache.put("key", sslContext);
+        assertSame(sslContext, cache.get("key"));
+        cache.recordUncached();
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getSize());
+
+        cache.recordHandshake(3000000, false);
+        cache.recordHandshake(1000000, true);
+        assertEquals(2, cache.getHandshakeCount());
+        assertEquals(1, cache.getResumedHandshakeCount());
+        assertEquals(4, cache.getTotalHandshakeTimeMillis());
+    }
+
+    @Test
+    public void testConnectionsShareSSLContext() throws Exception {
+        String url = connectionString + ";encrypt=true;trustServerCertificate=true";
+        try (Connection con = PrepUtil.getConnection(url)) {
+            assertNotNull(con);
+        }
+
+        SQLServerSSLContextCacheMXBean statistics = SQLServerConnection.getSSLContextCacheStatistics();
+        long hits = statistics.getHitCount();
+        long handshakes = statistics.getHandshakeCount();
+        try (Connection con = PrepUtil.getConnection(url)) {
+            assertNotNull(con);
+        }
+        assertTrue(statistics.getHitCount() > hits);
+        assertTrue(statistics.getHandshakeCount() > handshakes);
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        SQLServerConnection.registerSSLContextCacheMBean();
+        // registering again has no effect
+        SQLServerConnection.registerSSLContextCacheMBean();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SSLContextCache.OBJECT_NAME);
+        assertNotNull(server.getAttribute(name, "HandshakeCount"));
+        assertNotNull(server.getAttribute(name, "HitCount"));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.PrepUtil;
+
+
+/**
+ * Tests the cache of server addresses and instance ports shared by connections.
+ */
+@RunWith(JUnitPlatform.class)
+public class ServerResolutionCacheTest extends AbstractTest {
+
+    @BeforeAll
+    public static void setupTests() throws Exception {
+        setConnection();
+    }
+
+    @Test
+    public void testAddresses() throws Exception {
+        InetAddress[] inetAddrs = ServerResolutionCache.getAllByName("localhost", 60);
+        InetAddress[] cached = ServerResolutionCache.getAllByName("LOCALHOST", 60);
+        assertArrayEquals(inetAddrs, cached);
+        // callers may modify the returned array
+        assertNotSame(inetAddrs, cached);
+        assertArrayEquals(InetAddress.getAllByName("localhost"), ServerResolutionCache.getAllByName("localhost", 0));
+    }
+
+    @Test
+    public void testUnknownHost() {
+        String host = RandomUtil.getIdentifier("host") + ".invalid";
+        assertThrows(UnknownHostException.class, () -> ServerResolutionCache.getAllByName(host, 60));
+        UnknownHostException e = assertThrows(UnknownHostException.class,
+                () -> ServerResolutionCache.getAllByName(host, 60));
+        // the second failure is served from the cache
+        assertNotNull(e.getCause());
+    }
+
+    @Test
+    public void testInstancePort() {
+        String server = RandomUtil.getIdentifier("server");
+        AtomicInteger queries = new AtomicInteger();
+        ServerResolutionCache.InstancePortResolver resolver = () -> {
+            queries.incrementAndGet();
+            return "1433";
+        };
+
+        ServerResolutionCache.Entry<String> entry = ServerResolutionCache.getInstancePort(server, "instance", 60,
+                resolver);
+        assertEquals("1433", entry.value);
+        assertSame(entry, ServerResolutionCache.getInstancePort(server, "INSTANCE", 60, resolver));
+        assertEquals(1, queries.get());
+
+        ServerResolutionCache.invalidate(server, "instance");
+        ServerResolutionCache.getInstancePort(server, "instance", 60, resolver);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    public void testInstancePortCallerTtl() throws Exception {
+        String server = RandomUtil.getIdentifier("server");
+        AtomicInteger queries = new AtomicInteger();
+        ServerResolutionCache.InstancePortResolver resolver = () -> {
+            queries.incrementAndGet();
+            return "1433";
+        };
+
+        ServerResolutionCache.getInstancePort(server, "instance", 60, resolver);
+        Thread.sleep(1100);
+        // an entry cached under a long TTL is stale for a connection with a shorter one
+        ServerResolutionCache.getInstancePort(server, "instance", 1, resolver);
+        assertEquals(2, queries.get());
+        ServerResolutionCache.getInstancePort(server, "instance", 60, resolver);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    public void testInstancePortFailure() {
+        String server = RandomUtil.getIdentifier("server");
+        AtomicInteger queries = new AtomicInteger();
+        ServerResolutionCache.InstancePortResolver resolver = () -> {
+            queries.incrementAndGet();
+            throw new SQLServerException("browser failed", null);
+        };
+
+        ServerResolutionCache.Entry<String> entry = ServerResolutionCache.getInstancePort(server, "instance", 60,
+                resolver);
+        assertNull(entry.value);
+        assertEquals("browser failed", entry.failure.getMessage());
+        assertEquals(SQLServerException.class, entry.failure.getClass());
+
+        // a failed resolution is kept when a connection fails
+        ServerResolutionCache.invalidate(server, "instance");
+        assertSame(entry, ServerResolutionCache.getInstancePort(server, "instance", 60, resolver));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    public void testServerUnreachable() {
+        assertTrue(SQLServerConnection.isServerUnreachable(failure(0, "08S01", SQLServerException.DRIVER_ERROR_NONE)));
+        assertTrue(SQLServerConnection.isServerUnreachable(failure(0, "08001", SQLServerException.DRIVER_ERROR_NONE)));
+        assertTrue(SQLServerConnection
+                .isServerUnreachable(failure(0, "08S01", SQLServerException.DRIVER_ERROR_IO_FAILED)));
+        assertTrue(SQLServerConnection
+                .isServerUnreachable(failure(0, "08S01", SQLServerException.ERROR_SOCKET_TIMEOUT)));
+
+        assertFalse(SQLServerConnection.isServerUnreachable(
+                failure(SQLServerException.LOGON_FAILED, "S0001", SQLServerException.DRIVER_ERROR_FROM_DATABASE)));
+        assertFalse(SQLServerConnection.isServerUnreachable(
+                failure(SQLServerException.LOGON_FAILED, "08001", SQLServerException.DRIVER_ERROR_FROM_DATABASE)));
+        assertFalse(SQLServerConnection
+                .isServerUnreachable(failure(0, "08S01", SQLServerException.DRIVER_ERROR_SSL_FAILED)));
+        assertFalse(SQLServerConnection
+                .isServerUnreachable(failure(0, "08S01", SQLServerException.DRIVER_ERROR_INVALID_TDS)));
+    }
+
+    private static SQLServerException failure(int errorCode, String state, int driverErrorCode) {
+        SQLServerException e = new SQLServerException("failure", state, errorCode, null);
+        e.setDriverErrorCode(driverErrorCode);
+        return e;
+    }
+
+    @Test
+    public void testLogonFailureKeepsResolution() throws Exception {
+        String url = TestUtils.addOrOverrideProperty(connectionString, "password",
+                RandomUtil.getIdentifier("password")) + ";serverResolutionCacheTtl=60";
+        String server = Util
+                .parseUrl(connectionString, Logger.getLogger("com.microsoft.sqlserver.jdbc.internals.SQLServerDriver"))
+                .getProperty("serverName");
+
+        ServerResolutionCache.getAllByName(server, 60);
+        int size = ServerResolutionCache.size();
+        SQLServerException e = assertThrows(SQLServerException.class, () -> PrepUtil.getConnection(url).close());
+        assertEquals(SQLServerException.LOGON_FAILED, e.getErrorCode());
+        // the cached addresses were not dropped by the logon failure
+        assertEquals(size, ServerResolutionCache.size());
+    }
+
+    @Test
+    public void testConnection() throws Exception {
+        String url = connectionString + ";serverResolutionCacheTtl=60";
+        for (int i = 0; i < 2; i++) {
+            try (Connection con = PrepUtil.getConnection(url)) {
+                assertNotNull(con);
+            }
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.microsoft.sqlserver.jdbc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.logging.Logger;
+
+import com.microsoft.sqlserver.testframework.Constants;
 
 
 class SharedTimerTest {
+    private static final Logger logger = Logger.getLogger(SharedTimerTest.class.getName());
 
     @Test
     void getTimer() throws InterruptedException, ExecutionException, TimeoutException {
@@ -24,4 +36,181 @@ class SharedTimerTest {
             executor.shutdown();
         }
     }
+
+    @Test
+    void expireAndCancel() throws InterruptedException {
+        TimeoutWheel wheel = new TimeoutWheel();
+        AtomicInteger expired = new AtomicInteger();
+
+        TimeoutWheel.Timeout due = wheel.schedule(expired::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+        TimeoutWheel.Timeout canceled = wheel.schedule(expired::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+        TimeoutWheel.Timeout later = wheel.schedule(expired::incrementAndGet, 1, TimeUnit.HOURS);
+        assertTrue(canceled.cancel());
+        assertFalse(canceled.cancel());
+
+        Thread.sleep(2 * TimeoutWheel.TICK_MILLIS);
+        wheel.advance();
+        assertEquals(1, expired.get());
+        assertTrue(due.isExpired());
+        assertFalse(due.cancel());
+        assertFalse(canceled.isExpired());
+        assertFalse(later.isExpired());
+        assertTrue(later.cancel());
+    }
+
+    @Test
+    void failingTask() throws InterruptedException {
+        TimeoutWheel wheel = new TimeoutWheel();
+        AtomicInteger expired = new AtomicInteger();
+
+        TimeoutWheel.Timeout failing = wheel.schedule(() -> {
+            throw new IllegalStateException("failing task");
+        }, 0, TimeUnit.MILLISECONDS);
+        TimeoutWheel.Timeout due = wheel.schedule(expired::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(2 * TimeoutWheel.TICK_MILLIS);
+        // the failure is logged and the rest of the bucket is still processed
+        wheel.advance();
+        assertTrue(failing.isExpired());
+        assertTrue(due.isExpired());
+        assertEquals(1, expired.get());
+    }
+
+    @Test
+    void expireAfterDelay() throws InterruptedException {
+        SharedTimer timer = SharedTimer.getTimer();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            TimeoutWheel.Timeout timeout = timer.schedule(new TDSTimeoutTask(null, null) {
+                @Override
+                protected void interrupt() {
+                    latch.countDown();
+                }
+            }, 500, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(1, TimeUnit.MINUTES));
+            assertTrue(timeout.isExpired());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500);
+        } finally {
+            timer.removeRef();
+        }
+    }
+
+    /**
+     * Schedules and cancels timeouts from many threads while the wheel is advanced, and checks that a timeout
+     * canceled in time never runs its task and that every other timeout runs its task exactly once.
+     */
+    @Test
+    void concurrentScheduleAndCancel() throws Exception {
+        final int threads = 8;
+        final int iterations = 2000;
+        TimeoutWheel wheel = new TimeoutWheel();
+        AtomicIntegerArray runCounts = new AtomicIntegerArray(threads * iterations);
+        boolean[] canceled = new boolean[threads * iterations];
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread timerThread = new Thread(() -> {
+            while (!stop.get()) {
+                wheel.advance();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        timerThread.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayList<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                final int first = t * iterations;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < first + iterations; i++) {
+                        final int index = i;
+                        TimeoutWheel.Timeout timeout = wheel.schedule(() -> runCounts.incrementAndGet(index),
+                                i % (3 * TimeoutWheel.TICK_MILLIS), TimeUnit.MILLISECONDS);
+                        if (0 == i % 2) {
+                            canceled[i] = timeout.cancel();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+
+            // wait for the timeouts that were not canceled to expire
+            Thread.sleep(5 * TimeoutWheel.TICK_MILLIS);
+        } finally {
+            executor.shutdown();
+            stop.set(true);
+            timerThread.join();
+        }
+
+        for (int i = 0; i < runCounts.length(); i++) {
+            assertEquals(canceled[i] ? 0 : 1, runCounts.get(i), "timeout " + i);
+        }
+    }
+
+    /**
+     * Schedules and cancels timeouts from many threads, as commands do, with the timeout wheel and with a
+     * ScheduledThreadPoolExecutor, and logs the throughput of both. Run it with the benchmark group included.
+     */
+    @Test
+    @Tag(Constants.benchmark)
+    void scheduleAndCancelThroughput() throws Exception {
+        final int threads = 16;
+        final int iterations = 100000;
+        Runnable task = () -> {};
+
+        SharedTimer timer = SharedTimer.getTimer();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            TDSTimeoutTask timeoutTask = new TDSTimeoutTask(null, null);
+            long wheelNanos = run(threads, () -> {
+                for (int i = 0; i < iterations; i++) {
+                    assertTrue(timer.schedule(timeoutTask, 30).cancel());
+                }
+            });
+            long executorNanos = run(threads, () -> {
+                for (int i = 0; i < iterations; i++) {
+                    assertTrue(executor.schedule(task, 30, TimeUnit.SECONDS).cancel(false));
+                }
+            });
+            long operations = (long) threads * iterations;
+            logger.info("Schedule and cancel per second with " + threads + " threads: timeout wheel "
+                    + operations * 1000000000L / wheelNanos + ", executor " + operations * 1000000000L / executorNanos);
+            assertEquals(0, executor.getQueue().size());
+        } finally {
+            executor.shutdownNow();
+            timer.removeRef();
+        }
+    }
+
+    private static long run(int threads, Runnable work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+            ArrayList<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            barrier.await();
+            long start = System.nanoTime();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+
+/**
+ * Tests the TDSPacketPool class
+ *
+ */
+@RunWith(JUnitPlatform.class)
+public class TDSPacketPoolTest {
+
+    @Test
+    public void testPoolIsSizeClassed() {
+        TDSPacketPool pool = TDSPacketPool.getPool(4097);
+        assertSame(pool, TDSPacketPool.getPool(4097));
+        assertNotSame(pool, TDSPacketPool.getPool(4099));
+        assertEquals(4097, pool.getPacket().payload.length);
+    }
+
+    @Test
+    public void testReachablePayloadIsNotReused() {
+        TDSPacketPool pool = TDSPacketPool.getPool(4101);
+        TDSPacket first = pool.getPacket();
+        TDSPacket second = pool.getPacket();
+        assertNotSame(first.payload, second.payload);
+    }
+
+    @Test
+    public void testCollectedPayloadIsReused() throws InterruptedException {
+        TDSPacketPool pool = TDSPacketPool.getPool(4103);
+        for (int i = 0; i < 8; i++) {
+            pool.getPacket();
+        }
+
+        // Packets are only recycled once they have been collected.
+        for (int i = 0; i < 50 && 0 == pool.getIdleCount(); i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertTrue(pool.getIdleCount() > 0, "No payloads were reclaimed: " + pool);
+
+        long hits = pool.getHits();
+        pool.getPacket();
+        assertEquals(hits + 1, pool.getHits());
+    }
+}
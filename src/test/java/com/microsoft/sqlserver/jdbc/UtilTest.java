@@ -7,6 +7,7 @@ package com.microsoft.sqlserver.jdbc;
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.util.UUID;
@@ -94,6 +95,30 @@ public class UtilTest {
         assertEquals(testString3, end3);
     }
 
+    @Test
+    public void testReadUnicodeString() throws SQLException {
+        readUnicodeString(testString);
+        readUnicodeString(testString2);
+        readUnicodeString("");
+        // a lone surrogate is replaced by the charset decoder
+        readUnicodeString("abc\uD800def");
+
+        // the string is decoded from the middle of the buffer
+        byte[] bytes = ("xx" + testString2 + "yy").getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(testString2, Util.readUnicodeString(bytes, 4, 2 * testString2.length(), null));
+
+        // an odd number of bytes leaves a replacement character as before
+        bytes = testString3.getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_16LE),
+                Util.readUnicodeString(bytes, 0, bytes.length - 1, null));
+    }
+
+    private void readUnicodeString(String value) throws SQLException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_16LE);
+        assertEquals(new String(bytes, StandardCharsets.UTF_16LE),
+                Util.readUnicodeString(bytes, 0, bytes.length, null));
+    }
+
     private void writeAndReadLong(long valueToTest) {
         byte[] buffer = new byte[8];
         Util.writeLong(valueToTest, buffer, 0);
@@ -4,6 +4,11 @@
  */
 package com.microsoft.sqlserver.jdbc.bulkCopy;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkColumnarData;
 import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
 import com.microsoft.sqlserver.jdbc.RandomUtil;
 import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
@@ -256,6 +262,176 @@ public class BulkCopyISQLServerBulkRecordTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test copying from a columnar source, with values encoded from the primitive arrays and through the row path.
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testBulkCopyColumnarData() throws SQLException {
+        String dstTable = AbstractSQLGenerator.escapeIdentifier(RandomUtil.getIdentifier("columnarDstTable"));
+
+        try (Connection conn = DriverManager.getConnection(connectionString);
+                Statement stmt = conn.createStatement()) {
+            try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(conn)) {
+                stmt.executeUpdate("CREATE TABLE " + dstTable
+                        + " (c1 int, c2 bigint, c3 float, c4 nvarchar(50), c5 varbinary(10), c6 nvarchar(20));");
+
+                bulkCopy.setDestinationTableName(dstTable);
+                bulkCopy.writeToServer(new ColumnarData());
+
+                try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + dstTable + " ORDER BY c1")) {
+                    for (int i = 0; i < 3; i++) {
+                        assertTrue(rs.next());
+                        assertEquals(i + 1, rs.getInt(1));
+                        assertEquals(ColumnarData.LONGS[i], rs.getLong(2));
+                        assertEquals(ColumnarData.DOUBLES[i], rs.getDouble(3));
+                        assertEquals(ColumnarData.STRINGS[i], rs.getString(4));
+                        assertEquals(ColumnarData.STRINGS[i], rs.getString(6));
+                    }
+                    assertNull(rs.getBytes(5));
+                    assertTrue(rs.next());
+                    assertEquals(4, rs.getInt(1));
+                    assertNull(rs.getObject(2));
+                    assertNull(rs.getObject(4));
+                    assertArrayEquals(new byte[] {1, 2, 3}, rs.getBytes(5));
+                    assertFalse(rs.next());
+                }
+            } finally {
+                TestUtils.dropTableIfExists(dstTable, stmt);
+            }
+        }
+    }
+
+    /**
+     * Four rows in two batches of two rows.
+     */
+    private static class ColumnarData implements ISQLServerBulkColumnarData {
+        private static final long serialVersionUID = 1L;
+        static final long[] LONGS = {Long.MAX_VALUE, Long.MIN_VALUE, 0L};
+        static final double[] DOUBLES = {1.5, -2.25, Double.MAX_VALUE, 0};
+        static final String[] STRINGS = {"ascii", "\u00e9t\u00e9", "\ud83d\ude00 emoji"};
+
+        private int batch = -1;
+        private final int[] ints = new int[2];
+        private final long[] longs = new long[2];
+        private final double[] doubles = new double[2];
+        private final long[] nullBitmap = new long[1];
+        private byte[] bytes;
+        private final int[] offsets = new int[3];
+        private byte[] binary;
+        private final int[] binaryOffsets = new int[3];
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            Set<Integer> ords = new HashSet<>();
+            for (int i = 1; i <= 6; i++) {
+                ords.add(i);
+            }
+            return ords;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return "c" + column;
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            switch (column) {
+                case 1:
+                    return java.sql.Types.INTEGER;
+                case 2:
+                    return java.sql.Types.BIGINT;
+                case 3:
+                    return java.sql.Types.DOUBLE;
+                case 4:
+                    return java.sql.Types.NVARCHAR;
+                case 5:
+                    return java.sql.Types.VARBINARY;
+                default:
+                    return java.sql.Types.VARCHAR;
+            }
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return (column >= 4) ? 50 : 0;
+        }
+
+        @Override
+        public int getScale(int column) {
+            return 0;
+        }
+
+        @Override
+        public int nextBatch() {
+            batch++;
+            if (batch > 1) {
+                return 0;
+            }
+            StringBuilder text = new StringBuilder();
+            for (int r = 0; r < 2; r++) {
+                int i = batch * 2 + r;
+                ints[r] = i + 1;
+                longs[r] = (i < LONGS.length) ? LONGS[i] : 0;
+                doubles[r] = DOUBLES[i];
+                offsets[r] = text.toString().getBytes(UTF_8).length;
+                if (i < STRINGS.length) {
+                    text.append(STRINGS[i]);
+                }
+            }
+            bytes = text.toString().getBytes(UTF_8);
+            offsets[2] = bytes.length;
+
+            // the last row has null bigint and string values, the others a null varbinary value
+            nullBitmap[0] = (1 == batch) ? 0b10 : 0;
+            binary = new byte[] {1, 2, 3};
+            binaryOffsets[0] = 0;
+            binaryOffsets[1] = 0;
+            binaryOffsets[2] = (1 == batch) ? 3 : 0;
+            return 2;
+        }
+
+        @Override
+        public long[] getNullBitmap(int column) {
+            if (5 == column) {
+                return new long[] {(0 == batch) ? 0b11 : 0b01};
+            }
+            return (1 == column || 3 == column) ? null : nullBitmap;
+        }
+
+        @Override
+        public int[] getIntColumn(int column) {
+            return ints;
+        }
+
+        @Override
+        public long[] getLongColumn(int column) {
+            return longs;
+        }
+
+        @Override
+        public double[] getDoubleColumn(int column) {
+            return doubles;
+        }
+
+        @Override
+        public byte[] getByteColumn(int column) {
+            return (5 == column) ? binary : bytes;
+        }
+
+        @Override
+        public int[] getOffsetColumn(int column) {
+            return (5 == column) ? binaryOffsets : offsets;
+        }
+
+        @Override
+        public Object[] getObjectColumn(int column) {
+            return null;
+        }
+    }
+
     private static class BulkRecordDT implements ISQLServerBulkData {
         boolean anyMoreData = true;
         Object[] data;
@@ -4,6 +4,8 @@
  */
 package com.microsoft.sqlserver.jdbc.bulkCopy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
@@ -26,6 +28,8 @@ import org.junit.runner.RunWith;
 
 import com.microsoft.sqlserver.jdbc.RandomUtil;
 import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerException;
 import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
 import com.microsoft.sqlserver.jdbc.TestUtils;
 import com.microsoft.sqlserver.testframework.AbstractSQLGenerator;
@@ -181,6 +185,42 @@ public class BulkCopyResultSetCursorTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test copying a result set over several connections in parallel.
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testParallelBulkCopy() throws SQLException {
+        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
+            dropTables(stmt);
+            createTables(stmt);
+            populateSourceTable();
+
+            SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+            options.setDegreeOfParallelism(4);
+
+            try (ResultSet rs = stmt.executeQuery(
+                    "select * from " + AbstractSQLGenerator.escapeIdentifier(srcTable) + " ORDER BY id ASC");
+                    SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connectionString)) {
+                bulkCopy.setBulkCopyOptions(options);
+                bulkCopy.setDestinationTableName(AbstractSQLGenerator.escapeIdentifier(desTable));
+                bulkCopy.writeToServer(rs);
+
+                assertEquals(expectedBigDecimals.length, bulkCopy.getRowsCopied());
+                verifyDestinationTableData(expectedBigDecimals.length);
+            }
+
+            // the additional connections can only be opened from a connection string
+            try (ResultSet rs = stmt.executeQuery("select * from " + AbstractSQLGenerator.escapeIdentifier(srcTable));
+                    SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(conn)) {
+                bulkCopy.setBulkCopyOptions(options);
+                bulkCopy.setDestinationTableName(AbstractSQLGenerator.escapeIdentifier(desTable));
+                assertThrows(SQLServerException.class, () -> bulkCopy.writeToServer(rs));
+            }
+        }
+    }
+
     private static void verifyDestinationTableData(int expectedNumberOfRows) throws SQLException {
         try (Connection conn = getConnection(); Statement stmt = conn.createStatement();
                 ResultSet rs = stmt.executeQuery(
@@ -21,6 +21,7 @@ import com.microsoft.sqlserver.jdbc.SQLServerXADataSource;
 import com.microsoft.sqlserver.jdbc.SQLServerDataSource;
 import com.microsoft.sqlserver.jdbc.TestResource;
 import com.microsoft.sqlserver.jdbc.SQLServerConnectionPoolDataSource;
+import com.microsoft.sqlserver.jdbc.SQLServerDataSourceObjectFactory;
 import com.microsoft.sqlserver.jdbc.ISQLServerDataSource;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
@@ -125,6 +126,34 @@ public class NativeMSSQLDataSourceTest extends AbstractTest {
         assertTrue(ds.getReference().getClassName().equals("com.microsoft.sqlserver.jdbc.SQLServerDataSource"));
     }
 
+    @Test
+    public void testConnectionPoolSettingsReference() throws Exception {
+        SQLServerConnectionPoolDataSource ds = new SQLServerConnectionPoolDataSource();
+        ds.setConnectionPoolMaxSize(7);
+        ds.setConnectionPoolMaxLifetime(60);
+        ds.setConnectionPoolIdleTimeout(30);
+        ds.setConnectionPoolWaitTimeout(5);
+        ds.setConnectionPoolWarmupStatementCount(3);
+
+        SQLServerConnectionPoolDataSource fromReference = (SQLServerConnectionPoolDataSource) new
+                SQLServerDataSourceObjectFactory().getObjectInstance(ds.getReference(), null, null, null);
+        SQLServerConnectionPoolDataSource fromSerial = (SQLServerConnectionPoolDataSource) testSerial(ds);
+        for (SQLServerConnectionPoolDataSource copy : new SQLServerConnectionPoolDataSource[] {fromReference,
+                fromSerial}) {
+            assertEquals(7, copy.getConnectionPoolMaxSize());
+            assertEquals(60, copy.getConnectionPoolMaxLifetime());
+            assertEquals(30, copy.getConnectionPoolIdleTimeout());
+            assertEquals(5, copy.getConnectionPoolWaitTimeout());
+            assertEquals(3, copy.getConnectionPoolWarmupStatementCount());
+        }
+
+        // unset settings keep their defaults
+        SQLServerConnectionPoolDataSource defaults = (SQLServerConnectionPoolDataSource) testSerial(
+                new SQLServerConnectionPoolDataSource());
+        assertEquals(0, defaults.getConnectionPoolMaxSize());
+        assertEquals(1800, defaults.getConnectionPoolMaxLifetime());
+    }
+
     private SQLServerDataSource testSerial(SQLServerDataSource ds) throws IOException, ClassNotFoundException {
         try (java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
                 java.io.ObjectOutput objectOutput = new java.io.ObjectOutputStream(outputStream)) {
@@ -13,7 +13,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.sql.DataSource;
 import javax.sql.PooledConnection;
@@ -28,6 +35,8 @@ import org.junit.runner.RunWith;
 
 import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
 import com.microsoft.sqlserver.jdbc.RandomUtil;
+import com.microsoft.sqlserver.jdbc.SQLServerConnectionPoolDataSource;
+import com.microsoft.sqlserver.jdbc.SQLServerDataSource;
 import com.microsoft.sqlserver.jdbc.SQLServerXADataSource;
 import com.microsoft.sqlserver.jdbc.TestResource;
 import com.microsoft.sqlserver.jdbc.TestUtils;
@@ -182,6 +191,204 @@ public class PoolingTest extends AbstractTest {
         }
     }
 
+    /**
+     * test the connection pool built into SQLServerConnectionPoolDataSource
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testBuiltInConnectionPool() throws SQLException {
+        SQLServerConnectionPoolDataSource ds = new SQLServerConnectionPoolDataSource();
+        ds.setURL(connectionString);
+        ds.setConnectionPoolMaxSize(2);
+        ds.setConnectionPoolWaitTimeout(1);
+
+        try {
+            UUID id1;
+            try (ISQLServerConnection con = (ISQLServerConnection) ds.getConnection()) {
+                id1 = con.getClientConnectionId();
+                assertEquals(1, ds.getConnectionPoolActiveCount());
+            }
+            assertEquals(1, ds.getConnectionPoolIdleCount());
+
+            // The same thread gets the same physical connection back.
+            try (ISQLServerConnection con = (ISQLServerConnection) ds.getConnection()) {
+                assertEquals(id1, con.getClientConnectionId(), TestResource.getResource("R_idFromPoolNotSame"));
+            }
+
+            try (Connection con1 = ds.getConnection(); Connection con2 = ds.getConnection()) {
+                assertEquals(2, ds.getConnectionPoolTotalCount());
+                try (Connection con3 = ds.getConnection()) {
+                    fail(TestResource.getResource("R_expectedExceptionNotThrown"));
+                } catch (SQLException e) {
+                    assertTrue(e.getMessage().contains("waiting for a connection"), e.getMessage());
+                }
+            }
+            assertEquals(0, ds.getConnectionPoolActiveCount());
+        } finally {
+            ds.closeConnectionPool();
+        }
+        assertEquals(0, ds.getConnectionPoolTotalCount());
+    }
+
+    /**
+     * test that the built-in connection pool prepares the statements executed most often on the connections it opens
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testBuiltInConnectionPoolStatementWarmup() throws SQLException {
+        SQLServerConnectionPoolDataSource ds = new SQLServerConnectionPoolDataSource();
+        ds.setURL(connectionString);
+        ds.setConnectionPoolMaxSize(2);
+        ds.setStatementPoolingCacheSize(10);
+        ds.setConnectionPoolWarmupStatementCount(5);
+
+        try (Connection con1 = ds.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement ps = con1.prepareStatement("SELECT ? + 1")) {
+                    ps.setInt(1, i);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        assertEquals(i + 1, rs.getInt(1));
+                    }
+                }
+            }
+
+            // The second connection is opened with the statement already prepared.
+            try (ISQLServerConnection con2 = (ISQLServerConnection) ds.getConnection()) {
+                assertEquals(1, con2.getStatementHandleCacheEntryCount());
+                try (PreparedStatement ps = con2.prepareStatement("SELECT ? + 1")) {
+                    ps.setInt(1, 41);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        assertEquals(42, rs.getInt(1));
+                    }
+                }
+                assertEquals(1, con2.getStatementHandleCacheEntryCount());
+
+                // The warm-up does not leave NOCOUNT on for the first borrower.
+                try (Statement stmt = con2.createStatement()) {
+                    stmt.execute("create table #warmup (c1 int)");
+                    assertEquals(2, stmt.executeUpdate("insert into #warmup values (1), (2)"));
+                    assertEquals(2, stmt.executeUpdate("update #warmup set c1 = c1 + 1"));
+                }
+            }
+            assertTrue(ds.getConnectionPoolStatistics().contains("warmedUpStatements:1"),
+                    ds.getConnectionPoolStatistics());
+        } finally {
+            ds.closeConnectionPool();
+        }
+    }
+
+    /**
+     * test opening connections concurrently with prewarm
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testPrewarm() throws SQLException {
+        SQLServerDataSource ds = new SQLServerDataSource();
+        ds.setURL(connectionString);
+
+        List<Connection> connections = ds.prewarm(3, Duration.ofSeconds(60));
+        try {
+            assertEquals(3, connections.size());
+            Set<UUID> ids = new HashSet<>();
+            for (Connection con : connections) {
+                assertTrue(con.isValid(5));
+                ids.add(((ISQLServerConnection) con).getClientConnectionId());
+            }
+            assertEquals(3, ids.size());
+        } finally {
+            for (Connection con : connections) {
+                con.close();
+            }
+        }
+    }
+
+    /**
+     * test that prewarm fails when a connection cannot be opened, and rejects invalid arguments
+     */
+    @Test
+    public void testPrewarmFailure() {
+        SQLServerDataSource ds = new SQLServerDataSource();
+        ds.setURL(connectionString);
+        try {
+            ds.prewarm(0, Duration.ofSeconds(60));
+            fail(TestResource.getResource("R_expectedExceptionNotThrown"));
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("count"), e.getMessage());
+        }
+        try {
+            ds.prewarm(1, Duration.ZERO);
+            fail(TestResource.getResource("R_expectedExceptionNotThrown"));
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("timeout"), e.getMessage());
+        }
+
+        ds.setPassword(UUID.randomUUID().toString());
+        try {
+            ds.prewarm(3, Duration.ofSeconds(60));
+            fail(TestResource.getResource("R_expectedExceptionNotThrown"));
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains(TestResource.getResource("R_loginFailed")), e.getMessage());
+        }
+    }
+
+    /**
+     * test filling the connection pool built into SQLServerConnectionPoolDataSource ahead of use
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testBuiltInConnectionPoolPrewarm() throws SQLException {
+        SQLServerConnectionPoolDataSource ds = new SQLServerConnectionPoolDataSource();
+        ds.setURL(connectionString);
+        assertEquals(0, ds.prewarmConnectionPool(2, Duration.ofSeconds(60)));
+
+        ds.setConnectionPoolMaxSize(2);
+        try {
+            // The pool is filled up to its maximum size.
+            assertEquals(2, ds.prewarmConnectionPool(3, Duration.ofSeconds(60)));
+            assertEquals(2, ds.getConnectionPoolIdleCount());
+            assertEquals(0, ds.prewarmConnectionPool(1, Duration.ofSeconds(60)));
+
+            // Borrowing does not open new connections.
+            try (Connection con1 = ds.getConnection(); Connection con2 = ds.getConnection()) {
+                assertEquals(2, ds.getConnectionPoolActiveCount());
+                assertEquals(2, ds.getConnectionPoolTotalCount());
+            }
+            assertTrue(ds.getConnectionPoolStatistics().contains("created:2"), ds.getConnectionPoolStatistics());
+        } finally {
+            ds.closeConnectionPool();
+        }
+        assertEquals(0, ds.getConnectionPoolTotalCount());
+    }
+
+    /**
+     * test that concurrent prewarms of the built-in connection pool do not exceed its maximum size
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBuiltInConnectionPoolConcurrentPrewarm() throws Exception {
+        SQLServerConnectionPoolDataSource ds = new SQLServerConnectionPoolDataSource();
+        ds.setURL(connectionString);
+        ds.setConnectionPoolMaxSize(3);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> ds.prewarmConnectionPool(2, Duration.ofSeconds(60)));
+            Future<Integer> second = executor.submit(() -> ds.prewarmConnectionPool(2, Duration.ofSeconds(60)));
+            assertEquals(3, first.get() + second.get());
+            assertEquals(3, ds.getConnectionPoolTotalCount());
+            assertEquals(0, ds.prewarmConnectionPool(1, Duration.ofSeconds(60)));
+        } finally {
+            executor.shutdown();
+            ds.closeConnectionPool();
+        }
+    }
+
     /**
      * test connection pool with HikariCP
      * 
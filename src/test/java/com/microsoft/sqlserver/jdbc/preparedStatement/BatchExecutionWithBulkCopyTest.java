@@ -831,6 +831,81 @@ public class BatchExecutionWithBulkCopyTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test batch update and delete with bulk copy, including rows of the batch that compare equal
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBatchUpdateAndDelete() throws Exception {
+        String updateTableName = RandomUtil.getIdentifier("BulkCopyBatchUpdate");
+        String escapedTableName = AbstractSQLGenerator.escapeIdentifier(updateTableName);
+        String escapedAuditTableName = AbstractSQLGenerator
+                .escapeIdentifier(RandomUtil.getIdentifier("BulkCopyBatchUpdateAudit"));
+        String escapedTriggerName = AbstractSQLGenerator
+                .escapeIdentifier(RandomUtil.getIdentifier("BulkCopyBatchUpdateTrigger"));
+
+        try (Connection connection = PrepUtil.getConnection(connectionString + ";useBulkCopyForBatchUpdate=true;");
+                Statement stmt = connection.createStatement()) {
+            TestUtils.dropTableIfExists(escapedTableName, stmt);
+            TestUtils.dropTableIfExists(escapedAuditTableName, stmt);
+            stmt.execute("create table " + escapedTableName + " (id int, grp int, val nvarchar(20))");
+            stmt.execute("insert into " + escapedTableName
+                    + " values (1, 1, 'a'), (2, 1, 'b'), (3, 2, 'c'), (4, 3, 'd')");
+            // The trigger fires once per statement, so it tells a single bulk statement from one per row of the batch.
+            stmt.execute("create table " + escapedAuditTableName + " (id int identity)");
+            stmt.execute("create trigger " + escapedTriggerName + " on " + escapedTableName
+                    + " after update, delete as begin set nocount on; insert into " + escapedAuditTableName
+                    + " default values; end");
+
+            try (PreparedStatement pstmt = connection
+                    .prepareStatement("update " + escapedTableName + " set val = ? where grp = ?")) {
+                Object[][] rows = {{"x", 1}, {"y", 2}, {"z", 1}, {"none", 9}};
+                for (Object[] row : rows) {
+                    pstmt.setString(1, (String) row[0]);
+                    pstmt.setInt(2, (Integer) row[1]);
+                    pstmt.addBatch();
+                }
+                assertTrue(Arrays.equals(new int[] {2, 1, 2, 0}, pstmt.executeBatch()));
+            }
+
+            try (ResultSet rs = stmt.executeQuery("select val from " + escapedTableName + " order by id")) {
+                String[] expected = {"z", "z", "y", "d"};
+                for (String value : expected) {
+                    assertTrue(rs.next());
+                    assertEquals(value, rs.getString(1));
+                }
+            }
+
+            try (PreparedStatement pstmt = connection
+                    .prepareStatement("DELETE FROM " + escapedTableName + " WHERE grp = ? AND [val] = ?")) {
+                Object[][] rows = {{1, "z"}, {3, "d"}, {1, "z"}};
+                for (Object[] row : rows) {
+                    pstmt.setInt(1, (Integer) row[0]);
+                    pstmt.setString(2, (String) row[1]);
+                    pstmt.addBatch();
+                }
+                assertTrue(Arrays.equals(new long[] {2, 1, 0}, pstmt.executeLargeBatch()));
+            }
+
+            try (ResultSet rs = stmt.executeQuery("select count(*) from " + escapedTableName)) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+
+            // Each batch was executed as a single statement rather than falling back to one statement per row.
+            try (ResultSet rs = stmt.executeQuery("select count(*) from " + escapedAuditTableName)) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+        } finally {
+            try (Statement stmt = connection.createStatement()) {
+                TestUtils.dropTableIfExists(escapedTableName, stmt);
+                TestUtils.dropTableIfExists(escapedAuditTableName, stmt);
+            }
+        }
+    }
+
     @BeforeAll
     public static void setupTests() throws Exception {
         setConnection();
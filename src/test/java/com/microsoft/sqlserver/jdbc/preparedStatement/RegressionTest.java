@@ -521,6 +521,27 @@ public class RegressionTest extends AbstractTest {
         }
     }
 
+    /**
+     * Tests re-executing a statement after the type of one of its parameters changes, and back again, so that the
+     * parameter type definitions are rebuilt whenever they differ from the previous execution.
+     */
+    @Test
+    public void testParamTypeChangeBetweenExecutions() throws Exception {
+        try (PreparedStatement st1 = connection.prepareStatement("SELECT SQL_VARIANT_PROPERTY(?, 'BaseType'), ?")) {
+            Object[][] executions = {{1, "a"}, {2, "b"}, {"three", "c"}, {4L, "d"}, {5, "e"}};
+            String[] baseTypes = {"int", "int", "nvarchar", "bigint", "int"};
+            for (int i = 0; i < executions.length; i++) {
+                st1.setObject(1, executions[i][0]);
+                st1.setObject(2, executions[i][1]);
+                try (ResultSet rs = st1.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(baseTypes[i], rs.getString(1));
+                    assertEquals(executions[i][1], rs.getString(2));
+                }
+            }
+        }
+    }
+
     /**
      * Cleanup after test
      * 
@@ -0,0 +1,100 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc.resultset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.PrepUtil;
+
+
+/**
+ * Tests reading result packets ahead of the application with the readAheadPackets connection property.
+ */
+@RunWith(JUnitPlatform.class)
+public class ReadAheadTest extends AbstractTest {
+
+    private static final int ROW_COUNT = 100000;
+
+    // a result of many packets, generated without a table
+    private static final String QUERY = "WITH n AS (SELECT TOP " + ROW_COUNT
+            + " ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) AS i FROM sys.all_objects a CROSS JOIN sys.all_objects b)"
+            + " SELECT i, REPLICATE('x', i % 100) FROM n ORDER BY i";
+
+    @BeforeAll
+    public static void setupTests() throws Exception {
+        setConnection();
+    }
+
+    private static void readAll(Connection con) throws SQLException {
+        try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery(QUERY)) {
+            long rows = 0;
+            while (rs.next()) {
+                rows++;
+                assertEquals(rows, rs.getLong(1));
+                assertEquals(rows % 100, rs.getString(2).length());
+            }
+            assertEquals(ROW_COUNT, rows);
+        }
+    }
+
+    @Test
+    public void testReadAhead() throws SQLException {
+        try (Connection con = PrepUtil.getConnection(connectionString + ";readAheadPackets=8")) {
+            readAll(con);
+            // the connection is usable for the next response
+            readAll(con);
+        }
+    }
+
+    @Test
+    public void testReadAheadBoundedByMaxResultBuffer() throws SQLException {
+        try (Connection con = PrepUtil
+                .getConnection(connectionString + ";readAheadPackets=1000;maxResultBuffer=100k")) {
+            readAll(con);
+        }
+    }
+
+    @Test
+    public void testCloseDuringReadAhead() throws SQLException {
+        try (Connection con = PrepUtil.getConnection(connectionString + ";readAheadPackets=4")) {
+            try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery(QUERY)) {
+                for (int i = 0; i < 1000; i++) {
+                    assertTrue(rs.next());
+                }
+            }
+
+            try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testCancelDuringReadAhead() throws SQLException {
+        try (Connection con = PrepUtil.getConnection(connectionString + ";readAheadPackets=4")) {
+            try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery(QUERY)) {
+                assertTrue(rs.next());
+                stmt.cancel();
+            } catch (SQLException e) {
+                // the cancel may surface on close
+            }
+
+            readAll(con);
+        }
+    }
+}
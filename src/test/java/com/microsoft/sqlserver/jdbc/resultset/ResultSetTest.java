@@ -458,6 +458,65 @@ public class ResultSetTest extends AbstractTest {
         }
     }
 
+    /**
+     * Tests the primitive getters on fixed length numeric columns, nullable numeric columns and null values.
+     * 
+     * @throws SQLException
+     */
+    @Test
+    public void testPrimitiveGetters() throws SQLException {
+        String escapedTableName = AbstractSQLGenerator.escapeIdentifier(tableName);
+        try (Connection con = getConnection(); Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("create table " + escapedTableName
+                    + " (c1 bit not null, c2 tinyint not null, c3 smallint, c4 int, c5 bigint, c6 real, c7 float,"
+                    + " c8 varchar(10))");
+            stmt.executeUpdate("insert into " + escapedTableName
+                    + " values (1, 200, -300, 70000, 5000000000, 1.5, -2.25, '42'),"
+                    + " (0, 0, null, null, null, null, null, null)");
+
+            try (ResultSet rs = stmt.executeQuery("select * from " + escapedTableName + " order by c1 desc")) {
+                assertTrue(rs.next());
+                assertTrue(rs.getBoolean(1));
+                assertEquals(1, rs.getInt("c1"));
+                assertEquals((byte) 200, rs.getByte(2));
+                assertEquals(200, rs.getShort(2));
+                assertEquals(-300, rs.getShort(3));
+                assertEquals(-300L, rs.getLong(3));
+                assertEquals(70000, rs.getInt(4));
+                assertEquals((short) 70000, rs.getShort(4));
+                assertEquals(70000.0, rs.getDouble(4));
+                assertEquals(5000000000L, rs.getLong(5));
+                assertEquals((int) 5000000000L, rs.getInt(5));
+                assertEquals(1.5f, rs.getFloat(6));
+                assertEquals(1.5, rs.getDouble(6));
+                assertEquals(-2.25, rs.getDouble(7));
+                assertEquals(-2.25f, rs.getFloat(7));
+                assertEquals(42, rs.getInt(8));
+                assertFalse(rs.wasNull());
+                // reading a column again returns the same value
+                assertEquals(70000, rs.getInt(4));
+
+                assertTrue(rs.next());
+                assertFalse(rs.getBoolean(1));
+                assertFalse(rs.wasNull());
+                assertEquals(0, rs.getByte(2));
+                assertFalse(rs.wasNull());
+                assertEquals(0, rs.getShort(3));
+                assertTrue(rs.wasNull());
+                assertEquals(0, rs.getInt(4));
+                assertTrue(rs.wasNull());
+                assertEquals(0L, rs.getLong(5));
+                assertTrue(rs.wasNull());
+                assertEquals(0f, rs.getFloat(6));
+                assertTrue(rs.wasNull());
+                assertEquals(0.0, rs.getDouble(7));
+                assertTrue(rs.wasNull());
+                assertEquals(0, rs.getInt(8));
+                assertTrue(rs.wasNull());
+            }
+        }
+    }
+
     /**
      * Tests getters and setters for holdability.
      * 
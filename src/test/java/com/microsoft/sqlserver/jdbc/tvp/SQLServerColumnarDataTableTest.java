@@ -0,0 +1,184 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+
+package com.microsoft.sqlserver.jdbc.tvp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.jdbc.RandomUtil;
+import com.microsoft.sqlserver.jdbc.SQLServerColumnarDataTable;
+import com.microsoft.sqlserver.jdbc.SQLServerException;
+import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
+import com.microsoft.sqlserver.jdbc.TestUtils;
+import com.microsoft.sqlserver.testframework.AbstractSQLGenerator;
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.Constants;
+
+
+@RunWith(JUnitPlatform.class)
+@Tag(Constants.xAzureSQLDW)
+public class SQLServerColumnarDataTableTest extends AbstractTest {
+
+    private static String tvpName = RandomUtil.getIdentifier("TVPColumnar");
+
+    private static SQLServerColumnarDataTable createTable() throws SQLServerException {
+        SQLServerColumnarDataTable table = new SQLServerColumnarDataTable();
+        table.addColumnMetadata("c1", Types.INTEGER);
+        table.addColumnMetadata("c2", Types.BIGINT);
+        table.addColumnMetadata("c3", Types.BIT);
+        table.addColumnMetadata("c4", Types.DOUBLE);
+        table.addColumnMetadata("c5", Types.DECIMAL);
+        table.addColumnMetadata("c6", Types.NVARCHAR);
+        return table;
+    }
+
+    @Test
+    public void testTypedValues() throws SQLServerException {
+        SQLServerColumnarDataTable table = createTable();
+        for (int i = 0; i < 1000; i++) {
+            int row = table.newRow();
+            assertEquals(i, row);
+            table.setInt(row, 0, i);
+            table.setLong(row, 1, i * 10L);
+            table.setBoolean(row, 2, 0 == i % 2);
+            if (0 != i % 3) {
+                table.setDouble(row, 3, i / 2.0);
+            }
+            table.setObject(row, 4, BigDecimal.valueOf(i, 1));
+        }
+        assertEquals(1000, table.getRowCount());
+
+        assertEquals(999, table.getObject(999, 0));
+        assertEquals(9990L, table.getObject(999, 1));
+        assertEquals(Boolean.FALSE, table.getObject(999, 2));
+        assertNull(table.getObject(999, 3));
+        assertEquals(499.0, table.getObject(998, 3));
+        assertEquals(BigDecimal.valueOf(999, 1), table.getObject(999, 4));
+        assertNull(table.getObject(999, 5));
+    }
+
+    @Test
+    public void testConversions() throws SQLServerException {
+        SQLServerColumnarDataTable table = createTable();
+        table.addRow("7", 8, "1", "2.5", 3, "abc");
+        assertEquals(7, table.getObject(0, 0));
+        assertEquals(8L, table.getObject(0, 1));
+        assertEquals(Boolean.TRUE, table.getObject(0, 2));
+        assertEquals(2.5, table.getObject(0, 3));
+        assertEquals(new BigDecimal(3), table.getObject(0, 4));
+        assertEquals("abc", table.getObject(0, 5));
+
+        // a typed setter converts a value of another type like addRow does
+        table.setShort(0, 1, (short) 5);
+        assertEquals(5L, table.getObject(0, 1));
+        table.setLong(0, 0, 6L);
+        assertEquals(6, table.getObject(0, 0));
+
+        table.setNull(0, 0);
+        assertNull(table.getObject(0, 0));
+
+        assertThrows(SQLServerException.class, () -> table.addRow("x"));
+        assertEquals(1, table.getRowCount());
+        assertThrows(SQLServerException.class, () -> table.addRow(1, 2, 3, 4, 5, 6, 7));
+        assertThrows(SQLServerException.class, () -> table.getObject(1, 0));
+        assertThrows(SQLServerException.class, () -> table.getObject(0, 6));
+    }
+
+    @Test
+    public void testAddColumnAfterRows() throws SQLServerException {
+        SQLServerColumnarDataTable table = new SQLServerColumnarDataTable();
+        table.addColumnMetadata("c1", Types.INTEGER);
+        for (int i = 0; i < 100; i++) {
+            table.addRow(i);
+        }
+        table.addColumnMetadata("c2", Types.INTEGER);
+        assertNull(table.getObject(99, 1));
+        table.setInt(99, 1, 1);
+        assertEquals(1, table.getObject(99, 1));
+        assertThrows(SQLServerException.class, () -> table.addColumnMetadata("c1", Types.INTEGER));
+
+        table.clear();
+        assertEquals(0, table.getRowCount());
+        assertEquals(0, table.getColumnMetadata().size());
+    }
+
+    @Test
+    public void testTVP() throws SQLException {
+        SQLServerColumnarDataTable table = createTable();
+        int rowCount = 10000;
+        for (int i = 1; i <= rowCount; i++) {
+            int row = table.newRow();
+            table.setInt(row, 0, i);
+            table.setLong(row, 1, i * 1000000L);
+            table.setBoolean(row, 2, 0 == i % 2);
+            table.setDouble(row, 3, i / 2.0);
+            table.setObject(row, 4, BigDecimal.valueOf(i, 2));
+            if (1 == i) {
+                table.setObject(row, 5, "first");
+            }
+        }
+        table.setTvpName(tvpName);
+
+        String sql = "SELECT COUNT(*), SUM(CAST(c1 AS bigint)), SUM(c2), SUM(CAST(c3 AS int)), SUM(c4), SUM(c5),"
+                + " MAX(c6), COUNT(c6) FROM ?";
+        try (SQLServerPreparedStatement pstmt = (SQLServerPreparedStatement) connection.prepareStatement(sql)) {
+            pstmt.setStructured(1, tvpName, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                long sum = (long) rowCount * (rowCount + 1) / 2;
+                assertEquals(rowCount, rs.getInt(1));
+                assertEquals(sum, rs.getLong(2));
+                assertEquals(sum * 1000000L, rs.getLong(3));
+                assertEquals(rowCount / 2, rs.getInt(4));
+                assertEquals(sum / 2.0, rs.getDouble(5));
+                assertEquals(BigDecimal.valueOf(sum, 2), rs.getBigDecimal(6));
+                assertEquals("first", rs.getString(7));
+                assertEquals(1, rs.getInt(8));
+            }
+
+            // the table can be sent again
+            pstmt.setObject(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(rowCount, rs.getInt(1));
+            }
+        }
+    }
+
+    @BeforeAll
+    public static void testSetup() throws Exception {
+        setConnection();
+
+        try (Statement stmt = connection.createStatement()) {
+            TestUtils.dropTypeIfExists(tvpName, stmt);
+            stmt.executeUpdate("CREATE TYPE " + AbstractSQLGenerator.escapeIdentifier(tvpName)
+                    + " as table (c1 int null, c2 bigint null, c3 bit null, c4 float null, c5 decimal(18,2) null,"
+                    + " c6 nvarchar(10) null)");
+        }
+    }
+
+    @AfterAll
+    public static void terminateVariation() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            TestUtils.dropTypeIfExists(tvpName, stmt);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Microsoft JDBC Driver for SQL Server Copyright(c) Microsoft Corporation All rights reserved. This program is made
+ * available under the terms of the MIT License. See the LICENSE file in the project root for more information.
+ */
+package com.microsoft.sqlserver.jdbc.tvp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerDataRecord;
+import com.microsoft.sqlserver.jdbc.RandomUtil;
+import com.microsoft.sqlserver.jdbc.SQLServerMetaData;
+import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
+import com.microsoft.sqlserver.jdbc.TestUtils;
+import com.microsoft.sqlserver.testframework.AbstractSQLGenerator;
+import com.microsoft.sqlserver.testframework.AbstractTest;
+import com.microsoft.sqlserver.testframework.Constants;
+
+
+/**
+ * Tests TVPs whose rows are produced one at a time by an ISQLServerDataRecord.
+ */
+@RunWith(JUnitPlatform.class)
+@Tag(Constants.xAzureSQLDW)
+public class TVPDataRecordTest extends AbstractTest {
+
+    private static String tvpName = RandomUtil.getIdentifier("TVPDataRecord");
+
+    private static final int ROW_COUNT = 100000;
+
+    /**
+     * A data record that creates each row when it is read, with values of the types of the TVP columns.
+     */
+    static class GeneratedDataRecord implements ISQLServerDataRecord {
+        private final SQLServerMetaData[] metaData = {new SQLServerMetaData("c1", java.sql.Types.INTEGER),
+                new SQLServerMetaData("c2", java.sql.Types.BIGINT),
+                new SQLServerMetaData("c3", java.sql.Types.SMALLINT),
+                new SQLServerMetaData("c4", java.sql.Types.BIT),
+                new SQLServerMetaData("c5", java.sql.Types.DOUBLE),
+                new SQLServerMetaData("c6", java.sql.Types.REAL),
+                new SQLServerMetaData("c7", java.sql.Types.DECIMAL, 18, 2)};
+        private final int rowCount;
+        private int row = 0;
+
+        GeneratedDataRecord(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public SQLServerMetaData getColumnMetaData(int column) {
+            return metaData[column - 1];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return metaData.length;
+        }
+
+        @Override
+        public Object[] getRowData() {
+            return new Object[] {row, (long) row * 1000000, (short) (row % 100), 0 == row % 2, row / 2.0,
+                    row / 4.0f, BigDecimal.valueOf(row, 2)};
+        }
+
+        @Override
+        public boolean next() {
+            return ++row <= rowCount;
+        }
+    }
+
+    @Test
+    public void testGeneratedRows() throws SQLException {
+        String sql = "SELECT COUNT(*), SUM(CAST(c1 AS bigint)), SUM(c2), SUM(CAST(c3 AS int)), SUM(CAST(c4 AS int)),"
+                + " SUM(c5), SUM(CAST(c6 AS float)), SUM(c7) FROM ?";
+        try (SQLServerPreparedStatement pstmt = (SQLServerPreparedStatement) connection.prepareStatement(sql)) {
+            pstmt.setStructured(1, tvpName, new GeneratedDataRecord(ROW_COUNT));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+
+                long n = ROW_COUNT;
+                long sum = n * (n + 1) / 2;
+                assertEquals(n, rs.getLong(1));
+                assertEquals(sum, rs.getLong(2));
+                assertEquals(sum * 1000000, rs.getLong(3));
+                long smallintSum = 0;
+                for (int i = 1; i <= ROW_COUNT; i++) {
+                    smallintSum += i % 100;
+                }
+                assertEquals(smallintSum, rs.getLong(4));
+                assertEquals(n / 2, rs.getLong(5));
+                assertEquals(sum / 2.0, rs.getDouble(6));
+                assertEquals(sum / 4.0, rs.getDouble(7));
+                assertEquals(BigDecimal.valueOf(sum, 2), rs.getBigDecimal(8));
+            }
+        }
+    }
+
+    @Test
+    public void testNullValues() throws SQLException {
+        GeneratedDataRecord record = new GeneratedDataRecord(1) {
+            @Override
+            public Object[] getRowData() {
+                return new Object[getColumnCount()];
+            }
+        };
+        try (SQLServerPreparedStatement pstmt = (SQLServerPreparedStatement) connection
+                .prepareStatement("SELECT COUNT(*), COUNT(c1), COUNT(c5), COUNT(c7) FROM ?")) {
+            pstmt.setStructured(1, tvpName, record);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+                assertEquals(0, rs.getInt(2));
+                assertEquals(0, rs.getInt(3));
+                assertEquals(0, rs.getInt(4));
+            }
+        }
+    }
+
+    @BeforeAll
+    public static void testSetup() throws Exception {
+        setConnection();
+
+        try (Statement stmt = connection.createStatement()) {
+            TestUtils.dropTypeIfExists(tvpName, stmt);
+            stmt.executeUpdate("CREATE TYPE " + AbstractSQLGenerator.escapeIdentifier(tvpName)
+                    + " as table (c1 int null, c2 bigint null, c3 smallint null, c4 bit null, c5 float null,"
+                    + " c6 real null, c7 decimal(18,2) null)");
+        }
+    }
+
+    @AfterAll
+    public static void terminateVariation() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            TestUtils.dropTypeIfExists(tvpName, stmt);
+        }
+    }
+}
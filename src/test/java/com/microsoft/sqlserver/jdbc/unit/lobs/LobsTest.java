@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -40,6 +42,7 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 
+import com.microsoft.sqlserver.jdbc.ISQLServerPLPInputStream;
 import com.microsoft.sqlserver.jdbc.RandomUtil;
 import com.microsoft.sqlserver.jdbc.SQLServerDataSource;
 import com.microsoft.sqlserver.jdbc.TestResource;
@@ -649,6 +652,58 @@ public class LobsTest extends AbstractTest {
         }
     }
 
+    /*
+     * Tests reading a varbinary(max) value through the chunk views of its PLP stream
+     */
+    @Test
+    @DisplayName("testPLPStreamChunks")
+    public void testPLPStreamChunks() throws SQLException, IOException {
+        String types[] = {"varbinary(max)"};
+        table = createTable(table, types, false);
+
+        // Span several packets and PLP chunks
+        byte[] data = new byte[100000];
+        Constants.RANDOM.nextBytes(data);
+        try (Connection conn = getConnection(); PreparedStatement pstmt = conn
+                .prepareStatement("INSERT INTO " + table.getEscapedTableName() + "  VALUES(?,?)")) {
+            pstmt.setInt(1, 1);
+            pstmt.setBytes(2, data);
+            pstmt.executeUpdate();
+        }
+
+        String query = "select * from " + table.getEscapedTableName() + " ORDER BY "
+                + table.getEscapedColumnName(0);
+        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(query)) {
+                rs.next();
+                ISQLServerPLPInputStream stream = (ISQLServerPLPInputStream) rs.getBinaryStream(2);
+                try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+                    assertEquals(data.length, stream.transferTo(Channels.newChannel(buffer)));
+                    assertTrue(Arrays.equals(data, buffer.toByteArray()));
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery(query)) {
+                rs.next();
+                ISQLServerPLPInputStream stream = (ISQLServerPLPInputStream) rs.getBinaryStream(2);
+                try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+                    ByteBuffer chunk;
+                    while (null != (chunk = stream.readChunk())) {
+                        assertTrue(chunk.isReadOnly());
+                        byte[] bytes = new byte[chunk.remaining()];
+                        chunk.get(bytes);
+                        buffer.write(bytes);
+                    }
+                    assertTrue(Arrays.equals(data, buffer.toByteArray()));
+                }
+            }
+        } finally {
+            try (Connection c = getConnection(); Statement stmt = c.createStatement()) {
+                TestUtils.dropTableIfExists(table.getEscapedTableName(), stmt);
+            }
+        }
+    }
+
     /*
      * Tests Clobs and ASCII stream
      */
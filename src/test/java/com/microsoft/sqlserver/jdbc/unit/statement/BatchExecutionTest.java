@@ -293,6 +293,20 @@ public class BatchExecutionTest extends AbstractTest {
      */
     @Test
     public void testBatchUpdateCount() throws Exception {
+        testBatchUpdateCountWithConnectionString(connectionString);
+    }
+
+    /**
+     * Tests the updateCount when every item of the batch is sent in a request of its own.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchUpdateCountWithBatchRequestMaxSize() throws Exception {
+        testBatchUpdateCountWithConnectionString(connectionString + ";batchRequestMaxSize=1");
+    }
+
+    private void testBatchUpdateCountWithConnectionString(String connectionString) throws Exception {
         long[] expectedUpdateCount = {1, 1, 1, 1, -3, 1, 1, 1, 1, 1};
 
         try (SQLServerConnection connection = PrepUtil.getConnection(connectionString)) {
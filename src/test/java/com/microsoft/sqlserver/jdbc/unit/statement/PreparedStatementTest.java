@@ -19,13 +19,17 @@ import java.sql.Statement;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.microsoft.sqlserver.jdbc.ISQLServerResultSet;
 import com.microsoft.sqlserver.jdbc.RandomUtil;
 import com.microsoft.sqlserver.jdbc.SQLServerConnection;
 import com.microsoft.sqlserver.jdbc.SQLServerDataSource;
+import com.microsoft.sqlserver.jdbc.SQLServerException;
 import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
 import com.microsoft.sqlserver.jdbc.TestResource;
 import com.microsoft.sqlserver.jdbc.TestUtils;
@@ -97,6 +101,38 @@ public class PreparedStatementTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testPreparedStatementAsyncExecution() throws Exception {
+        String tableNameAsync = AbstractSQLGenerator.escapeIdentifier(tableName3);
+        try (SQLServerConnection con = (SQLServerConnection) getConnection()) {
+            executeSQL(con, "create table " + tableNameAsync + " (c1_nchar nchar(512), c2_int integer)");
+
+            try (SQLServerPreparedStatement ps = (SQLServerPreparedStatement) con
+                    .prepareStatement("insert into " + tableNameAsync + " (c1_nchar, c2_int) values (?, ?)")) {
+                ps.setString(1, "test");
+                ps.setInt(2, 1);
+                assertEquals(1L, (long) ps.executeUpdateAsync().get(1, TimeUnit.MINUTES));
+            }
+
+            try (SQLServerPreparedStatement ps = (SQLServerPreparedStatement) con
+                    .prepareStatement("select c2_int from " + tableNameAsync + " where c2_int = ?")) {
+                ps.setInt(1, 1);
+                try (ISQLServerResultSet rs = ps.executeQueryAsync().get(1, TimeUnit.MINUTES)) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1));
+                }
+            }
+
+            try (SQLServerPreparedStatement ps = (SQLServerPreparedStatement) con
+                    .prepareStatement("select * from " + AbstractSQLGenerator.escapeIdentifier(tableName4))) {
+                ps.executeQueryAsync().get(1, TimeUnit.MINUTES);
+                fail(TestResource.getResource("R_expectedExceptionNotThrown"));
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SQLServerException);
+            }
+        }
+    }
+
     @Test
     public void testPreparedStatementWithSpPrepare() throws SQLException {
         String sql = "insert into " + AbstractSQLGenerator.escapeIdentifier(tableName3)
@@ -320,6 +356,48 @@ public class PreparedStatementTest extends AbstractTest {
         }
     }
 
+    /**
+     * Test that discarded handles are un-prepared in the same request as the next prepared statement execution.
+     *
+     * @throws SQLException
+     */
+    @Test
+    @Tag(Constants.xAzureSQLDW)
+    public void testPipelinedUnprepare() throws SQLException {
+        try (SQLServerConnection con = (SQLServerConnection) getConnection()) {
+            int statementCount = 3;
+
+            con.setDisableStatementPooling(false);
+            con.setStatementPoolingCacheSize(10);
+            con.setServerPreparedStatementDiscardThreshold(1);
+
+            String query = String.format("/*pipelinedunpreparetest_%s*/SELECT ?; -- ", UUID.randomUUID().toString());
+
+            try (SQLServerPreparedStatement pstmt = (SQLServerPreparedStatement) con.prepareStatement(query)) {
+                pstmt.setInt(1, 42);
+
+                // Cache some handles, then discard them by turning off the statement pool.
+                for (int i = 0; i < statementCount; ++i) {
+                    try (SQLServerPreparedStatement cached = (SQLServerPreparedStatement) con
+                            .prepareStatement(query + String.valueOf(i))) {
+                        cached.setInt(1, i);
+                        cached.execute(); // sp_executesql
+                        cached.execute(); // sp_prepexec, actual handle created and cached.
+                    }
+                }
+                con.setStatementPoolingCacheSize(0);
+                assertSame(statementCount, con.getDiscardedServerPreparedStatementCount());
+
+                // The un-prepares are sent along with this execution and their responses skipped.
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(42, rs.getInt(1));
+                }
+                assertSame(0, con.getDiscardedServerPreparedStatementCount());
+            }
+        }
+    }
+
     /**
      * Test handling of statement pooling for prepared statements.
      * 
@@ -29,6 +29,7 @@ public final class Constants {
      * reqExternalSetup  - For tests requiring external setup
      * clientCertAuth  - - For tests requiring client certificate authentication setup
      * Fedauth - - - - - - For Fedauth tests
+     * benchmark - - - - - For performance comparisons that only report their results
      * </pre>
      */
     public static final String xJDBC42 = "xJDBC42";
@@ -47,6 +48,7 @@ public final class Constants {
     public static final String reqExternalSetup = "reqExternalSetup";
     public static final String clientCertAuth = "clientCertAuth";
     public static final String fedAuth = "fedAuth";
+    public static final String benchmark = "benchmark";
 
     public static final ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
     public static final Logger LOGGER = Logger.getLogger("AbstractTest");